@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.config;
+
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * limits of connection pools to user datasources
+ */
+@Slf4j
+@Configuration
+public class DataSourcePoolConfig {
+
+    private final DataSourcePoolPropConfig config;
+
+    public DataSourcePoolConfig(DataSourcePoolPropConfig config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void init() {
+        log.info("Datasource connection pool registry init ...");
+        DataSourcePoolRegistry.configure(config.getMaxTotal(), TimeUnit.SECONDS.toMillis(config.getIdleTimeout()));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        DataSourcePoolRegistry.closeAll();
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "dms.datasource.pool")
+    public static class DataSourcePoolPropConfig {
+
+        /**
+         * sum of max active connections of all datasource pools
+         */
+        private int maxTotal = 400;
+
+        /**
+         * seconds a pool without active connection is kept
+         */
+        private int idleTimeout = 1800;
+    }
+
+}
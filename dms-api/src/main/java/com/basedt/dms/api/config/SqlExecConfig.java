@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.File;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class SqlExecConfig {
+
+    private final SqlExecPropConfig config;
+
+    public SqlExecConfig(SqlExecPropConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * sql console scripts run here instead of socket.io worker threads.
+     * tasks over the queue capacity are rejected and reported to client rather than run by caller.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sqlExecutor() {
+        log.info("Sql console thread pool init ...");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getPoolSize());
+        executor.setMaxPoolSize(config.getPoolSize());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setThreadNamePrefix("Sql-executor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "dms.sql")
+    public static class SqlExecPropConfig {
+
+        /**
+         * rows per resultSetChunk event when a script runs in streaming mode
+         */
+        private int chunkSize = 500;
+
+        /**
+         * default statement timeout in seconds, datasource attribute queryTimeout takes precedence, 0 means no limit
+         */
+        private int queryTimeout = 0;
+
+        /**
+         * default max rows of a statement, datasource attribute maxRows takes precedence, 0 means no limit
+         */
+        private int maxRows = 0;
+
+        /**
+         * default statements per executeBatch when a script runs in batch mode
+         */
+        private int batchSize = 1000;
+
+        /**
+         * seconds an open streaming result set is kept without a fetch before its connection is released, 0 means no limit
+         */
+        private int cursorIdleTimeout = 600;
+
+        /**
+         * seconds a cached console query result is kept
+         */
+        private int resultCacheTtl = 600;
+
+        /**
+         * total size of cached result files
+         */
+        private long resultCacheMaxBytes = 512L * 1024 * 1024;
+
+        private String resultCacheDir = System.getProperty("java.io.tmpdir") + File.separator + "dms" + File.separator + "result_cache";
+
+        private int poolSize = 64;
+
+        private int queueCapacity = 256;
+
+        /**
+         * max scripts running at the same time for one user
+         */
+        private int maxPerUser = 4;
+
+        /**
+         * max scripts running at the same time on one datasource
+         */
+        private int maxPerDataSource = 16;
+    }
+}
@@ -37,8 +37,10 @@ import com.basedt.dms.plugins.datasource.enums.DmlType;
 import com.basedt.dms.plugins.datasource.param.MetaObjectParam;
 import com.basedt.dms.plugins.datasource.param.TableInfoParam;
 import com.basedt.dms.service.workspace.DmsDataSourceService;
+import com.basedt.dms.service.workspace.DmsMetaSearchService;
 import com.basedt.dms.service.workspace.convert.DataSourceConvert;
 import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
+import com.basedt.dms.service.workspace.dto.DmsMetaSearchDTO;
 import com.basedt.dms.service.workspace.param.DmsSqlExecParam;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -66,9 +68,14 @@ public class MetaDataController {
 
     private final DmsDataSourceService dmsDataSourceService;
 
-    public MetaDataController(MetaDataService metaDataService, DmsDataSourceService dmsDataSourceService) {
+    private final DmsMetaSearchService dmsMetaSearchService;
+
+    private static final int SEARCH_MAX_LIMIT = 500;
+
+    public MetaDataController(MetaDataService metaDataService, DmsDataSourceService dmsDataSourceService, DmsMetaSearchService dmsMetaSearchService) {
         this.metaDataService = metaDataService;
         this.dmsDataSourceService = dmsDataSourceService;
+        this.dmsMetaSearchService = dmsMetaSearchService;
     }
 
     @AuditLogging
@@ -92,6 +99,28 @@ public class MetaDataController {
         return new ResponseEntity<>(ResponseVO.success(treeList), HttpStatus.OK);
     }
 
+    @AuditLogging
+    @GetMapping(path = "/refresh/{dataSourceId}")
+    @Operation(summary = "refresh cached metadata", description = "refresh cached metadata")
+    @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_SHOW)")
+    public ResponseEntity<ResponseVO<Object>> refresh(@PathVariable("dataSourceId") @NotNull Long dataSourceId) {
+        DmsDataSourceDTO dto = this.dmsDataSourceService.selectOne(dataSourceId);
+        metaDataService.refresh(DataSourceConvert.toDataSource(dto));
+        return new ResponseEntity<>(ResponseVO.success(), HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/search")
+    @Operation(summary = "search tables and columns", description = "search table and column names and remarks in workspace")
+    @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_SHOW)")
+    public ResponseEntity<ResponseVO<List<DmsMetaSearchDTO>>> search(@NotNull Long workspaceId, String keyword,
+                                                                     @RequestParam(defaultValue = "50") Integer limit) {
+        if (!this.dmsMetaSearchService.isEnabled()) {
+            return new ResponseEntity<>(ResponseVO.error(ResponseCode.ERROR_CUSTOM, "response.error.meta.search.disabled"), HttpStatus.OK);
+        }
+        List<DmsMetaSearchDTO> result = this.dmsMetaSearchService.search(workspaceId, keyword, Math.min(limit, SEARCH_MAX_LIMIT));
+        return new ResponseEntity<>(ResponseVO.success(result), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/types/{dataSourceId}")
     @Operation(summary = "list types in database", description = "list types in database")
     @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_SHOW)")
@@ -238,6 +267,7 @@ public class MetaDataController {
                     PreparedStatement ps = conn.prepareStatement(sql);
                     ps.execute();
                 }
+                metaDataService.evictCache(plugin.getDataSourceName());
             }
         } catch (SQLException e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), e.getMessage());
@@ -31,6 +31,7 @@ import com.basedt.dms.service.log.dto.LogDataTaskDTO;
 import com.basedt.dms.service.workspace.DmsDataTaskService;
 import com.basedt.dms.service.workspace.dto.DmsDataTaskDTO;
 import com.basedt.dms.service.workspace.param.DmsDataTaskParam;
+import com.basedt.dms.service.workspace.vo.DmsDdlExportTaskVO;
 import com.basedt.dms.service.workspace.vo.DmsImportTaskVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -133,6 +134,24 @@ public class DataTaskController {
         return new ResponseEntity<>(ResponseVO.success(), HttpStatus.OK);
     }
 
+    @PostMapping("/ddl")
+    @AuditLogging
+    @Operation(summary = "new schema ddl export task", description = "new schema ddl export task")
+    @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_SHOW)")
+    public ResponseEntity<ResponseVO<Object>> newDdlExportTask(@Validated @RequestBody final DmsDdlExportTaskVO ddlExportTaskVO) {
+        DmsDataTaskDTO dmsDataTaskDTO = new DmsDataTaskDTO();
+        dmsDataTaskDTO.setWorkspaceId(ddlExportTaskVO.getWorkspaceId());
+        dmsDataTaskDTO.setDatasourceId(ddlExportTaskVO.getDatasourceId());
+        dmsDataTaskDTO.setFileName(StrUtil.blankToDefault(ddlExportTaskVO.getFileName(), ddlExportTaskVO.getSchema()));
+        dmsDataTaskDTO.setFileType(FileType.SQL.toDict());
+        dmsDataTaskDTO.setFileEncoding(UTF8.toDict());
+        dmsDataTaskDTO.setTaskStatus(TaskStatus.WAIT.toDict());
+        dmsDataTaskDTO.setTaskType(TaskType.DDL.toDict());
+        Long taskId = this.dmsDataTaskService.insert(dmsDataTaskDTO);
+        this.dmsDataTaskService.createDdlExportTask(taskId, ddlExportTaskVO);
+        return new ResponseEntity<>(ResponseVO.success(), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/download/{taskId}")
     @AuditLogging
     @Operation(summary = "download file", description = "download file")
@@ -140,7 +159,8 @@ public class DataTaskController {
     public ResponseEntity<ResponseVO<Object>> download(@PathVariable("taskId") @NotNull Long taskId, HttpServletResponse response) throws IOException {
         DmsDataTaskDTO dmsDataTaskDTO = this.dmsDataTaskService.selectOne(taskId);
         String filePath = dmsDataTaskDTO.getFileUrl();
-        if (dmsDataTaskDTO.getTaskType().getValue().equals(TaskType.EXPORT.getValue())) {
+        if (dmsDataTaskDTO.getTaskType().getValue().equals(TaskType.EXPORT.getValue())
+                || dmsDataTaskDTO.getTaskType().getValue().equals(TaskType.DDL.getValue())) {
             String fileName = URLEncoder.encode(StrUtil.concat(true, dmsDataTaskDTO.getFileName(), ".zip"), StandardCharsets.UTF_8.name());
             response.setHeader("Content-Disposition", "attachment;filename=" + fileName.replace("+", "%20"));
         } else {
@@ -18,7 +18,8 @@
 package com.basedt.dms.api.controller.workspace;
 
 import com.basedt.dms.api.annotation.AuditLogging;
-import com.basedt.dms.common.utils.RedisUtil;
+import com.basedt.dms.api.socket.SqlScriptHandler;
+import com.basedt.dms.common.enums.ResponseCode;
 import com.basedt.dms.common.vo.ResponseVO;
 import com.basedt.dms.service.base.dto.PageDTO;
 import com.basedt.dms.service.log.LogSqlHistoryService;
@@ -33,17 +34,21 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
 @RestController
 @RequestMapping(path = "/api/workspace/sql")
 @Tag(name = "SQL")
 public class SqlController {
 
     private final LogSqlHistoryService logSqlHistoryService;
-    private final RedisUtil redisUtil;
+    private final SqlScriptHandler sqlScriptHandler;
 
-    public SqlController(LogSqlHistoryService logSqlHistoryService, RedisUtil redisUtil) {
+    public SqlController(LogSqlHistoryService logSqlHistoryService, SqlScriptHandler sqlScriptHandler) {
         this.logSqlHistoryService = logSqlHistoryService;
-        this.redisUtil = redisUtil;
+        this.sqlScriptHandler = sqlScriptHandler;
     }
 
     @GetMapping
@@ -55,12 +60,23 @@ public class SqlController {
         return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
+    @GetMapping(path = "/history/metrics")
+    @Operation(summary = "sql history writer metrics", description = "sql history writer metrics")
+    @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_WS_HISTORY_SHOW)")
+    public ResponseEntity<Map<String, Long>> getHistoryMetrics() {
+        return new ResponseEntity<>(this.logSqlHistoryService.getAsyncWriteMetrics(), HttpStatus.OK);
+    }
+
     @PostMapping(path = "/stop/{id}")
     @AuditLogging
     @Operation(summary = "stop sql script", description = "stop sql script")
     @PreAuthorize("@sec.validate(T(com.basedt.dms.service.security.enums.DmsPrivileges).WORKSPACE_SHOW)")
     public ResponseEntity<ResponseVO<Object>> stopSqlScript(@PathVariable("id") @NotBlank String id) {
-        redisUtil.delKeys(id);
+        UUID sessionId = SqlScriptHandler.parseSessionId(id);
+        if (Objects.isNull(sessionId)) {
+            return new ResponseEntity<>(ResponseVO.error(ResponseCode.ERROR_INVALID_ARGUMENT), HttpStatus.BAD_REQUEST);
+        }
+        sqlScriptHandler.stop(sessionId);
         return new ResponseEntity<>(ResponseVO.success(), HttpStatus.OK);
     }
 
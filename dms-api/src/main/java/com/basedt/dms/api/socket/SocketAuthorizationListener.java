@@ -19,6 +19,7 @@ package com.basedt.dms.api.socket;
 
 import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.utils.PropertiesUtil;
+import com.basedt.dms.service.security.UserDetailsInfo;
 import com.corundumstudio.socketio.AuthorizationListener;
 import com.corundumstudio.socketio.HandshakeData;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -40,11 +41,26 @@ public class SocketAuthorizationListener implements AuthorizationListener {
 
     @Override
     public boolean isAuthorized(HandshakeData data) {
+        return Objects.nonNull(getSession(data));
+    }
+
+    /**
+     * get login user name of the socket client from http session
+     */
+    public String getUserName(HandshakeData data) {
+        Session session = getSession(data);
+        if (Objects.isNull(session)) {
+            return null;
+        }
+        UserDetailsInfo userDetailsInfo = session.getAttribute(Constants.SESSION_USER);
+        return Objects.isNull(userDetailsInfo) ? null : userDetailsInfo.getUsername();
+    }
+
+    private Session getSession(HandshakeData data) {
         HttpHeaders headers = data.getHttpHeaders();
         String cookies = headers.get("Cookie");
         Map<String, Object> cookieMap = PropertiesUtil.formatToMap(cookies, Constants.LINE_FEED, Constants.SEPARATOR_EQUAL);
         String token = String.valueOf(cookieMap.get(Constants.SESSION_ID));
-        Session session = this.sessionRepository.findById(token);
-        return Objects.nonNull(session);
+        return this.sessionRepository.findById(token);
     }
 }
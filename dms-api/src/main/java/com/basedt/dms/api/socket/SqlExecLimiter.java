@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.socket;
+
+import com.basedt.dms.api.config.SqlExecConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * concurrency limit of sql console scripts per user and per datasource
+ */
+@Component
+public class SqlExecLimiter {
+
+    private final SqlExecConfig.SqlExecPropConfig config;
+
+    private final Map<String, Integer> userCounter = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> dataSourceCounter = new ConcurrentHashMap<>();
+
+    public SqlExecLimiter(SqlExecConfig.SqlExecPropConfig config) {
+        this.config = config;
+    }
+
+    public boolean tryAcquire(String user, Long dataSourceId) {
+        if (!acquire(userCounter, user, config.getMaxPerUser())) {
+            return false;
+        }
+        if (!acquire(dataSourceCounter, dataSourceId, config.getMaxPerDataSource())) {
+            release(userCounter, user);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(String user, Long dataSourceId) {
+        release(dataSourceCounter, dataSourceId);
+        release(userCounter, user);
+    }
+
+    private <K> boolean acquire(Map<K, Integer> counter, K key, int limit) {
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        counter.compute(key, (k, v) -> {
+            int running = v == null ? 0 : v;
+            if (limit > 0 && running >= limit) {
+                return v;
+            }
+            acquired.set(true);
+            return running + 1;
+        });
+        return acquired.get();
+    }
+
+    private <K> void release(Map<K, Integer> counter, K key) {
+        counter.computeIfPresent(key, (k, v) -> v > 1 ? v - 1 : null);
+    }
+}
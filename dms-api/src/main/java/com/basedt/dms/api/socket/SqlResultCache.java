@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.socket;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.json.JSONObject;
+import com.basedt.dms.api.config.SqlExecConfig;
+import com.basedt.dms.api.vo.ResultSetChunkVO;
+import com.basedt.dms.api.vo.ResultSetVO;
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.common.utils.RedisUtil;
+import com.basedt.dms.plugins.datasource.utils.ArrowResultEncoder;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
+import com.basedt.dms.service.workspace.param.DmsSqlResultQueryParam;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * bounded cache of console query results keyed by datasource, user and normalized sql.
+ * rows are spilled to local arrow files, entries expire by ttl and are evicted by total file size.
+ * invalidations are broadcast so that results cached by other nodes are dropped too.
+ */
+@Slf4j
+@Component
+public class SqlResultCache {
+
+    private static final Pattern QUERY_PATTERN = Pattern.compile("(SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern BLANK_PATTERN = Pattern.compile("\\s+");
+
+    private static final String SORT_DESCEND = "descend";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String SNAPSHOT_SUFFIX = ".arrow";
+
+    private final Cache<String, SqlResultSnapshot> cache;
+
+    private final Map<String, String> keyIndex = new ConcurrentHashMap<>();
+
+    private final File cacheDir;
+
+    private final RedisUtil redisUtil;
+
+    public SqlResultCache(SqlExecConfig.SqlExecPropConfig sqlExecConfig, RedisUtil redisUtil,
+                          @Qualifier("springSessionRedisMessageListenerContainer") RedisMessageListenerContainer listenerContainer) {
+        this.redisUtil = redisUtil;
+        this.cacheDir = new File(sqlExecConfig.getResultCacheDir());
+        FileUtil.mkdir(this.cacheDir);
+        // snapshots of a previous run are not indexed any more
+        FileUtil.loopFiles(this.cacheDir, file -> file.getName().endsWith(SNAPSHOT_SUFFIX)).forEach(FileUtil::del);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(sqlExecConfig.getResultCacheTtl(), TimeUnit.SECONDS)
+                .maximumWeight(sqlExecConfig.getResultCacheMaxBytes())
+                .weigher((String key, SqlResultSnapshot snapshot) -> (int) Math.min(snapshot.getBytes(), Integer.MAX_VALUE))
+                .removalListener((String key, SqlResultSnapshot snapshot, RemovalCause cause) -> {
+                    if (Objects.nonNull(snapshot)) {
+                        keyIndex.remove(snapshot.getId(), key);
+                        snapshot.delete();
+                    }
+                })
+                .build();
+        listenerContainer.addMessageListener(onInvalidateMessage(), new ChannelTopic(Constants.CHANNEL_SQL_RESULT_INVALIDATE));
+    }
+
+    public boolean isCacheable(String sql) {
+        return QUERY_PATTERN.matcher(sql).lookingAt();
+    }
+
+    public String buildKey(Long dataSourceId, String user, String sql) {
+        String normalized = StrUtil.removeSuffix(BLANK_PATTERN.matcher(sql.trim()).replaceAll(" "), ";");
+        return SecureUtil.sha256(dataSourceId + "\n" + user + "\n" + normalized);
+    }
+
+    /**
+     * @return cached result with all rows, null if absent or its file was deleted by a concurrent eviction
+     */
+    public ResultSetVO get(String key) {
+        SqlResultSnapshot snapshot = cache.getIfPresent(key);
+        List<Object[]> rows = Objects.isNull(snapshot) ? null : readRows(snapshot);
+        if (Objects.isNull(rows)) {
+            return null;
+        }
+        ResultSetVO result = new ResultSetVO(snapshot.getColumns(), toJson(snapshot, rows));
+        result.setId(snapshot.getId());
+        return result;
+    }
+
+    /**
+     * read the result set into a new snapshot and return it the same way as an uncached result
+     */
+    public ResultSetVO put(String key, String user, Long dataSourceId, ResultSet rs, Boolean editable) throws SQLException, IOException {
+        ResultSetRowReader reader = new ResultSetRowReader(rs, true);
+        ResultSetVO header = new ResultSetVO(reader, editable);
+        String id = IdUtil.fastSimpleUUID();
+        File file = new File(cacheDir, id + SNAPSHOT_SUFFIX);
+        FileUtil.writeBytes(new ArrowResultEncoder(reader.getColumns()).encode(reader, ResultSetVO.MAX_ROWS + 1), file);
+        SqlResultSnapshot snapshot = new SqlResultSnapshot(id, key, user, dataSourceId, header.getColumns(), file);
+        // read before publishing, an oversized snapshot is evicted and deleted right away
+        List<Object[]> rows = snapshot.readRows();
+        keyIndex.put(id, key);
+        cache.put(key, snapshot);
+        ResultSetVO result = new ResultSetVO(snapshot.getColumns(), toJson(snapshot, rows));
+        result.setId(id);
+        return result;
+    }
+
+    /**
+     * filter, sort and page a cached result of the user
+     */
+    public ResultSetChunkVO query(String user, DmsSqlResultQueryParam param) {
+        ResultSetChunkVO chunk = new ResultSetChunkVO();
+        chunk.setId(param.getResultId());
+        int offset = Objects.nonNull(param.getOffset()) && param.getOffset() > 0 ? param.getOffset() : 0;
+        chunk.setOffset((long) offset);
+        chunk.setData(Collections.emptyList());
+        chunk.setHasMore(false);
+        String key = keyIndex.get(param.getResultId());
+        SqlResultSnapshot snapshot = Objects.isNull(key) ? null : cache.getIfPresent(key);
+        List<Object[]> rows = Objects.isNull(snapshot) || !Objects.equals(snapshot.getUser(), user) ? null : readRows(snapshot);
+        if (Objects.isNull(rows)) {
+            chunk.setTotal(0L);
+            return chunk;
+        }
+        List<ResultSetVO.ColumnVO> columns = snapshot.getColumns();
+        if (Objects.nonNull(param.getFilters())) {
+            for (Map.Entry<String, String> filter : param.getFilters().entrySet()) {
+                int idx = indexOf(columns, filter.getKey());
+                if (idx < 0 || StrUtil.isEmpty(filter.getValue())) {
+                    continue;
+                }
+                rows.removeIf(row -> Objects.isNull(row[idx]) || !StrUtil.containsIgnoreCase(String.valueOf(row[idx]), filter.getValue()));
+            }
+        }
+        int sortIdx = indexOf(columns, param.getSortField());
+        if (sortIdx >= 0) {
+            Comparator<Object[]> comparator = (a, b) -> compareValue(a[sortIdx], b[sortIdx]);
+            rows.sort(SORT_DESCEND.equalsIgnoreCase(param.getSortOrder()) ? comparator.reversed() : comparator);
+        }
+        int limit = Objects.nonNull(param.getLimit()) && param.getLimit() > 0 ? param.getLimit() : DEFAULT_PAGE_SIZE;
+        int end = Math.min(rows.size(), offset + limit);
+        chunk.setTotal((long) rows.size());
+        if (offset < end) {
+            chunk.setData(toJson(snapshot, rows.subList(offset, end)));
+        }
+        chunk.setHasMore(end < rows.size());
+        return chunk;
+    }
+
+    /**
+     * drop cached results of a datasource after data may have been changed by console
+     */
+    public void invalidate(Long dataSourceId) {
+        invalidateLocal(dataSourceId);
+        redisUtil.publish(Constants.CHANNEL_SQL_RESULT_INVALIDATE, String.valueOf(dataSourceId));
+    }
+
+    private void invalidateLocal(Long dataSourceId) {
+        cache.asMap().values().removeIf(snapshot -> snapshot.getDataSourceId().equals(dataSourceId));
+    }
+
+    private MessageListener onInvalidateMessage() {
+        return (message, pattern) -> {
+            String dataSourceId = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (StrUtil.isNumeric(dataSourceId)) {
+                invalidateLocal(Long.valueOf(dataSourceId));
+            }
+        };
+    }
+
+    /**
+     * rows of the snapshot, null when its file is gone. the removal listener deletes the file of an evicted entry
+     * while it may still be read, which counts as a cache miss.
+     */
+    private List<Object[]> readRows(SqlResultSnapshot snapshot) {
+        try {
+            return snapshot.readRows();
+        } catch (IOException e) {
+            log.debug("read cached result {} failed: {}", snapshot.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private List<JSONObject> toJson(SqlResultSnapshot snapshot, List<Object[]> rows) {
+        List<ResultSetVO.ColumnVO> columns = snapshot.getColumns();
+        List<JSONObject> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            JSONObject node = new JSONObject(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                node.set(columns.get(i).getDataIndex(), row[i]);
+            }
+            result.add(node);
+        }
+        return result;
+    }
+
+    private int indexOf(List<ResultSetVO.ColumnVO> columns, String dataIndex) {
+        if (StrUtil.isEmpty(dataIndex)) {
+            return -1;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (dataIndex.equals(columns.get(i).getDataIndex())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareValue(Object a, Object b) {
+        if (Objects.isNull(a) || Objects.isNull(b)) {
+            return Objects.isNull(a) ? (Objects.isNull(b) ? 0 : -1) : 1;
+        }
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b);
+        }
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Comparable && a.getClass().equals(b.getClass())) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return String.valueOf(a).compareTo(String.valueOf(b));
+    }
+}
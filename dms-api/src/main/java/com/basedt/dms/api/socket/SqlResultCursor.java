@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.socket;
+
+import com.basedt.dms.api.vo.ResultSetChunkVO;
+import com.basedt.dms.api.vo.ResultSetVO;
+import com.basedt.dms.plugins.datasource.DataSourcePlugin;
+import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * an open result set of sql console, rows are read chunk by chunk when client asks for them.
+ * the statement is prepared by {@link DataSourcePlugin#prepareStreamingStatement}, the auto commit mode it changed
+ * is restored on close. the connection is closed with the cursor only after the script finished and handed it over.
+ */
+@Slf4j
+public class SqlResultCursor {
+
+    private final String id;
+
+    private final DataSourcePlugin plugin;
+
+    private final Connection statementConnection;
+
+    private final boolean autoCommit;
+
+    private final PreparedStatement statement;
+
+    private final ResultSet resultSet;
+
+    private final ResultSetVO header;
+
+    private final boolean arrow;
+
+    private Connection connection;
+
+    private long offset = 0L;
+
+    private boolean closed = false;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * @param conn       connection the statement runs on
+     * @param autoCommit auto commit mode of conn before the statement was prepared
+     */
+    public SqlResultCursor(String id, DataSourcePlugin plugin, Connection conn, boolean autoCommit,
+                           PreparedStatement statement, ResultSet resultSet, ResultSetVO header, boolean arrow) {
+        this.id = id;
+        this.plugin = plugin;
+        this.statementConnection = conn;
+        this.autoCommit = autoCommit;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.header = header;
+        this.arrow = arrow;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized ResultSetChunkVO next(int chunkSize) throws SQLException {
+        lastAccess = System.currentTimeMillis();
+        ResultSetChunkVO chunk = new ResultSetChunkVO();
+        chunk.setId(id);
+        chunk.setOffset(offset);
+        if (closed) {
+            chunk.setData(Collections.emptyList());
+            chunk.setHasMore(false);
+            return chunk;
+        }
+        int size;
+        if (arrow) {
+            chunk.setData(Collections.emptyList());
+            chunk.setArrow(header.fetchArrow(chunkSize));
+            size = header.getEncoder().getRowCount();
+        } else {
+            chunk.setData(header.fetch(chunkSize));
+            size = chunk.getData().size();
+        }
+        offset += size;
+        chunk.setHasMore(!header.getReader().isExhausted() && size == chunkSize);
+        if (!chunk.getHasMore()) {
+            close();
+        }
+        return chunk;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * no chunk was fetched for longer than timeoutMillis
+     */
+    public boolean isIdle(long timeoutMillis) {
+        return System.currentTimeMillis() - lastAccess > timeoutMillis;
+    }
+
+    /**
+     * take over the connection, it will be closed together with this cursor
+     */
+    public synchronized void holdConnection(Connection conn) {
+        if (closed) {
+            JdbcUtil.closeSilently(conn);
+        } else {
+            this.connection = conn;
+        }
+    }
+
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            plugin.closeStreamingStatement(statement, resultSet, header.getReader().isExhausted());
+            try {
+                if (statementConnection.getAutoCommit() != autoCommit) {
+                    statementConnection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                log.error("restore auto commit error : {}", e.getMessage());
+            }
+            JdbcUtil.closeSilently(connection);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.socket;
+
+import com.basedt.dms.api.vo.ResultSetVO;
+import com.basedt.dms.common.utils.DateTimeUtil;
+import com.basedt.dms.plugins.datasource.utils.ArrowResultEncoder;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * a query result kept by {@link SqlResultCache}, rows are stored in a local arrow ipc file
+ * and read back with the same presentation as sql console json rows.
+ */
+public class SqlResultSnapshot {
+
+    private static final BufferAllocator ROOT_ALLOCATOR = new RootAllocator(Long.MAX_VALUE);
+
+    private final String id;
+
+    private final String key;
+
+    private final String user;
+
+    private final Long dataSourceId;
+
+    private final List<ResultSetVO.ColumnVO> columns;
+
+    private final File file;
+
+    public SqlResultSnapshot(String id, String key, String user, Long dataSourceId, List<ResultSetVO.ColumnVO> columns, File file) {
+        this.id = id;
+        this.key = key;
+        this.user = user;
+        this.dataSourceId = dataSourceId;
+        this.columns = columns;
+        this.file = file;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Long getDataSourceId() {
+        return dataSourceId;
+    }
+
+    public List<ResultSetVO.ColumnVO> getColumns() {
+        return columns;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getBytes() {
+        return file.length();
+    }
+
+    public List<Object[]> readRows() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (FileInputStream in = new FileInputStream(file);
+             BufferAllocator allocator = ROOT_ALLOCATOR.newChildAllocator("result-snapshot", 0, Long.MAX_VALUE);
+             ArrowStreamReader reader = new ArrowStreamReader(in, allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            List<FieldVector> vectors = root.getFieldVectors();
+            while (reader.loadNextBatch()) {
+                for (int r = 0; r < root.getRowCount(); r++) {
+                    Object[] row = new Object[vectors.size()];
+                    for (int i = 0; i < vectors.size(); i++) {
+                        row[i] = readValue(vectors.get(i), r);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    public void delete() {
+        if (file.exists() && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private boolean isDecimal(FieldVector vector) {
+        Map<String, String> metadata = vector.getField().getMetadata();
+        return Objects.nonNull(metadata) && Boolean.parseBoolean(metadata.get(ArrowResultEncoder.METADATA_DECIMAL));
+    }
+
+    private Object readValue(FieldVector vector, int index) {
+        if (vector.isNull(index)) {
+            return null;
+        }
+        if (vector instanceof TimeStampMilliVector) {
+            return DateTimeUtil.toChar(((TimeStampMilliVector) vector).getObject(index), DateTimeUtil.NORMAL_DATETIME_MS_PATTERN);
+        } else if (vector instanceof DateDayVector) {
+            return LocalDate.ofEpochDay(((DateDayVector) vector).get(index)).toString();
+        } else if (vector instanceof VarCharVector) {
+            String value = new String(((VarCharVector) vector).get(index), StandardCharsets.UTF_8);
+            // decimals are returned as numbers, the same as uncached results
+            return isDecimal(vector) ? new BigDecimal(value) : value;
+        }
+        return vector.getObject(index);
+    }
+}
@@ -17,7 +17,10 @@
  */
 package com.basedt.dms.api.socket;
 
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
+import com.basedt.dms.api.config.SqlExecConfig;
+import com.basedt.dms.api.vo.ResultSetChunkVO;
 import com.basedt.dms.api.vo.ResultSetVO;
 import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.SqlStatus;
@@ -26,13 +29,15 @@ import com.basedt.dms.common.utils.RedisUtil;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.MetaDataService;
 import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
+import com.basedt.dms.plugins.datasource.utils.SqlScriptSplitter;
 import com.basedt.dms.service.log.LogSqlHistoryService;
 import com.basedt.dms.service.log.dto.LogSqlHistoryDTO;
-import com.basedt.dms.service.security.utils.SecurityUtil;
 import com.basedt.dms.service.workspace.DmsDataSourceService;
 import com.basedt.dms.service.workspace.convert.DataSourceConvert;
 import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
 import com.basedt.dms.service.workspace.param.DmsSqlExecParam;
+import com.basedt.dms.service.workspace.param.DmsSqlResultQueryParam;
 import com.corundumstudio.socketio.HandshakeData;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIONamespace;
@@ -40,17 +45,36 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.listener.ConnectListener;
 import com.corundumstudio.socketio.listener.DataListener;
 import com.corundumstudio.socketio.listener.DisconnectListener;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
@@ -68,6 +92,34 @@ public class SqlScriptHandler {
 
     private static final String EVENT_FINISHED = "finished";
 
+    private static final String EVENT_FETCH = "fetch";
+
+    private static final String EVENT_RESULT_SET_HEADER = "resultSetHeader";
+
+    private static final String EVENT_RESULT_SET_CHUNK = "resultSetChunk";
+
+    private static final String EVENT_QUERY = "query";
+
+    private static final String RESULT_FORMAT_ARROW = "arrow";
+
+    private static final String CLIENT_USER = "user";
+
+    /**
+     * blanks and comments in front of a statement, they are kept by the script splitter
+     */
+    private static final Pattern LEADING_COMMENT_PATTERN = Pattern.compile("(?:\\s+|--[^\\n]*|/\\*.*?\\*/)*+", Pattern.DOTALL);
+
+    private static final Pattern DML_PATTERN = Pattern.compile("(INSERT|UPDATE|DELETE|MERGE|UPSERT|REPLACE)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DDL_PATTERN = Pattern.compile("(CREATE|ALTER|DROP|RENAME|TRUNCATE|COMMENT)\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * schema qualified name of the object a ddl statement works on, like schema.table or catalog.schema.table
+     */
+    private static final Pattern DDL_TARGET_PATTERN = Pattern.compile(
+            "\\b(?:TABLE|VIEW|INDEX|SEQUENCE|FUNCTION|PROCEDURE|TYPE|ON)\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?((?:[\\w$\"`\\[\\]]+\\s*\\.\\s*)+)[\\w$\"`\\[\\]]+",
+            Pattern.CASE_INSENSITIVE);
+
     private final RedisUtil redisUtil;
 
     private final SocketIONamespace namespace;
@@ -78,8 +130,38 @@ public class SqlScriptHandler {
 
     private final DmsDataSourceService dmsDataSourceService;
 
-    public SqlScriptHandler(RedisUtil redisUtil, SocketIOServer server, MetaDataService metaDataService, LogSqlHistoryService logSqlHistoryService, DmsDataSourceService dmsDataSourceService) {
+    private final SqlExecConfig.SqlExecPropConfig sqlExecConfig;
+
+    private final SqlResultCache sqlResultCache;
+
+    private final Map<UUID, SqlResultCursor> cursors = new ConcurrentHashMap<>();
+
+    private final Map<UUID, SqlScriptPlan> plans = new ConcurrentHashMap<>();
+
+    private final ThreadPoolTaskExecutor sqlExecutor;
+
+    private final SqlExecLimiter sqlExecLimiter;
+
+    private final SocketAuthorizationListener authorizationListener;
+
+    private final ScheduledExecutorService cursorSweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Sql-cursor-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SqlScriptHandler(RedisUtil redisUtil, SocketIOServer server, MetaDataService metaDataService, LogSqlHistoryService logSqlHistoryService,
+                            DmsDataSourceService dmsDataSourceService, SqlExecConfig.SqlExecPropConfig sqlExecConfig,
+                            @Qualifier("sqlExecutor") ThreadPoolTaskExecutor sqlExecutor, SqlExecLimiter sqlExecLimiter,
+                            SocketAuthorizationListener authorizationListener,
+                            @Qualifier("springSessionRedisMessageListenerContainer") RedisMessageListenerContainer listenerContainer,
+                            SqlResultCache sqlResultCache) {
         this.redisUtil = redisUtil;
+        this.sqlResultCache = sqlResultCache;
+        this.sqlExecConfig = sqlExecConfig;
+        this.sqlExecutor = sqlExecutor;
+        this.sqlExecLimiter = sqlExecLimiter;
+        this.authorizationListener = authorizationListener;
         this.namespace = server.addNamespace("/sql");
         this.logSqlHistoryService = logSqlHistoryService;
         this.dmsDataSourceService = dmsDataSourceService;
@@ -87,12 +169,46 @@ public class SqlScriptHandler {
         this.namespace.addDisconnectListener(onDisconnected());
         this.namespace.addEventListener(EVENT_EXEC, DmsSqlExecParam.class, onSqlExec());
         this.namespace.addEventListener(EVENT_STOP, Object.class, onStopExec());
+        this.namespace.addEventListener(EVENT_FETCH, String.class, onFetch());
+        this.namespace.addEventListener(EVENT_QUERY, DmsSqlResultQueryParam.class, onQuery());
+        listenerContainer.addMessageListener(onStopMessage(), new ChannelTopic(Constants.CHANNEL_SQL_STOP));
         this.metaDataService = metaDataService;
+        if (sqlExecConfig.getCursorIdleTimeout() > 0) {
+            long period = Math.min(sqlExecConfig.getCursorIdleTimeout(), 60);
+            this.cursorSweeper.scheduleWithFixedDelay(this::closeIdleCursors, period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        this.cursorSweeper.shutdownNow();
+    }
+
+    /**
+     * an open cursor holds a pooled connection, close it when its console stops fetching
+     */
+    private void closeIdleCursors() {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(sqlExecConfig.getCursorIdleTimeout());
+        cursors.forEach((sessionId, cursor) -> {
+            if (cursor.isIdle(timeoutMillis) && cursors.remove(sessionId, cursor)) {
+                cursor.close();
+                log.info("close result cursor of client {} idle for more than {} seconds", sessionId, sqlExecConfig.getCursorIdleTimeout());
+                SocketIOClient client = namespace.getClient(sessionId);
+                if (Objects.nonNull(client)) {
+                    sendMsgEvent(client, StrUtil.format("[{}] result set closed after being idle, please run the query again to fetch more rows",
+                            DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_INFO);
+                }
+            }
+        });
     }
 
     private ConnectListener onConnected() {
         return client -> {
             HandshakeData handshakeData = client.getHandshakeData();
+            String userName = authorizationListener.getUserName(handshakeData);
+            if (Objects.nonNull(userName)) {
+                client.set(CLIENT_USER, userName);
+            }
             log.debug("Client[{}] - Connected to chat module through '{}'", client.getSessionId().toString(), handshakeData.getUrl());
         };
     }
@@ -100,89 +216,498 @@ public class SqlScriptHandler {
     private DisconnectListener onDisconnected() {
         return client -> {
             log.debug("Client[{}] - Disconnected from chat module.", client.getSessionId().toString());
+            stopLocal(client.getSessionId());
+            closeCursor(client);
         };
     }
 
+    /**
+     * socket.io worker threads only dispatch the script, jdbc work runs on sqlExecutor
+     */
     private DataListener<DmsSqlExecParam> onSqlExec() {
         return (client, data, ackSender) -> {
-            String socketId = client.getSessionId().toString();
-            if (Objects.nonNull(data.getWorkspaceId()) && Objects.nonNull(data.getDataSourceId()) && Objects.nonNull(data.getScript())) {
-                DmsDataSourceDTO dto = this.dmsDataSourceService.selectOne(data.getDataSourceId());
-                DataSourcePlugin plugin = metaDataService.getDataSourcePluginInstance(DataSourceConvert.toDataSource(dto));
-                List<String> sqlArray = Arrays.stream(data.getScript().split(Constants.SEPARATOR_SEMICOLON)).filter(StrUtil::isNotBlank).collect(Collectors.toList());
-                redisUtil.queuePush(socketId, sqlArray);
-                Connection conn = plugin.getDataSource().getConnection();
-                while (redisUtil.getQueueSize(socketId) > 0) {
-                    String sql = redisUtil.queuePop(socketId);
-                    LogSqlHistoryDTO sqlLog = new LogSqlHistoryDTO();
-                    sqlLog.setWorkspaceId(data.getWorkspaceId());
-                    sqlLog.setDatasourceId(data.getDataSourceId());
-                    sqlLog.setSqlScript(sql);
-                    String currentUser = SecurityUtil.getCurrentUserName();
-                    sqlLog.setCreator(currentUser);
-                    sqlLog.setEditor(currentUser);
-                    sqlLog.setStartTime(LocalDateTime.now());
-                    sendMsgEvent(client, StrUtil.format("[{}] execute sql : {}",
-                            DateTimeUtil.toChar(sqlLog.getStartTime(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
-                            sql), EVENT_INFO);
+            if (Objects.isNull(data.getWorkspaceId()) || Objects.isNull(data.getDataSourceId()) || Objects.isNull(data.getScript())) {
+                return;
+            }
+            UUID sessionId = client.getSessionId();
+            String user = StrUtil.nullToEmpty(client.get(CLIENT_USER));
+            SqlScriptPlan plan = new SqlScriptPlan();
+            if (Objects.nonNull(plans.putIfAbsent(sessionId, plan))) {
+                sendMsgEvent(client, StrUtil.format("[{}] another script is running in this console",
+                        DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_ERROR);
+                return;
+            }
+            if (!sqlExecLimiter.tryAcquire(user, data.getDataSourceId())) {
+                plans.remove(sessionId, plan);
+                sendMsgEvent(client, StrUtil.format("[{}] too many scripts running for current user or datasource, please retry later",
+                        DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_ERROR);
+                return;
+            }
+            try {
+                sqlExecutor.execute(() -> {
                     try {
-                        PreparedStatement psm = conn.prepareStatement(sql);
-                        boolean flag = psm.execute();
-                        if (flag) {
-                            ResultSet rs = psm.getResultSet();
-                            ResultSetVO result = new ResultSetVO(rs, plugin.isSupportRowEdit());
-                            result.setSql(sql);
-                            JdbcUtil.close(null, psm, rs);
-                            sqlLog.setEndTime(LocalDateTime.now());
-                            sendMsgEvent(client, StrUtil.format("[{}] completed in {} ms",
-                                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
-                                    DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime())), EVENT_INFO);
-                            sendResultSetEvent(client, result);
-                        } else {
-                            int result = psm.getUpdateCount();
-                            sqlLog.setEndTime(LocalDateTime.now());
-                            JdbcUtil.close(null, psm, null);
-                            sendMsgEvent(client, StrUtil.format("[{}] completed in {} ms , ({} row affected)",
-                                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
-                                    DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime()),
-                                    result), EVENT_INFO);
-                        }
-                        sqlLog.setSqlStatus(SqlStatus.SUCCESS.toDict());
-                        logSqlHistoryService.insert(sqlLog);
+                        execScript(client, data, plan);
                     } catch (Exception e) {
-                        String errorMsg = e.getMessage();
-                        sqlLog.setEndTime(LocalDateTime.now());
-                        sqlLog.setSqlStatus(SqlStatus.FAILURE.toDict());
-                        sqlLog.setRemark(errorMsg);
+                        log.error(e.getMessage(), e);
                         sendMsgEvent(client, StrUtil.format("[{}] sql run failed , {}",
                                 DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
-                                errorMsg), EVENT_ERROR);
-                        redisUtil.delKeys(socketId);
-                        logSqlHistoryService.insert(sqlLog);
-                        JdbcUtil.close(conn);
+                                e.getMessage()), EVENT_ERROR);
+                    } finally {
+                        sqlExecLimiter.release(user, data.getDataSourceId());
+                        plans.remove(sessionId, plan);
                     }
-                }
-                sendMsgEvent(client, StrUtil.format("[{}] execute finished",
-                        DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_FINISHED);
-                JdbcUtil.close(conn);
+                });
+            } catch (TaskRejectedException e) {
+                sqlExecLimiter.release(user, data.getDataSourceId());
+                plans.remove(sessionId, plan);
+                sendMsgEvent(client, StrUtil.format("[{}] sql console is busy, please retry later",
+                        DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_ERROR);
             }
         };
     }
 
+    private void execScript(SocketIOClient client, DmsSqlExecParam data, SqlScriptPlan plan) throws Exception {
+        DmsDataSourceDTO dto = this.dmsDataSourceService.selectOne(data.getDataSourceId());
+        DataSourcePlugin plugin = metaDataService.getDataSourcePluginInstance(DataSourceConvert.toDataSource(dto));
+        boolean streaming = Boolean.TRUE.equals(data.getStreaming());
+        boolean arrow = RESULT_FORMAT_ARROW.equalsIgnoreCase(data.getResultFormat());
+        boolean useCache = Boolean.TRUE.equals(data.getUseCache()) && !streaming && !arrow;
+        int queryTimeout = Objects.nonNull(plugin.getQueryTimeout()) ? plugin.getQueryTimeout() : sqlExecConfig.getQueryTimeout();
+        int maxRows = Objects.nonNull(plugin.getMaxRows()) ? plugin.getMaxRows() : sqlExecConfig.getMaxRows();
+        closeCursor(client);
+        plan.setStatements(new SqlScriptSplitter(data.getScript(), plugin.getSqlDialect()));
+        boolean batchMode = Boolean.TRUE.equals(data.getBatchMode());
+        Connection conn = plugin.getDataSource().getConnection();
+        // streaming statements may turn auto commit off, it is restored once their result set is closed
+        boolean autoCommit = conn.getAutoCommit();
+        String pending = null;
+        // metadata is evicted once per script, for the touched schemas only when every ddl names its schema
+        Set<String> ddlSchemas = new LinkedHashSet<>();
+        boolean ddlUnqualified = false;
+        while (!plan.isCancelled() && (Objects.nonNull(pending) || plan.hasNext())) {
+            String sql = Objects.nonNull(pending) ? pending : plan.next();
+            pending = null;
+            // only the result set of the last query in script stays open on the shared connection
+            closeCursor(client);
+            if (batchMode && isDml(sql)) {
+                pending = execBatch(client, data, plan, conn, sql, queryTimeout);
+                continue;
+            }
+            LogSqlHistoryDTO sqlLog = newSqlLog(client, data, sql);
+            sendMsgEvent(client, StrUtil.format("[{}] execute sql : {}",
+                    DateTimeUtil.toChar(sqlLog.getStartTime(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                    sql), EVENT_INFO);
+            try {
+                String cacheKey = useCache && sqlResultCache.isCacheable(sql)
+                        ? sqlResultCache.buildKey(data.getDataSourceId(), sqlLog.getCreator(), sql) : null;
+                if (Objects.nonNull(cacheKey)) {
+                    ResultSetVO cached = sqlResultCache.get(cacheKey);
+                    if (Objects.nonNull(cached)) {
+                        cached.setSql(sql);
+                        sqlLog.setEndTime(LocalDateTime.now());
+                        sqlLog.setSqlStatus(SqlStatus.SUCCESS.toDict());
+                        sqlLog.setRemark("cached");
+                        sendMsgEvent(client, StrUtil.format("[{}] completed from cache in {} ms",
+                                DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                                DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime())), EVENT_INFO);
+                        sendResultSetEvent(client, cached);
+                        logSqlHistoryService.insertAsync(sqlLog);
+                        continue;
+                    }
+                }
+                PreparedStatement psm = streaming
+                        ? plugin.prepareStreamingStatement(conn, sql, sqlExecConfig.getChunkSize())
+                        : conn.prepareStatement(sql);
+                if (queryTimeout > 0) {
+                    psm.setQueryTimeout(queryTimeout);
+                }
+                if (maxRows > 0) {
+                    psm.setMaxRows(maxRows);
+                }
+                boolean flag;
+                plan.setRunning(psm);
+                try {
+                    flag = psm.execute();
+                } finally {
+                    plan.setRunning(null);
+                }
+                if (flag && streaming) {
+                    ResultSet rs = psm.getResultSet();
+                    ResultSetVO header = new ResultSetVO(new ResultSetRowReader(rs, arrow), plugin.isSupportRowEdit());
+                    header.setId(IdUtil.fastSimpleUUID());
+                    header.setSql(sql);
+                    SqlResultCursor cursor = new SqlResultCursor(header.getId(), plugin, conn, autoCommit, psm, rs, header, arrow);
+                    cursors.put(client.getSessionId(), cursor);
+                    sqlLog.setEndTime(LocalDateTime.now());
+                    sendMsgEvent(client, StrUtil.format("[{}] completed in {} ms",
+                            DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                            DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime())), EVENT_INFO);
+                    sendEvent(client, EVENT_RESULT_SET_HEADER, header);
+                    sendChunkEvent(client, cursor);
+                } else if (flag) {
+                    ResultSet rs = psm.getResultSet();
+                    ResultSetVO result = Objects.nonNull(cacheKey)
+                            ? sqlResultCache.put(cacheKey, sqlLog.getCreator(), data.getDataSourceId(), rs, plugin.isSupportRowEdit())
+                            : new ResultSetVO(rs, plugin.isSupportRowEdit(), arrow);
+                    result.setSql(sql);
+                    JdbcUtil.close(null, psm, rs);
+                    sqlLog.setEndTime(LocalDateTime.now());
+                    sendMsgEvent(client, StrUtil.format("[{}] completed in {} ms",
+                            DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                            DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime())), EVENT_INFO);
+                    sendResultSetEvent(client, result);
+                } else {
+                    int result = psm.getUpdateCount();
+                    sqlResultCache.invalidate(data.getDataSourceId());
+                    if (isDdl(sql)) {
+                        String schema = getDdlSchema(sql);
+                        if (Objects.isNull(schema)) {
+                            ddlUnqualified = true;
+                        } else {
+                            ddlSchemas.add(schema);
+                        }
+                    }
+                    sqlLog.setEndTime(LocalDateTime.now());
+                    JdbcUtil.close(null, psm, null);
+                    restoreAutoCommit(conn, autoCommit, false);
+                    sendMsgEvent(client, StrUtil.format("[{}] completed in {} ms , ({} row affected)",
+                            DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                            DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime()),
+                            result), EVENT_INFO);
+                }
+                sqlLog.setSqlStatus(SqlStatus.SUCCESS.toDict());
+                logSqlHistoryService.insertAsync(sqlLog);
+            } catch (Exception e) {
+                String errorMsg = e.getMessage();
+                sqlLog.setEndTime(LocalDateTime.now());
+                sqlLog.setSqlStatus(SqlStatus.FAILURE.toDict());
+                sqlLog.setRemark(errorMsg);
+                sendMsgEvent(client, StrUtil.format("[{}] sql run failed , {}",
+                        DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                        errorMsg), EVENT_ERROR);
+                plan.cancel();
+                logSqlHistoryService.insertAsync(sqlLog);
+                closeCursor(client);
+                restoreAutoCommit(conn, autoCommit, true);
+            }
+        }
+        if (ddlUnqualified) {
+            metaDataService.evictCache(plugin.getDataSourceName());
+        } else {
+            ddlSchemas.forEach(schema -> metaDataService.evictSchemaCache(plugin.getDataSourceName(), schema));
+        }
+        sendMsgEvent(client, StrUtil.format("[{}] execute finished",
+                DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_FINISHED);
+        SqlResultCursor cursor = cursors.get(client.getSessionId());
+        if (Objects.nonNull(cursor) && !cursor.isClosed()) {
+            cursor.holdConnection(conn);
+        } else {
+            JdbcUtil.close(conn);
+        }
+    }
+
+    /**
+     * execute sql and the following consecutive dml statements with jdbc batch,
+     * history and progress are reported once per group and once per executeBatch.
+     *
+     * @return the first statement after the group which is not dml, null if script ends or fails
+     */
+    private String execBatch(SocketIOClient client, DmsSqlExecParam data, SqlScriptPlan plan, Connection conn, String sql, int queryTimeout) throws SQLException {
+        int batchSize = Objects.nonNull(data.getBatchSize()) && data.getBatchSize() > 0 ? data.getBatchSize() : sqlExecConfig.getBatchSize();
+        boolean transactional = Boolean.TRUE.equals(data.getBatchTransactional());
+        LogSqlHistoryDTO sqlLog = newSqlLog(client, data, sql);
+        sendMsgEvent(client, StrUtil.format("[{}] execute dml statements in batch mode, batch size {} , start with : {}",
+                DateTimeUtil.toChar(sqlLog.getStartTime(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                batchSize, sql), EVENT_INFO);
+        boolean autoCommit = conn.getAutoCommit();
+        Statement stmt = null;
+        String pending = null;
+        int total = 0;
+        int batched = 0;
+        long affected = 0L;
+        try {
+            conn.setAutoCommit(false);
+            stmt = conn.createStatement();
+            if (queryTimeout > 0) {
+                stmt.setQueryTimeout(queryTimeout);
+            }
+            plan.setRunning(stmt);
+            String next = sql;
+            while (Objects.nonNull(next)) {
+                stmt.addBatch(next);
+                total++;
+                batched++;
+                if (batched >= batchSize) {
+                    affected += sumUpdateCount(stmt.executeBatch());
+                    batched = 0;
+                    if (!transactional) {
+                        conn.commit();
+                    }
+                    sendMsgEvent(client, StrUtil.format("[{}] {} statements executed , ({} row affected)",
+                            DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                            total, affected), EVENT_INFO);
+                }
+                next = null;
+                if (plan.hasNext()) {
+                    String candidate = plan.next();
+                    if (isDml(candidate)) {
+                        next = candidate;
+                    } else {
+                        pending = candidate;
+                    }
+                }
+            }
+            if (plan.isCancelled()) {
+                throw new SQLException("script stopped, uncommitted statements rolled back");
+            }
+            if (batched > 0) {
+                affected += sumUpdateCount(stmt.executeBatch());
+            }
+            conn.commit();
+            sqlResultCache.invalidate(data.getDataSourceId());
+            sqlLog.setEndTime(LocalDateTime.now());
+            sqlLog.setSqlStatus(SqlStatus.SUCCESS.toDict());
+            sqlLog.setSqlScript(StrUtil.format("{}\n-- and {} more statements executed in batch mode", sql, total - 1));
+            sendMsgEvent(client, StrUtil.format("[{}] completed {} statements in {} ms , ({} row affected)",
+                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                    total, DateTimeUtil.getTimeInterval(sqlLog.getEndTime(), sqlLog.getStartTime()), affected), EVENT_INFO);
+            logSqlHistoryService.insertAsync(sqlLog);
+            return pending;
+        } catch (SQLException e) {
+            rollbackSilently(conn);
+            String errorMsg = e.getMessage();
+            sqlLog.setEndTime(LocalDateTime.now());
+            sqlLog.setSqlStatus(SqlStatus.FAILURE.toDict());
+            sqlLog.setSqlScript(StrUtil.format("{}\n-- and {} more statements executed in batch mode", sql, total - 1));
+            sqlLog.setRemark(errorMsg);
+            sendMsgEvent(client, StrUtil.format("[{}] sql run failed in batch mode after {} statements , {}",
+                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                    total, errorMsg), EVENT_ERROR);
+            plan.cancel();
+            logSqlHistoryService.insertAsync(sqlLog);
+            return null;
+        } finally {
+            plan.setRunning(null);
+            if (Objects.nonNull(stmt)) {
+                stmt.close();
+            }
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private LogSqlHistoryDTO newSqlLog(SocketIOClient client, DmsSqlExecParam data, String sql) {
+        LogSqlHistoryDTO sqlLog = new LogSqlHistoryDTO();
+        sqlLog.setWorkspaceId(data.getWorkspaceId());
+        sqlLog.setDatasourceId(data.getDataSourceId());
+        sqlLog.setSqlScript(sql);
+        String currentUser = client.get(CLIENT_USER);
+        sqlLog.setCreator(currentUser);
+        sqlLog.setEditor(currentUser);
+        sqlLog.setStartTime(LocalDateTime.now());
+        return sqlLog;
+    }
+
+    private boolean isDml(String sql) {
+        return startsWith(DML_PATTERN, sql);
+    }
+
+    private boolean isDdl(String sql) {
+        return startsWith(DDL_PATTERN, sql);
+    }
+
+    private boolean startsWith(Pattern keyword, String sql) {
+        Matcher matcher = keyword.matcher(sql);
+        matcher.region(skipLeadingComments(sql), sql.length());
+        return matcher.lookingAt();
+    }
+
+    private int skipLeadingComments(String sql) {
+        Matcher matcher = LEADING_COMMENT_PATTERN.matcher(sql);
+        return matcher.lookingAt() ? matcher.end() : 0;
+    }
+
+    /**
+     * schema named in the ddl statement without quotes, null when the object is not schema qualified
+     */
+    private String getDdlSchema(String sql) {
+        Matcher matcher = DDL_TARGET_PATTERN.matcher(sql);
+        if (!matcher.find(skipLeadingComments(sql))) {
+            return null;
+        }
+        List<String> parts = StrUtil.split(matcher.group(1), Constants.SEPARATOR_DOT, true, true);
+        return parts.isEmpty() ? null : parts.get(parts.size() - 1).replaceAll("[\"`\\[\\]]", "");
+    }
+
+    private long sumUpdateCount(int[] counts) {
+        long sum = 0L;
+        for (int count : counts) {
+            if (count > 0) {
+                sum += count;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * undo the auto commit change of a streaming statement, work of a failed statement is rolled back first
+     */
+    private void restoreAutoCommit(Connection conn, boolean autoCommit, boolean failed) {
+        try {
+            if (conn.getAutoCommit() != autoCommit) {
+                if (failed) {
+                    conn.rollback();
+                }
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("restore auto commit error : {}", e.getMessage());
+        }
+    }
+
+    private void rollbackSilently(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            log.error("rollback error : {}", e.getMessage());
+        }
+    }
+
     private DataListener<Object> onStopExec() {
         return (client, data, ackSender) -> {
-            String socketId = client.getSessionId().toString();
-            redisUtil.delKeys(socketId);
+            stopLocal(client.getSessionId());
             sendMsgEvent(client, "stop finished", EVENT_STOP);
         };
     }
 
+    /**
+     * drop the remaining statements and cancel the one running on database.
+     * if the script is not running on this node, the stop signal is published to the other nodes.
+     *
+     * @param sessionId socket session id
+     */
+    public void stop(UUID sessionId) {
+        if (!stopLocal(sessionId)) {
+            redisUtil.publish(Constants.CHANNEL_SQL_STOP, sessionId.toString());
+        }
+    }
+
+    /**
+     * @return null if socketId is not a socket session id
+     */
+    public static UUID parseSessionId(String socketId) {
+        if (StrUtil.isBlank(socketId)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(socketId.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean stopLocal(UUID sessionId) {
+        SqlScriptPlan plan = plans.get(sessionId);
+        if (Objects.isNull(plan)) {
+            return false;
+        }
+        plan.cancel();
+        return true;
+    }
+
+    private MessageListener onStopMessage() {
+        return (message, pattern) -> {
+            String socketId = new String(message.getBody(), StandardCharsets.UTF_8);
+            UUID sessionId = parseSessionId(socketId);
+            if (Objects.isNull(sessionId)) {
+                log.warn("invalid sql stop message ignored : {}", socketId);
+                return;
+            }
+            stopLocal(sessionId);
+        };
+    }
+
+    /**
+     * client pulls the next chunk of the open result set after it has rendered the previous one,
+     * so no more than one chunk per session is buffered on server side. the cursor is read on sqlExecutor.
+     */
+    private DataListener<String> onFetch() {
+        return (client, resultId, ackSender) -> dispatch(client, () -> {
+            SqlResultCursor cursor = cursors.get(client.getSessionId());
+            if (Objects.isNull(cursor) || !cursor.getId().equals(resultId)) {
+                ResultSetChunkVO chunk = new ResultSetChunkVO();
+                chunk.setId(resultId);
+                chunk.setData(Collections.emptyList());
+                chunk.setHasMore(false);
+                sendEvent(client, EVENT_RESULT_SET_CHUNK, chunk);
+                return;
+            }
+            sendChunkEvent(client, cursor);
+        });
+    }
+
+    /**
+     * page, sort and filter a result kept in the result cache without running the query again.
+     * the cached file is read on sqlExecutor.
+     */
+    private DataListener<DmsSqlResultQueryParam> onQuery() {
+        return (client, param, ackSender) -> dispatch(client, () ->
+                sendEvent(client, EVENT_RESULT_SET_CHUNK, sqlResultCache.query(client.get(CLIENT_USER), param)));
+    }
+
+    /**
+     * run work of a socket event on sqlExecutor, so socket.io worker threads only do io
+     */
+    private void dispatch(SocketIOClient client, Runnable task) {
+        try {
+            sqlExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            sendMsgEvent(client, StrUtil.format("[{}] sql console is busy, please retry later",
+                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN)), EVENT_ERROR);
+        }
+    }
+
+    private void sendChunkEvent(SocketIOClient client, SqlResultCursor cursor) {
+        try {
+            ResultSetChunkVO chunk = cursor.next(sqlExecConfig.getChunkSize());
+            if (cursor.isClosed()) {
+                cursors.remove(client.getSessionId(), cursor);
+            }
+            sendEvent(client, EVENT_RESULT_SET_CHUNK, chunk);
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            closeCursor(client);
+            sendMsgEvent(client, StrUtil.format("[{}] fetch result failed , {}",
+                    DateTimeUtil.toChar(LocalDateTime.now(), DateTimeUtil.NORMAL_DATETIME_PATTERN),
+                    e.getMessage()), EVENT_ERROR);
+        }
+    }
+
+    private void closeCursor(SocketIOClient client) {
+        SqlResultCursor cursor = cursors.remove(client.getSessionId());
+        if (Objects.nonNull(cursor)) {
+            cursor.close();
+        }
+    }
+
+    private void sendEvent(SocketIOClient client, String eventKey, Object data) {
+        SocketIOClient socketClient = namespace.getClient(client.getSessionId());
+        if (Objects.nonNull(socketClient)) {
+            socketClient.sendEvent(eventKey, data);
+        }
+    }
+
     private void sendResultSetEvent(SocketIOClient client, ResultSetVO result) {
-        namespace.getClient(client.getSessionId()).sendEvent(EVENT_RESULT_SET, result);
+        sendEvent(client, EVENT_RESULT_SET, result);
     }
 
     private void sendMsgEvent(SocketIOClient client, String msg, String eventKey) {
-        namespace.getClient(client.getSessionId()).sendEvent(eventKey, msg);
+        sendEvent(client, eventKey, msg);
     }
 
 }
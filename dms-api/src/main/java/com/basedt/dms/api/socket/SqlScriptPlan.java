@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.socket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * statements of a running console script kept in memory of the node that executes it.
+ * cancel() stops the remaining statements and the one running on database.
+ */
+@Slf4j
+public class SqlScriptPlan {
+
+    private Iterator<String> statements;
+
+    private volatile boolean cancelled = false;
+
+    private volatile Statement running;
+
+    public void setStatements(Iterator<String> statements) {
+        this.statements = statements;
+    }
+
+    public boolean hasNext() {
+        return !cancelled && Objects.nonNull(statements) && statements.hasNext();
+    }
+
+    public String next() {
+        return statements.next();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setRunning(Statement statement) {
+        this.running = statement;
+        if (cancelled && Objects.nonNull(statement)) {
+            cancelStatement(statement);
+        }
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+        Statement statement = this.running;
+        if (Objects.nonNull(statement)) {
+            cancelStatement(statement);
+        }
+    }
+
+    private void cancelStatement(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.error("cancel statement error : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.api.vo;
+
+import cn.hutool.json.JSONObject;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ResultSetChunkVO {
+
+    private String id;
+
+    /**
+     * index of the first row of this chunk in the whole result set
+     */
+    private Long offset;
+
+    private List<JSONObject> data;
+
+    /**
+     * rows of this chunk as arrow ipc stream when result is in arrow format
+     */
+    private byte[] arrow;
+
+    private Boolean hasMore;
+
+    /**
+     * matched row count of a cached result query
+     */
+    private Long total;
+
+}
@@ -17,26 +17,24 @@
  */
 package com.basedt.dms.api.vo;
 
-import cn.hutool.core.util.StrUtil;
-import cn.hutool.db.sql.SqlUtil;
 import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
-import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.DataType;
-import com.basedt.dms.common.utils.DateTimeUtil;
+import com.basedt.dms.plugins.datasource.utils.ArrowResultEncoder;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
-import org.apache.commons.beanutils.DynaBean;
-import org.apache.commons.beanutils.DynaProperty;
-import org.apache.commons.beanutils.ResultSetDynaClass;
 
-import java.sql.*;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 
 public class ResultSetVO {
 
+    public static final int MAX_ROWS = 10000;
+
     private String id;
 
     private String sql;
@@ -45,22 +43,57 @@ public class ResultSetVO {
 
     private List<JSONObject> data;
 
+    /**
+     * rows encoded as arrow ipc stream, set instead of data when client asks for arrow format
+     */
+    private byte[] arrow;
+
+    @JsonIgnore
+    private final transient ResultSetRowReader reader;
+
+    @JsonIgnore
+    private transient ArrowResultEncoder encoder;
+
     public ResultSetVO(ResultSet rs, Boolean editable) throws SQLException {
-        ResultSetDynaClass resultSetDynaClass = new ResultSetDynaClass(rs, true, true);
-        DynaProperty[] cols = resultSetDynaClass.getDynaProperties();
-        this.columns = new ArrayList<>(cols.length);
-        for (DynaProperty col : cols) {
+        this(rs, editable, false);
+    }
+
+    public ResultSetVO(ResultSet rs, Boolean editable, boolean arrow) throws SQLException {
+        this(new ResultSetRowReader(rs, arrow), editable);
+        if (arrow) {
+            this.arrow = fetchArrow(MAX_ROWS + 1);
+        } else {
+            this.data = fetch(MAX_ROWS + 1);
+        }
+    }
+
+    /**
+     * build column header only, rows are read by {@link #fetch(int)}
+     */
+    public ResultSetVO(ResultSetRowReader reader, Boolean editable) {
+        this.reader = reader;
+        List<ResultSetRowReader.Column> cols = reader.getColumns();
+        this.columns = new ArrayList<>(cols.size());
+        for (ResultSetRowReader.Column col : cols) {
             ColumnVO columnVO = new ColumnVO();
-            String name = formatColumnName(col.getName());
-            Class<?> type = col.getType();
+            String name = ResultSetRowReader.formatColumnName(col.getName());
             columnVO.setKey(name);
             columnVO.setTitle(name);
             columnVO.setDataIndex(name);
-            columnVO.setDataType(convertDataType(type));
+            columnVO.setDataType(convertDataType(col.getType()));
             columnVO.setIsReadOnly(!editable);
             this.columns.add(columnVO);
         }
-        this.data = convert2JsonNode(resultSetDynaClass.iterator());
+        this.data = new ArrayList<>();
+    }
+
+    /**
+     * result with rows already read, e.g. from a cached snapshot
+     */
+    public ResultSetVO(List<ColumnVO> columns, List<JSONObject> data) {
+        this.reader = null;
+        this.columns = columns;
+        this.data = data;
     }
 
     public List<ColumnVO> getColumns() {
@@ -79,6 +112,14 @@ public class ResultSetVO {
         this.data = data;
     }
 
+    public byte[] getArrow() {
+        return arrow;
+    }
+
+    public void setArrow(byte[] arrow) {
+        this.arrow = arrow;
+    }
+
     public String getId() {
         return id;
     }
@@ -95,82 +136,60 @@ public class ResultSetVO {
         this.sql = sql;
     }
 
+    public ResultSetRowReader getReader() {
+        return reader;
+    }
+
     private DataType convertDataType(Class<?> type) {
-        if (Long.class.getName().equals(type.getName())
-                || Integer.class.getName().equals(type.getName())
-                || Short.class.getName().equals(type.getName())
-                || Byte.class.getName().equals(type.getName())
-                || Float.class.getName().equals(type.getName())
-                || Double.class.getName().equals(type.getName())
+        if (Long.class.equals(type)
+                || Integer.class.equals(type)
+                || Short.class.equals(type)
+                || Byte.class.equals(type)
+                || Float.class.equals(type)
+                || Double.class.equals(type)
         ) {
             return DataType.NUMBER;
-        } else if (Boolean.class.getName().equals(type.getName())) {
+        } else if (Boolean.class.equals(type)) {
             return DataType.TEXT;
-        } else if (Timestamp.class.getName().equals(type.getName())) {
+        } else if (Timestamp.class.equals(type)) {
             return DataType.TIMESTAMP;
-        } else if (Date.class.getName().equals(type.getName())) {
+        } else if (Date.class.equals(type)) {
             return DataType.DATESTRING;
         }
         return DataType.TEXT;
     }
 
-    private List<JSONObject> convert2JsonNode(Iterator<DynaBean> iterator) {
+    /**
+     * read at most maxRows rows from the result set
+     */
+    public List<JSONObject> fetch(int maxRows) throws SQLException {
         List<JSONObject> resultList = new ArrayList<>();
-        while (iterator.hasNext()) {
-            DynaBean bean = iterator.next();
-            DynaProperty[] cols = bean.getDynaClass().getDynaProperties();
-            JSONObject node = JSONUtil.createObj();
-            for (DynaProperty col : cols) {
-                String colName = formatColumnName(col.getName());
-                if (col.getType().getName().equals(Timestamp.class.getName())) {
-                    Timestamp value = (Timestamp) bean.get(col.getName());
-                    if (Objects.isNull(value)) {
-                        node.set(colName, null);
-                    } else {
-                        node.set(colName, DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATETIME_MS_PATTERN));
-                    }
-                } else if (col.getType().getName().equals(Date.class.getName())) {
-                    Date value = (Date) bean.get(col.getName());
-                    if (Objects.isNull(value)) {
-                        node.set(colName, null);
-                    } else {
-                        node.set(colName, DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATE_PATTERN));
-                    }
-                } else if (col.getType().getName().equals(java.sql.Array.class.getName())) {
-                    Object value = bean.get(col.getName());
-                    if (Objects.isNull(value)) {
-                        node.set(colName, null);
-                    } else {
-                        node.set(colName, String.valueOf(value));
-                    }
-                } else if (col.getType().getName().equals("oracle.jdbc.OracleClob")) {
-                    Clob value = (Clob) bean.get(col.getName());
-                    if (Objects.isNull(value)) {
-                        node.set(colName, null);
-                    } else {
-                        node.set(colName, SqlUtil.clobToStr(value));
-                    }
-                } else {
-                    Object value = bean.get(col.getName());
-                    node.set(colName, value);
-                }
+        int colCount = this.columns.size();
+        while (resultList.size() < maxRows && reader.next()) {
+            Object[] row = reader.getRow();
+            JSONObject node = new JSONObject(colCount);
+            for (int i = 0; i < colCount; i++) {
+                node.set(this.columns.get(i).getDataIndex(), row[i]);
             }
             resultList.add(node);
-            if (resultList.size() > 10000) {
-                break;
-            }
         }
         return resultList;
     }
 
-    private String formatColumnName(String originName) {
-        if (StrUtil.isEmpty(originName)) {
-            return "";
-        } else if (originName.contains(Constants.SEPARATOR_DOT)) {
-            return StrUtil.subAfter(originName, Constants.SEPARATOR_DOT, false);
-        } else {
-            return originName;
+    /**
+     * read at most maxRows rows from the result set as one arrow record batch,
+     * the reader must be created with raw temporal values
+     */
+    public byte[] fetchArrow(int maxRows) throws SQLException {
+        return getEncoder().encode(reader, maxRows);
+    }
+
+    @JsonIgnore
+    public ArrowResultEncoder getEncoder() {
+        if (encoder == null) {
+            encoder = new ArrowResultEncoder(reader.getColumns());
         }
+        return encoder;
     }
 
 
@@ -168,6 +168,8 @@ values ('task_type', 'i', 'Import', '', 'sys', 'sys');
 insert into sys_dict(dict_type_code, dict_code, dict_value, remark, creator, editor)
 values ('task_type', 'e', 'Export', '', 'sys', 'sys');
 insert into sys_dict(dict_type_code, dict_code, dict_value, remark, creator, editor)
+values ('task_type', 'd', 'DDL Export', '', 'sys', 'sys');
+insert into sys_dict(dict_type_code, dict_code, dict_value, remark, creator, editor)
 values ('file_encoding', 'UTF-8', 'UTF-8', '', 'sys', 'sys');
 insert into sys_dict(dict_type_code, dict_code, dict_value, remark, creator, editor)
 values ('file_encoding', 'GBK', 'GBK', '', 'sys', 'sys');
@@ -657,3 +659,33 @@ create index idx_dms_data_task_type on dms_data_task (task_type, task_status);
 create index idx_dms_data_task_create_time on dms_data_task (create_time);
 create index idx_dms_data_task_creator on dms_data_task (creator);
 
+drop table if exists dms_meta_snapshot;
+create table dms_meta_snapshot
+(
+    id             serial primary key,
+    datasource_id  bigint       not null,
+    catalog_name   varchar(256) not null default '',
+    schema_name    varchar(256) not null default '',
+    object_name    varchar(256) not null default '',
+    object_type    varchar(32)  not null,
+    object_version varchar(256),
+    content        text,
+    creator        varchar(32)  not null,
+    create_time    timestamptz  not null default current_timestamp,
+    editor         varchar(32)  not null,
+    update_time    timestamptz  not null default current_timestamp
+);
+comment on table dms_meta_snapshot is 'dms crawled metadata snapshot';
+comment on column dms_meta_snapshot.id is 'auto increment primary key';
+comment on column dms_meta_snapshot.datasource_id is 'datasource id';
+comment on column dms_meta_snapshot.catalog_name is 'catalog name';
+comment on column dms_meta_snapshot.schema_name is 'schema name';
+comment on column dms_meta_snapshot.object_name is 'object name';
+comment on column dms_meta_snapshot.object_type is 'object type,CATALOG、SCHEMA、TABLE';
+comment on column dms_meta_snapshot.object_version is 'change marker read from database';
+comment on column dms_meta_snapshot.content is 'object detail in json';
+comment on column dms_meta_snapshot.creator is 'creator';
+comment on column dms_meta_snapshot.create_time is 'create time';
+comment on column dms_meta_snapshot.editor is 'editor';
+comment on column dms_meta_snapshot.update_time is 'update time';
+create unique index un_dms_meta_snapshot on dms_meta_snapshot (datasource_id, object_type, catalog_name, schema_name, object_name);
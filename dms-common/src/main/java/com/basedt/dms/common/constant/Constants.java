@@ -81,4 +81,12 @@ public class Constants {
 
     public static final String ARROW_MMAP_FILE_PATH = "arrow_mmap_file_";
 
+    public static final String CHANNEL_SQL_STOP = "dms:sql:stop";
+
+    public static final String CHANNEL_SQL_RESULT_INVALIDATE = "dms:sql:result:invalidate";
+
+    public static final String CHANNEL_META_EVICT = "dms:meta:evict";
+
+    public static final String CHANNEL_META_REINDEX = "dms:meta:reindex";
+
 }
@@ -25,7 +25,8 @@ import java.util.Objects;
 @Getter
 public enum TaskType {
     IMPORT("i", "Import"),
-    EXPORT("e", "Export");
+    EXPORT("e", "Export"),
+    DDL("d", "DDL Export");
 
     private final String value;
     private final String label;
@@ -157,4 +157,12 @@ public class RedisUtil {
             return redisTemplate.opsForList().size(key);
         }
     }
+
+    public void publish(String channel, String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
 }
@@ -45,4 +45,7 @@ public class TreeNodeVO {
     @Schema(name = "order", title = "order")
     private String order;
 
+    @Schema(name = "degraded", title = "degraded", description = "node children could not be loaded")
+    private Boolean degraded;
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.dao.entity.master.workspace;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.basedt.dms.dao.entity.BaseDO;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName(value = "dms_meta_snapshot", resultMap = "dmsMetaSnapshotMap")
+public class DmsMetaSnapshot extends BaseDO {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long datasourceId;
+
+    private String catalogName;
+
+    private String schemaName;
+
+    private String objectName;
+
+    private String objectType;
+
+    private String objectVersion;
+
+    private String content;
+
+}
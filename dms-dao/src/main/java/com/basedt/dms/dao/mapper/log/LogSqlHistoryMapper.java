@@ -19,10 +19,14 @@ package com.basedt.dms.dao.mapper.log;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.basedt.dms.dao.entity.log.LogSqlHistory;
+import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface LogSqlHistoryMapper extends BaseMapper<LogSqlHistory> {
 
+    int insertBatch(@Param("list") List<LogSqlHistory> list);
 
 }
@@ -19,13 +19,21 @@ package com.basedt.dms.plugins.core;
 
 import cn.hutool.core.util.StrUtil;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * plugins found by spi when the loader is created, keep one loader per plugin type
+ * instead of scanning classpath for each instance.
+ */
 public class PluginLoader<T extends Plugin> {
 
     private volatile Map<String, T> pluginMap = null;
 
+    private final Map<String, Constructor<T>> constructorMap = new ConcurrentHashMap<>();
+
     public PluginLoader(Class<T> clazz) {
         ServiceLoader<T> spiServices = ServiceLoader.load(clazz);
         Map<String, T> map = new HashMap<>();
@@ -36,54 +44,47 @@ public class PluginLoader<T extends Plugin> {
     }
 
     public T newInstance(String pluginName, Properties props) {
-        if (pluginMap.containsKey(pluginName)) {
-            T t = pluginMap.get(pluginName);
-            try {
-                final Class<T> clazz = (Class<T>) Class.forName(t.getClass().getName());
-                return clazz.getConstructor(Properties.class).newInstance(props);
-            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException |
-                     InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-            }
-        } else {
-            throw new UnsupportedOperationException(StrUtil.format("plugin {} is not supported", pluginName));
+        try {
+            return getConstructor(pluginName, Properties.class).newInstance(props);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
         }
     }
 
     public T newInstance(String pluginName, Map<String, Object> props) {
-        if (pluginMap.containsKey(pluginName)) {
-            T t = pluginMap.get(pluginName);
-            try {
-                final Class<T> clazz = (Class<T>) Class.forName(t.getClass().getName());
-                return clazz.getConstructor(Map.class).newInstance(props);
-            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException |
-                     InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-            }
-        } else {
-            throw new UnsupportedOperationException(StrUtil.format("plugin {} is not supported", pluginName));
+        try {
+            return getConstructor(pluginName, Map.class).newInstance(props);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
         }
     }
 
 
     public T newInstance(String pluginName, Object... props) {
-        if (pluginMap.containsKey(pluginName)) {
-            T t = pluginMap.get(pluginName);
-            try {
-                final Class<T> clazz = (Class<T>) Class.forName(t.getClass().getName());
-                Class<?>[] clazzInfo = getClazzInfo(props);
-                if (clazzInfo == null) {
-                    return clazz.getConstructor().newInstance();
-                } else {
-                    return clazz.getConstructor(clazzInfo).newInstance(props);
-                }
-            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException |
-                     InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
+        try {
+            Class<?>[] clazzInfo = getClazzInfo(props);
+            if (clazzInfo == null) {
+                return getConstructor(pluginName).newInstance();
+            } else {
+                return getConstructor(pluginName, clazzInfo).newInstance(props);
             }
-        } else {
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Constructor<T> getConstructor(String pluginName, Class<?>... parameterTypes) {
+        if (!pluginMap.containsKey(pluginName)) {
             throw new UnsupportedOperationException(StrUtil.format("plugin {} is not supported", pluginName));
         }
+        return constructorMap.computeIfAbsent(pluginName + Arrays.toString(parameterTypes), key -> {
+            try {
+                return (Constructor<T>) pluginMap.get(pluginName).getClass().getConstructor(parameterTypes);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     private Class<?>[] getClazzInfo(Object... props) {
@@ -19,31 +19,52 @@ package com.basedt.dms.plugins.datasource;
 
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.lang.TypeReference;
+import cn.hutool.core.util.NumberUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
 import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.common.utils.PropertiesUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
+import com.basedt.dms.plugins.datasource.param.InsertBatchParam;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
 import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.arrow.vector.ValueVector;
-import org.apache.arrow.vector.VarCharVector;
-import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
 
 import javax.sql.DataSource;
 import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -67,6 +88,15 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
 
     protected Map<String, String> attributes;
 
+    private volatile DataSource dataSource;
+
+    private final Map<Class<?>, Object> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * batches queued per writer while they insert
+     */
+    private static final int WRITER_QUEUE_FACTOR = 2;
+
     public AbstractDataSourcePlugin() {
     }
 
@@ -193,6 +223,23 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
         this.attributes = attributes;
     }
 
+    @Override
+    public Integer getQueryTimeout() {
+        return getIntAttribute(QUERY_TIMEOUT);
+    }
+
+    @Override
+    public Integer getMaxRows() {
+        return getIntAttribute(MAX_ROWS);
+    }
+
+    protected Integer getIntAttribute(String key) {
+        if (CollectionUtil.isEmpty(this.attributes) || !NumberUtil.isInteger(this.attributes.get(key))) {
+            return null;
+        }
+        return Integer.parseInt(this.attributes.get(key));
+    }
+
     @Override
     public Boolean testConnection() throws Exception {
         Connection conn = JdbcUtil.getConnection(getJdbcUrl(), getDriverClassName(), getUserName(), getPassword(), getJdbcProps());
@@ -201,7 +248,51 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
 
     @Override
     public DataSource getDataSource() {
-        return JdbcUtil.getDataSource(getDataSourceName(), getJdbcUrl(), getDriverClassName(), getUserName(), getPassword(), getJdbcProps());
+        if (Objects.isNull(this.dataSource)) {
+            this.dataSource = JdbcUtil.getDataSource(getDataSourceName(), getJdbcUrl(), getDriverClassName(), getUserName(), getPassword(), getJdbcProps(), getPoolProps());
+        }
+        return this.dataSource;
+    }
+
+    /**
+     * handlers are created on first use and shared by all callers of this plugin instance,
+     * they keep no state besides what they are initialized with.
+     * not computeIfAbsent because a handler factory may ask for another handler.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T getHandler(Class<T> type, Supplier<T> factory) {
+        Object handler = this.handlers.get(type);
+        if (Objects.isNull(handler)) {
+            T created = factory.get();
+            handler = this.handlers.putIfAbsent(type, created);
+            if (Objects.isNull(handler)) {
+                handler = created;
+            }
+        }
+        return (T) handler;
+    }
+
+    @Override
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.OLTP;
+    }
+
+    protected String getValidationQuery() {
+        return "select 1";
+    }
+
+    /**
+     * pool profile chosen in attributes or the default one of datasource type, overridden by pool attribute
+     */
+    protected Properties getPoolProps() {
+        PoolProfile profile = CollectionUtil.isEmpty(this.attributes) ? null : PoolProfile.of(this.attributes.get(POOL_PROFILE));
+        Properties props = (Objects.isNull(profile) ? getPoolProfile() : profile).toProperties();
+        props.setProperty("validationQuery", getValidationQuery());
+        if (CollectionUtil.isNotEmpty(this.attributes) && StrUtil.isNotBlank(this.attributes.get(POOL))) {
+            Map<String, Object> map = PropertiesUtil.formatToMap(this.attributes.get(POOL), Constants.LINE_FEED, Constants.SEPARATOR_EQUAL);
+            map.forEach((k, v) -> props.put(k.trim(), String.valueOf(v).trim()));
+        }
+        return props;
     }
 
     protected abstract String getJdbcUrl();
@@ -237,6 +328,11 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
         return false;
     }
 
+    @Override
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.GENERIC;
+    }
+
     @Override
     public void execute(String sql) throws SQLException {
         try (Connection conn = getDataSource().getConnection();
@@ -246,6 +342,18 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
         }
     }
 
+    @Override
+    public PreparedStatement prepareStreamingStatement(Connection conn, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    @Override
+    public void closeStreamingStatement(PreparedStatement ps, ResultSet rs, boolean exhausted) {
+        JdbcUtil.closeSilently(null, ps, rs);
+    }
+
     protected String generateInsertSql(List<String> columns, String schemaName, String tableName) {
         String sql = "insert into " + StrUtil.concat(true, schemaName, Constants.SEPARATOR_DOT, tableName);
         StringBuilder cols = new StringBuilder("(");
@@ -263,7 +371,69 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
     }
 
     @Override
-    public void insertBatch(ArrowStreamReader reader, String catalog, String schemaName, String tableName) throws SQLException, IOException {
+    public Schema getImportSchema(String catalog, String schemaName, String tableName) throws SQLException {
+        List<ColumnDTO> columns = this.getTableHandler().listColumnsByTable(catalog, schemaName, tableName);
+        List<Field> fields = new ArrayList<>();
+        for (ColumnDTO column : columns) {
+            fields.add(Field.nullable(column.getColumnName(), toArrowType(column)));
+        }
+        return new Schema(fields);
+    }
+
+    /**
+     * arrow type holding imported values of column. utf8 columns are bound by {@link #getStringBinder},
+     * so types without an exact arrow counterpart keep the dialect specific conversion.
+     */
+    protected ArrowType toArrowType(ColumnDTO column) {
+        if (Objects.isNull(column.getType())) {
+            return ArrowType.Utf8.INSTANCE;
+        }
+        switch (column.getType().type()) {
+            case BOOLEAN:
+                return ArrowType.Bool.INSTANCE;
+            case TINYINT:
+            case TINYINT_UNSIGNED:
+            case SMALLINT:
+            case SMALLINT_UNSIGNED:
+            case MEDIUMINT:
+            case MEDIUMINT_UNSIGNED:
+            case INTEGER:
+                return new ArrowType.Int(32, true);
+            case INTEGER_UNSIGNED:
+            case BIGINT:
+                return new ArrowType.Int(64, true);
+            case REAL:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case FLOAT:
+            case DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DECIMAL:
+            case NUMERIC:
+            case NUMBER:
+                Integer precision = column.getDataPrecision();
+                Integer scale = Objects.isNull(column.getDataScale()) ? 0 : column.getDataScale();
+                if (Objects.nonNull(precision) && precision > 0 && precision <= 38 && scale >= 0 && scale <= precision) {
+                    return new ArrowType.Decimal(precision, scale, 128);
+                }
+                return ArrowType.Utf8.INSTANCE;
+            case DATE:
+                return new ArrowType.Date(DateUnit.MILLISECOND);
+            case DATETIME:
+            case TIMESTAMP:
+            case TIMESTAMP_TZ:
+                return new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+            default:
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+
+    @Override
+    public void insertBatch(ArrowReader reader, String catalog, String schemaName, String tableName) throws SQLException, IOException {
+        insertBatch(reader, catalog, schemaName, tableName, new InsertBatchParam());
+    }
+
+    @Override
+    public void insertBatch(ArrowReader reader, String catalog, String schemaName, String tableName, InsertBatchParam param) throws SQLException, IOException {
         VectorSchemaRoot root = reader.getVectorSchemaRoot();
         Schema schema = root.getSchema();
         List<String> dataCols = schema.getFields().stream().map(Field::getName).toList();
@@ -277,29 +447,357 @@ public abstract class AbstractDataSourcePlugin implements DataSourcePlugin {
             return false;
         }).toList();
         String sql = generateInsertSql(columns.stream().map(ColumnDTO::getColumnName).collect(Collectors.toList()), schemaName, tableName);
+        // every writer holds a connection, leave the rest of the pool to other users
+        int writers = Math.min(param.getParallelism(), Math.max(1, DataSourcePoolRegistry.getMaxActive(getDataSource()) / 2));
+        int commitInterval = Math.max(1, param.getCommitInterval());
+        if (writers <= 1) {
+            insertSerial(reader, columns, sql, commitInterval);
+        } else {
+            log.info("insert into table {} by {} writers, ordered: {}", tableName, writers, param.isOrdered());
+            insertParallel(reader, columns, sql, writers, param.isOrdered(), commitInterval);
+        }
+    }
+
+    private void insertSerial(ArrowReader reader, List<ColumnDTO> columns, String sql, int commitInterval) throws SQLException, IOException {
+        // the root and its vectors are reused by every batch of the reader
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        ColumnBinder[] binders = getColumnBinders(columns, root);
         try (Connection conn = getDataSource().getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             conn.setAutoCommit(false);
+            int pending = 0;
             while (reader.loadNextBatch()) {
-                for (int rowNum = 0; rowNum < root.getRowCount(); rowNum++) {
-                    int columnIndex = 1;
-                    for (ColumnDTO column : columns) {
-                        ValueVector vector = root.getVector(column.getColumnName());
-                        byte[] strByte = ((VarCharVector) vector).get(rowNum);
-                        String value = new String(strByte);
-                        setColumnValue(ps, column, value, columnIndex);
-                        columnIndex++;
-                    }
-                    ps.addBatch();
-                }
+                addRows(ps, binders, root.getRowCount());
                 ps.executeBatch();
-                conn.commit();
+                if (++pending >= commitInterval) {
+                    conn.commit();
+                    pending = 0;
+                }
             }
+            conn.commit();
         } catch (ParseException e) {
             throw new IOException(e.getMessage());
         }
     }
 
-    protected abstract void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException;
+    /**
+     * batches are moved out of the reader root into a bounded queue, so reading goes on while writers insert.
+     * in ordered mode each writer keeps the file order of its own batches, batches of different writers are
+     * inserted concurrently and not ordered against each other.
+     * once the reader or a writer fails, the others stop at their next batch.
+     */
+    private void insertParallel(ArrowReader reader, List<ColumnDTO> columns, String sql, int writers, boolean ordered, int commitInterval) throws SQLException, IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        VectorSchemaRoot end = new VectorSchemaRoot(new ArrayList<>());
+        List<BlockingQueue<VectorSchemaRoot>> queues = new ArrayList<>();
+        if (ordered) {
+            for (int i = 0; i < writers; i++) {
+                queues.add(new ArrayBlockingQueue<>(WRITER_QUEUE_FACTOR));
+            }
+        } else {
+            queues.add(new ArrayBlockingQueue<>(writers * WRITER_QUEUE_FACTOR));
+        }
+        AtomicBoolean failed = new AtomicBoolean(false);
+        AtomicInteger threadNum = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(writers, r -> {
+            Thread thread = new Thread(r, "Batch-writer-" + dataSourceName + "-" + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < writers; i++) {
+                BlockingQueue<VectorSchemaRoot> queue = queues.get(ordered ? i : 0);
+                futures.add(executor.submit(() -> {
+                    try {
+                        writeQueue(queue, end, failed, columns, sql, commitInterval);
+                    } catch (Exception e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            long batchNum = 0;
+            while (!failed.get() && reader.loadNextBatch()) {
+                offer(queues.get(ordered ? (int) (batchNum % writers) : 0), transfer(root), failed);
+                batchNum++;
+            }
+            for (int i = 0; i < writers && !failed.get(); i++) {
+                offer(queues.get(ordered ? i : 0), end, failed);
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            failed.set(true);
+            executor.shutdownNow();
+            // release batches left behind by a failed writer
+            for (BlockingQueue<VectorSchemaRoot> queue : queues) {
+                VectorSchemaRoot batch;
+                while (Objects.nonNull(batch = queue.poll())) {
+                    batch.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * waiting for space in the queue gives up once the import failed, the failure is reported by its writer
+     */
+    private void offer(BlockingQueue<VectorSchemaRoot> queue, VectorSchemaRoot batch, AtomicBoolean failed) throws InterruptedException {
+        try {
+            while (!queue.offer(batch, 1, java.util.concurrent.TimeUnit.SECONDS)) {
+                if (failed.get()) {
+                    batch.close();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            batch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * the first batch taken becomes the root of the writer and later batches are moved into it,
+     * so column binders are resolved once per writer
+     */
+    private void writeQueue(BlockingQueue<VectorSchemaRoot> queue, VectorSchemaRoot end, AtomicBoolean failed, List<ColumnDTO> columns, String sql, int commitInterval) throws SQLException, ParseException, InterruptedException {
+        VectorSchemaRoot rows = null;
+        ColumnBinder[] binders = null;
+        try (Connection conn = getDataSource().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            int pending = 0;
+            while (true) {
+                if (failed.get()) {
+                    conn.rollback();
+                    return;
+                }
+                VectorSchemaRoot batch = queue.poll(1, java.util.concurrent.TimeUnit.SECONDS);
+                if (Objects.isNull(batch)) {
+                    continue;
+                } else if (batch == end) {
+                    break;
+                }
+                if (Objects.isNull(rows)) {
+                    rows = batch;
+                    binders = getColumnBinders(columns, rows);
+                } else {
+                    moveInto(batch, rows);
+                }
+                addRows(ps, binders, rows.getRowCount());
+                ps.executeBatch();
+                if (++pending >= commitInterval) {
+                    conn.commit();
+                    pending = 0;
+                }
+            }
+            conn.commit();
+        } finally {
+            if (Objects.nonNull(rows)) {
+                rows.close();
+            }
+        }
+    }
+
+    /**
+     * moves the buffers of batch into the vectors of rows, both have the schema of the reader
+     */
+    private void moveInto(VectorSchemaRoot batch, VectorSchemaRoot rows) {
+        try (batch) {
+            for (int i = 0; i < rows.getFieldVectors().size(); i++) {
+                batch.getVector(i).makeTransferPair(rows.getVector(i)).transfer();
+            }
+            rows.setRowCount(batch.getRowCount());
+        }
+    }
+
+    /**
+     * moves the buffers of the loaded batch into a new root, the reader loads the next batch into fresh buffers
+     */
+    private VectorSchemaRoot transfer(VectorSchemaRoot root) {
+        List<FieldVector> vectors = new ArrayList<>();
+        for (FieldVector vector : root.getFieldVectors()) {
+            TransferPair pair = vector.getTransferPair(vector.getAllocator());
+            pair.transfer();
+            vectors.add((FieldVector) pair.getTo());
+        }
+        VectorSchemaRoot batch = new VectorSchemaRoot(vectors);
+        batch.setRowCount(root.getRowCount());
+        return batch;
+    }
+
+    private ColumnBinder[] getColumnBinders(List<ColumnDTO> columns, VectorSchemaRoot root) {
+        ColumnBinder[] binders = new ColumnBinder[columns.size()];
+        for (int i = 0; i < binders.length; i++) {
+            ColumnDTO column = columns.get(i);
+            binders[i] = getColumnBinder(column, root.getVector(column.getColumnName()), i + 1);
+        }
+        return binders;
+    }
+
+    private void addRows(PreparedStatement ps, ColumnBinder[] binders, int rowCount) throws SQLException, ParseException {
+        for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+            for (ColumnBinder binder : binders) {
+                binder.bind(ps, rowNum);
+            }
+            ps.addBatch();
+        }
+    }
+
+    /**
+     * typed vectors are bound with primitive setters, utf8 values are converted by {@link #getStringBinder}
+     */
+    protected ColumnBinder getColumnBinder(ColumnDTO column, FieldVector vector, int columnIndex) {
+        switch (vector.getMinorType()) {
+            case VARCHAR:
+                return getStringBinder(column, (VarCharVector) vector, columnIndex);
+            case BIGINT:
+                BigIntVector bigIntVector = (BigIntVector) vector;
+                return (ps, rowNum) -> {
+                    if (bigIntVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.BIGINT);
+                    } else {
+                        ps.setLong(columnIndex, bigIntVector.get(rowNum));
+                    }
+                };
+            case INT:
+                IntVector intVector = (IntVector) vector;
+                return (ps, rowNum) -> {
+                    if (intVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.INTEGER);
+                    } else {
+                        ps.setInt(columnIndex, intVector.get(rowNum));
+                    }
+                };
+            case FLOAT8:
+                Float8Vector float8Vector = (Float8Vector) vector;
+                return (ps, rowNum) -> {
+                    if (float8Vector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.DOUBLE);
+                    } else {
+                        ps.setDouble(columnIndex, float8Vector.get(rowNum));
+                    }
+                };
+            case FLOAT4:
+                Float4Vector float4Vector = (Float4Vector) vector;
+                return (ps, rowNum) -> {
+                    if (float4Vector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.REAL);
+                    } else {
+                        ps.setFloat(columnIndex, float4Vector.get(rowNum));
+                    }
+                };
+            case DECIMAL:
+                DecimalVector decimalVector = (DecimalVector) vector;
+                return (ps, rowNum) -> {
+                    if (decimalVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.DECIMAL);
+                    } else {
+                        ps.setBigDecimal(columnIndex, decimalVector.getObject(rowNum));
+                    }
+                };
+            case BIT:
+                BitVector bitVector = (BitVector) vector;
+                return (ps, rowNum) -> {
+                    if (bitVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.BOOLEAN);
+                    } else {
+                        ps.setBoolean(columnIndex, bitVector.get(rowNum) == 1);
+                    }
+                };
+            case TIMESTAMPMILLI:
+                TimeStampMilliVector timeStampVector = (TimeStampMilliVector) vector;
+                return (ps, rowNum) -> {
+                    if (timeStampVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.TIMESTAMP);
+                    } else {
+                        ps.setTimestamp(columnIndex, new Timestamp(timeStampVector.get(rowNum)));
+                    }
+                };
+            case DATEMILLI:
+                DateMilliVector dateVector = (DateMilliVector) vector;
+                return (ps, rowNum) -> {
+                    if (dateVector.isNull(rowNum)) {
+                        ps.setNull(columnIndex, Types.DATE);
+                    } else {
+                        ps.setDate(columnIndex, new Date(dateVector.get(rowNum)));
+                    }
+                };
+            default:
+                return (ps, rowNum) -> ps.setObject(columnIndex, vector.getObject(rowNum));
+        }
+    }
+
+    protected static final StringSetter STRING = PreparedStatement::setString;
+
+    protected static final StringSetter SMALLINT = nullIfBlank(Types.SMALLINT, (ps, columnIndex, value) -> ps.setShort(columnIndex, Short.parseShort(value.trim())));
+
+    protected static final StringSetter INTEGER = nullIfBlank(Types.INTEGER, (ps, columnIndex, value) -> ps.setInt(columnIndex, Integer.parseInt(value.trim())));
+
+    protected static final StringSetter BIGINT = nullIfBlank(Types.BIGINT, (ps, columnIndex, value) -> ps.setLong(columnIndex, Long.parseLong(value.trim())));
+
+    protected static final StringSetter REAL = nullIfBlank(Types.REAL, (ps, columnIndex, value) -> ps.setFloat(columnIndex, Float.parseFloat(value.trim())));
+
+    protected static final StringSetter DOUBLE = nullIfBlank(Types.DOUBLE, (ps, columnIndex, value) -> ps.setDouble(columnIndex, Double.parseDouble(value.trim())));
+
+    protected static final StringSetter DECIMAL = nullIfBlank(Types.DECIMAL, (ps, columnIndex, value) -> ps.setBigDecimal(columnIndex, new BigDecimal(value.trim())));
+
+    protected static final StringSetter BOOLEAN = nullIfBlank(Types.BOOLEAN, (ps, columnIndex, value) -> ps.setBoolean(columnIndex, "1".equals(value.trim()) || Boolean.parseBoolean(value.trim())));
+
+    protected static final StringSetter DATE = nullIfBlank(Types.DATE, (ps, columnIndex, value) -> {
+        Long dValue = DateTimeUtil.toTimeStamp(value);
+        ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
+    });
+
+    protected static final StringSetter TIMESTAMP = nullIfBlank(Types.TIMESTAMP, (ps, columnIndex, value) -> {
+        Long tValue = DateTimeUtil.toTimeStamp(value);
+        ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
+    });
+
+    protected static final StringSetter TIME = nullIfBlank(Types.TIME, (ps, columnIndex, value) -> {
+        Long tValue = DateTimeUtil.toTimeStamp(value);
+        ps.setTime(columnIndex, Objects.isNull(tValue) ? null : new Time(tValue));
+    });
+
+    /**
+     * blank values are bound as null of sqlType, others by setter
+     */
+    protected static StringSetter nullIfBlank(int sqlType, StringSetter setter) {
+        return (ps, columnIndex, value) -> {
+            if (StrUtil.isBlank(value)) {
+                ps.setNull(columnIndex, sqlType);
+            } else {
+                setter.set(ps, columnIndex, value);
+            }
+        };
+    }
+
+    /**
+     * utf8 values are bound as strings. dialects override this to pick the {@link StringSetter} of their
+     * non character types from the column's data type, once per column.
+     */
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        return bindString(vector, columnIndex, STRING);
+    }
+
+    protected ColumnBinder bindString(VarCharVector vector, int columnIndex, StringSetter setter) {
+        return (ps, rowNum) -> setter.set(ps, columnIndex, getString(vector, rowNum));
+    }
+
+    private String getString(VarCharVector vector, int rowNum) {
+        byte[] strByte = vector.get(rowNum);
+        return Objects.isNull(strByte) ? null : new String(strByte, StandardCharsets.UTF_8);
+    }
 
 }
@@ -18,10 +18,17 @@
 package com.basedt.dms.plugins.datasource;
 
 import com.basedt.dms.plugins.core.Plugin;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
+import com.basedt.dms.plugins.datasource.param.InsertBatchParam;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.Schema;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +38,20 @@ public interface DataSourcePlugin extends Plugin {
 
     String JDBC = "jdbc";
 
+    String QUERY_TIMEOUT = "queryTimeout";
+
+    String MAX_ROWS = "maxRows";
+
+    /**
+     * attribute key of pool profile name, see {@link PoolProfile}
+     */
+    String POOL_PROFILE = "poolProfile";
+
+    /**
+     * attribute key of druid pool properties overriding the profile, one key=value per line
+     */
+    String POOL = "pool";
+
 //    List<String> STD_SQL_TYPES_AND_ALIAS = Arrays.asList("char", "varchar", "text", "nchar", "bigint", "int", "integer", "smallint", "decimal", "numeric", "float", "real", "double precision", "date", "time", "timestamp", "bit", "boolean");
 
     String getDataSourceName();
@@ -65,6 +86,16 @@ public interface DataSourcePlugin extends Plugin {
 
     void setAttributes(Map<String, String> attributes);
 
+    /**
+     * query timeout in seconds for sql console statements, null if not configured
+     */
+    Integer getQueryTimeout();
+
+    /**
+     * max rows returned by sql console statements, null if not configured
+     */
+    Integer getMaxRows();
+
     DataSource getDataSource();
 
     Boolean testConnection() throws Exception;
@@ -87,8 +118,45 @@ public interface DataSourcePlugin extends Plugin {
 
     Boolean isSupportRowEdit();
 
+    /**
+     * lexical rules to split sql scripts of this datasource
+     */
+    SqlDialect getSqlDialect();
+
+    /**
+     * default connection pool profile of this datasource type
+     */
+    PoolProfile getPoolProfile();
+
     void execute(String sql) throws SQLException;
 
-    void insertBatch(ArrowStreamReader reader, String catalog, String schemaName, String tableName) throws SQLException, IOException;
+    /**
+     * prepare a sql console statement whose rows are fetched from database in chunks of fetchSize while its
+     * result set is open, instead of being buffered by the driver.
+     * auto commit may be turned off on conn for it, the caller restores it after the statement is closed
+     */
+    PreparedStatement prepareStreamingStatement(Connection conn, String sql, int fetchSize) throws SQLException;
+
+    /**
+     * close a statement prepared by {@link #prepareStreamingStatement}
+     *
+     * @param exhausted whether all rows of the result set were read
+     */
+    void closeStreamingStatement(PreparedStatement ps, ResultSet rs, boolean exhausted);
+
+    /**
+     * arrow schema of table columns used to parse imported files into typed vectors
+     */
+    Schema getImportSchema(String catalog, String schemaName, String tableName) throws SQLException;
+
+    /**
+     * insert rows of every batch of reader into table, committed batch by batch
+     */
+    void insertBatch(ArrowReader reader, String catalog, String schemaName, String tableName) throws SQLException, IOException;
+
+    /**
+     * insert rows of every batch of reader into table by parallel writers while the next batches are read
+     */
+    void insertBatch(ArrowReader reader, String catalog, String schemaName, String tableName, InsertBatchParam param) throws SQLException, IOException;
 
 }
@@ -17,22 +17,54 @@
  */
 package com.basedt.dms.plugins.datasource;
 
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import cn.hutool.json.JSONUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginLoader;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DataSourcePluginManager {
 
+    private static final PluginLoader<DataSourcePlugin> LOADER = new PluginLoader<>(DataSourcePlugin.class);
+
+    /**
+     * configured plugin of each registered datasource, keyed by datasource name
+     */
+    private static final Map<String, CachedPlugin> INSTANCES = new ConcurrentHashMap<>();
+
     public static DataSourcePlugin newInstance(PluginInfo pluginInfo, Properties props) {
         return newInstance(pluginInfo.getPluginName(), props);
     }
 
     public static DataSourcePlugin newInstance(String pluginName, Properties props) {
-        PluginLoader<DataSourcePlugin> loader = new PluginLoader<>(DataSourcePlugin.class);
-        return loader.newInstance(pluginName, props);
+        return LOADER.newInstance(pluginName, props);
+    }
+
+    /**
+     * plugin of a registered datasource, created once and reused until its settings change
+     */
+    public static DataSourcePlugin getInstance(String pluginName, Properties props) {
+        String name = props.getProperty("dataSourceName");
+        // String.valueOf of a missing id gives "null", such a plugin must not be cached under a shared key
+        if (StrUtil.isBlank(name) || "null".equals(name)) {
+            return newInstance(pluginName, props);
+        }
+        String fingerprint = SecureUtil.sha256(pluginName + "\n" + new TreeMap<>(props));
+        CachedPlugin cached = INSTANCES.compute(name, (key, old) ->
+                Objects.nonNull(old) && old.fingerprint.equals(fingerprint) ? old : new CachedPlugin(newInstance(pluginName, props), fingerprint));
+        return cached.plugin;
+    }
+
+    public static void invalidate(String dataSourceName) {
+        if (Objects.nonNull(dataSourceName)) {
+            INSTANCES.remove(dataSourceName);
+        }
     }
 
     public static DataSourcePlugin newInstance(PluginInfo pluginInfo, String dataSourceName, String hostName, Integer port, String databaseName, String userName, String password, Map<String, String> attributes) {
@@ -51,4 +83,16 @@ public class DataSourcePluginManager {
         return newInstance(pluginName, props);
     }
 
+    private static class CachedPlugin {
+
+        private final DataSourcePlugin plugin;
+
+        private final String fingerprint;
+
+        CachedPlugin(DataSourcePlugin plugin, String fingerprint) {
+            this.plugin = plugin;
+            this.fingerprint = fingerprint;
+        }
+    }
+
 }
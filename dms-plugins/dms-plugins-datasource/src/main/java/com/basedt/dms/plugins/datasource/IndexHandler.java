@@ -40,6 +40,16 @@ public interface IndexHandler {
 
     List<ObjectDTO> listFkByTable(String catalog, String schemaPattern, String tableName) throws SQLException;
 
+    /**
+     * indexes of every table in schema with one catalog query, table name as key.
+     * return null when database can only list indexes table by table.
+     */
+    Map<String, List<IndexDTO>> listIndexesBySchema(String catalog, String schema) throws SQLException;
+
+    Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException;
+
+    Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException;
+
     void dropIndex(String schema, String tableName, String indexName) throws SQLException;
 
     void renameIndex(String schema, String tableName, String indexName, String newName) throws SQLException;
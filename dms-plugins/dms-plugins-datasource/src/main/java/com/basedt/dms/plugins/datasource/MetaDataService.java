@@ -38,6 +38,11 @@ public interface MetaDataService {
 
     List<CatalogDTO> listSchemas(DataSourceDTO dataSourceDTO) throws DmsException;
 
+    /**
+     * read catalog and schemas from database, bypassing cache and snapshot
+     */
+    List<CatalogDTO> loadSchemas(DataSourcePlugin dataSourcePlugin) throws SQLException;
+
     List<Tree<String>> listSchemasTree(DataSourceDTO dataSourceDTO) throws DmsException;
 
     List<String> listObjectType(DataSourceDTO dataSourceDTO) throws DmsException;
@@ -46,6 +51,19 @@ public interface MetaDataService {
 
     DataSourcePlugin getDataSourcePluginInstance(DataSourceDTO dataSourceDTO);
 
+    /**
+     * drop cached metadata of datasource, next browsing reloads it from database
+     */
+    void refresh(DataSourceDTO dataSourceDTO);
+
+    void evictCache(String dataSourceName);
+
+    /**
+     * drop cached metadata of one schema, whose catalog is looked up by name.
+     * the whole datasource is dropped when the schema is not known.
+     */
+    void evictSchemaCache(String dataSourceName, String schema);
+
     List<TypeInfoDTO> listTypeInfo(DataSourceDTO dataSourceDTO) throws DmsException;
 
     TableDTO getTableInfo(DataSourceDTO dataSource, String catalog, String schemaName, String tableName) throws DmsException;
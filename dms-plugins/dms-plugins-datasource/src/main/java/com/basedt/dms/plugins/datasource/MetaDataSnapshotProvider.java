@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource;
+
+import com.basedt.dms.plugins.datasource.dto.CatalogDTO;
+import com.basedt.dms.plugins.datasource.dto.TableDTO;
+
+import java.util.List;
+
+/**
+ * read side of the crawled metadata snapshot.
+ * every method returns null when the datasource or schema has no valid snapshot,
+ * callers then fall back to live catalog queries.
+ */
+public interface MetaDataSnapshotProvider {
+
+    List<CatalogDTO> listSchemas(String dataSourceName);
+
+    List<TableDTO> listTables(String dataSourceName, String catalog, String schema);
+
+    TableDTO getTable(String dataSourceName, String catalog, String schema, String tableName);
+
+    /**
+     * mark snapshot of the schema, or of the whole datasource when schema is empty, as outdated.
+     * crawled tables are kept so that the next crawl still only reads the changed ones.
+     */
+    void evict(String dataSourceName, String catalog, String schema);
+
+    /**
+     * crawl the evicted schema, or the whole datasource when schema is empty, again in background
+     */
+    void refresh(String dataSourceName, String catalog, String schema);
+}
@@ -45,12 +45,30 @@ public interface TableHandler {
 
     List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) throws SQLException;
 
+    /**
+     * columns of every table in schema with one catalog query, table name as key
+     */
+    Map<String, List<ColumnDTO>> listColumnsBySchema(String catalog, String schema) throws SQLException;
+
+    /**
+     * cheap change marker of every table in schema, table name as key.
+     * a table whose marker is unchanged since last crawl does not need to be read again.
+     * return null when database has no such marker.
+     */
+    Map<String, String> listTableVersions(String catalog, String schema) throws SQLException;
+
     String getDropDDL(String schema, String tableName) throws SQLException;
 
     String getRenameDDL(String schema, String tableName, String newName) throws SQLException;
 
     String getTableDDL(String catalog, String schema, String tableName) throws SQLException;
 
+    /**
+     * ddl of every table in schema built from schema level catalog queries, table name as key.
+     * return null when database renders table ddl itself and it has to be read table by table.
+     */
+    Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException;
+
     String getTableDDL(TableDTO table) throws SQLException;
 
     String getTableDDL(TableDTO originTable, TableDTO table) throws SQLException;
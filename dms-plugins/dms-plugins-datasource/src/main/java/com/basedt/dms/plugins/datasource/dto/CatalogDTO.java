@@ -35,6 +35,11 @@ public class CatalogDTO implements Serializable {
 
     private List<SchemaDTO> schemas;
 
+    /**
+     * schemas of catalog failed to load in time, schemas is empty
+     */
+    private Boolean degraded;
+
     public CatalogDTO() {
     }
 
@@ -52,6 +57,7 @@ public class CatalogDTO implements Serializable {
         vo.setParentKey(DigestUtil.md5Hex(Constants.ROOT_CATALOG_CODE));
         vo.setIsLeaf(false);
         vo.setOrder(keyStr);
+        vo.setDegraded(degraded);
         return vo;
     }
 }
@@ -25,6 +25,7 @@ import lombok.Data;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 
 @Data
@@ -59,7 +60,10 @@ public class DataSourceDTO {
 
     public Properties toProperties() {
         Properties props = new Properties();
-        props.put("dataSourceName", String.valueOf(this.id));
+        // a datasource not saved yet has no name, so its plugin and pool are not shared
+        if (Objects.nonNull(this.id)) {
+            props.put("dataSourceName", String.valueOf(this.id));
+        }
         props.put("hostName", this.hostName);
         props.put("port", this.port);
         props.put("databaseName", this.databaseName);
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.enums;
+
+import lombok.Getter;
+
+import java.util.Properties;
+
+/**
+ * connection pool defaults by workload of datasource type.
+ * all profiles warm up lazily with no idle connection kept, single values can be overridden per datasource.
+ */
+@Getter
+public enum PoolProfile {
+
+    OLTP(20, 1800, true, 20, 30000),
+
+    MPP(10, 3600, false, 0, 60000),
+
+    /**
+     * hive sessions are expensive and queries may run for hours
+     */
+    HIVE(5, 7200, false, 0, 120000);
+
+    private final int maxActive;
+
+    /**
+     * seconds before a borrowed connection is treated as leaked
+     */
+    private final int removeAbandonedTimeout;
+
+    private final boolean poolPreparedStatements;
+
+    private final int maxPreparedStatementPerConnection;
+
+    private final int maxWait;
+
+    PoolProfile(int maxActive, int removeAbandonedTimeout, boolean poolPreparedStatements, int maxPreparedStatementPerConnection, int maxWait) {
+        this.maxActive = maxActive;
+        this.removeAbandonedTimeout = removeAbandonedTimeout;
+        this.poolPreparedStatements = poolPreparedStatements;
+        this.maxPreparedStatementPerConnection = maxPreparedStatementPerConnection;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * druid properties of this profile
+     */
+    public Properties toProperties() {
+        Properties props = new Properties();
+        props.setProperty("initialSize", "0");
+        props.setProperty("minIdle", "0");
+        props.setProperty("maxActive", String.valueOf(maxActive));
+        props.setProperty("maxWait", String.valueOf(maxWait));
+        props.setProperty("removeAbandoned", "true");
+        props.setProperty("removeAbandonedTimeout", String.valueOf(removeAbandonedTimeout));
+        props.setProperty("poolPreparedStatements", String.valueOf(poolPreparedStatements));
+        if (poolPreparedStatements) {
+            props.setProperty("maxOpenPreparedStatements", String.valueOf(maxPreparedStatementPerConnection));
+        }
+        props.setProperty("testWhileIdle", "true");
+        props.setProperty("testOnBorrow", "false");
+        props.setProperty("timeBetweenEvictionRunsMillis", "60000");
+        props.setProperty("minEvictableIdleTimeMillis", "300000");
+        return props;
+    }
+
+    public static PoolProfile of(String name) {
+        for (PoolProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.enums;
+
+import lombok.Getter;
+
+import java.util.regex.Pattern;
+
+/**
+ * lexical rules used to split sql scripts into statements
+ */
+@Getter
+public enum SqlDialect {
+
+    GENERIC(false, false, false, false, false, false, false, false, null, null),
+
+    MYSQL(true, true, false, true, false, false, false, true, null, null),
+
+    POSTGRESQL(false, false, false, false, true, true, true, false, null, null),
+
+    /**
+     * pl/sql blocks are terminated by a line containing only a slash, like sql*plus does
+     */
+    ORACLE(false, false, false, false, false, false, false, false,
+            Pattern.compile("(DECLARE|BEGIN|CREATE\\s+(OR\\s+REPLACE\\s+)?((NON)?EDITIONABLE\\s+)?(PROCEDURE|FUNCTION|PACKAGE|TRIGGER|TYPE))\\b",
+                    Pattern.CASE_INSENSITIVE), "/"),
+
+    /**
+     * procedure bodies are terminated by GO batch separator
+     */
+    MSSQL(false, false, true, false, false, false, false, false,
+            Pattern.compile("(CREATE|ALTER|CREATE\\s+OR\\s+ALTER)\\s+(PROCEDURE|PROC|FUNCTION|TRIGGER)\\b",
+                    Pattern.CASE_INSENSITIVE), "GO"),
+
+    HIVE(true, true, false, false, false, false, false, false, null, null),
+
+    CLICKHOUSE(true, true, false, true, false, false, false, false, null, null);
+
+    private final boolean backslashEscape;
+
+    private final boolean backtickQuote;
+
+    private final boolean bracketQuote;
+
+    private final boolean hashComment;
+
+    private final boolean dollarQuote;
+
+    private final boolean nestedComment;
+
+    /**
+     * E'...' strings accept backslash escapes
+     */
+    private final boolean escapeString;
+
+    private final boolean delimiterCommand;
+
+    private final Pattern blockPattern;
+
+    private final String blockTerminator;
+
+    SqlDialect(boolean backslashEscape, boolean backtickQuote, boolean bracketQuote, boolean hashComment, boolean dollarQuote,
+               boolean nestedComment, boolean escapeString, boolean delimiterCommand, Pattern blockPattern, String blockTerminator) {
+        this.backslashEscape = backslashEscape;
+        this.backtickQuote = backtickQuote;
+        this.bracketQuote = bracketQuote;
+        this.hashComment = hashComment;
+        this.dollarQuote = dollarQuote;
+        this.nestedComment = nestedComment;
+        this.escapeString = escapeString;
+        this.delimiterCommand = delimiterCommand;
+        this.blockPattern = blockPattern;
+        this.blockTerminator = blockTerminator;
+    }
+}
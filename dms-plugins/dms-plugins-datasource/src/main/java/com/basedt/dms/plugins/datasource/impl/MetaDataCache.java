@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.impl;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.common.utils.RedisUtil;
+import com.basedt.dms.plugins.datasource.enums.DbObjectType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * two tier cache of metadata lists keyed by datasource, object type and identifier.
+ * the local tier is a caffeine cache, the optional redis tier is shared by all nodes.
+ * evictions are broadcast so that the local tier of other nodes is dropped too.
+ */
+@Slf4j
+@Component
+public class MetaDataCache {
+
+    private static final String KEY_PREFIX = "dms:meta:";
+
+    private final Cache<String, List<?>> cache;
+
+    private final RedisUtil redisUtil;
+
+    private final long ttl;
+
+    private final boolean redisEnabled;
+
+    public MetaDataCache(ObjectProvider<RedisUtil> redisUtil,
+                         @Qualifier("springSessionRedisMessageListenerContainer") ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                         @Value("${dms.metadata.cache.ttl:600}") long ttl,
+                         @Value("${dms.metadata.cache.maxSize:10000}") long maxSize,
+                         @Value("${dms.metadata.cache.redisEnabled:false}") boolean redisEnabled) {
+        this.redisUtil = redisUtil.getIfAvailable();
+        this.ttl = ttl;
+        this.redisEnabled = redisEnabled && Objects.nonNull(this.redisUtil);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .build();
+        listenerContainer.ifAvailable(container ->
+                container.addMessageListener(onEvictMessage(), new ChannelTopic(Constants.CHANNEL_META_EVICT)));
+    }
+
+    /**
+     * return the cached list or load it from database and populate both tiers.
+     * a datasource without name, e.g. one not saved yet, is never cached.
+     */
+    public <T> List<T> get(String dataSourceName, DbObjectType type, String identifier, Class<T> clazz, Loader<T> loader) throws SQLException {
+        if (Objects.isNull(dataSourceName)) {
+            return loader.load();
+        }
+        String key = buildKey(dataSourceName, type, identifier);
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) cache.getIfPresent(key);
+        if (Objects.nonNull(result)) {
+            return result;
+        }
+        if (redisEnabled) {
+            try {
+                String json = redisUtil.get(key);
+                if (StrUtil.isNotEmpty(json)) {
+                    result = JSONUtil.toList(json, clazz);
+                    cache.put(key, result);
+                    return result;
+                }
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        result = loader.load();
+        if (Objects.nonNull(result)) {
+            cache.put(key, result);
+            if (redisEnabled) {
+                redisUtil.set(key, JSONUtil.toJsonStr(result), ttl);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * cached list of the local tier, null when absent. never loads from database
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> peek(String dataSourceName, DbObjectType type, String identifier) {
+        return (List<T>) cache.getIfPresent(buildKey(dataSourceName, type, identifier));
+    }
+
+    /**
+     * drop a single entry from both tiers without notifying other nodes
+     */
+    public void remove(String dataSourceName, DbObjectType type, String identifier) {
+        String key = buildKey(dataSourceName, type, identifier);
+        cache.invalidate(key);
+        if (redisEnabled) {
+            try {
+                redisUtil.delKeys(key);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * drop every entry of the datasource
+     */
+    public void invalidate(String dataSourceName) {
+        invalidate(dataSourceName, null);
+    }
+
+    /**
+     * drop the entries of one schema, or of the whole datasource when schema is empty.
+     * schema list is always dropped because it may contain the changed object.
+     */
+    public void invalidate(String dataSourceName, String schemaIdentifier) {
+        if (StrUtil.isEmpty(dataSourceName)) {
+            return;
+        }
+        String message = StrUtil.isEmpty(schemaIdentifier) ? dataSourceName : dataSourceName + Constants.SEPARATOR_COLON + schemaIdentifier;
+        evictLocal(message);
+        if (redisEnabled) {
+            try {
+                List<String> keys = redisUtil.scan(KEY_PREFIX + dataSourceName + Constants.SEPARATOR_COLON + "*");
+                String identifier = StrUtil.subAfter(message, Constants.SEPARATOR_COLON, false);
+                redisUtil.delKeys(keys.stream().filter(key -> matches(key, dataSourceName, identifier)).toArray(String[]::new));
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        if (Objects.nonNull(redisUtil)) {
+            redisUtil.publish(Constants.CHANNEL_META_EVICT, message);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void evictLocal(String message) {
+        String dataSourceName = StrUtil.subBefore(message, Constants.SEPARATOR_COLON, false);
+        String schemaIdentifier = StrUtil.subAfter(message, Constants.SEPARATOR_COLON, false);
+        cache.asMap().keySet().removeIf(key -> matches(key, dataSourceName, schemaIdentifier));
+    }
+
+    private MessageListener onEvictMessage() {
+        return (message, pattern) -> evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private boolean matches(String key, String dataSourceName, String schemaIdentifier) {
+        String prefix = KEY_PREFIX + dataSourceName + Constants.SEPARATOR_COLON;
+        if (!key.startsWith(prefix)) {
+            return false;
+        }
+        if (StrUtil.isEmpty(schemaIdentifier)) {
+            return true;
+        }
+        String rest = key.substring(prefix.length());
+        String type = StrUtil.subBefore(rest, Constants.SEPARATOR_COLON, false);
+        String identifier = StrUtil.subAfter(rest, Constants.SEPARATOR_COLON, false);
+        // keys keep the case of identifiers, while identifiers parsed from ddl may be folded by the database,
+        // so eviction matches regardless of case and drops case variants too
+        return DbObjectType.SCHEMA.name().equals(type)
+                || identifier.equalsIgnoreCase(schemaIdentifier)
+                || StrUtil.startWithIgnoreCase(identifier, schemaIdentifier + Constants.SEPARATOR_DOT);
+    }
+
+    private String buildKey(String dataSourceName, DbObjectType type, String identifier) {
+        return KEY_PREFIX + dataSourceName + Constants.SEPARATOR_COLON + type.name() + Constants.SEPARATOR_COLON + StrUtil.nullToEmpty(identifier);
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+}
@@ -34,27 +34,73 @@ import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.DataSourcePluginManager;
 import com.basedt.dms.plugins.datasource.MetaDataService;
+import com.basedt.dms.plugins.datasource.MetaDataSnapshotProvider;
 import com.basedt.dms.plugins.datasource.dto.*;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
 import com.basedt.dms.plugins.datasource.enums.DbObjectType;
 import com.basedt.dms.plugins.datasource.enums.DmlType;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static com.basedt.dms.common.enums.ResponseCode.ERROR_INVALID_ARGUMENT;
 import static com.basedt.dms.plugins.datasource.enums.DbGroupType.*;
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.*;
 
+@Slf4j
 @Service
 public class MetaDataServiceImpl implements MetaDataService {
 
+    private static final AtomicInteger CATALOG_THREAD_NUM = new AtomicInteger();
+
+    /**
+     * schema lookups in flight per datasource, shared by all requests so concurrent listings stay within the bound
+     */
+    private static final ConcurrentHashMap<String, LookupPermits> LOOKUP_PERMITS = new ConcurrentHashMap<>();
+
+    private final MetaDataCache metaDataCache;
+
+    private final ObjectProvider<MetaDataSnapshotProvider> snapshotProvider;
+
+    private final long catalogTimeout;
+
+    /**
+     * runs schema lookups of catalogs, lookups of one datasource are bounded by its {@link LookupPermits}
+     */
+    private final ExecutorService catalogExecutor;
+
+    public MetaDataServiceImpl(MetaDataCache metaDataCache, ObjectProvider<MetaDataSnapshotProvider> snapshotProvider,
+                               @Value("${dms.metadata.catalogTimeout:10}") long catalogTimeout,
+                               @Value("${dms.metadata.catalogThreads:16}") int catalogThreads) {
+        this.metaDataCache = metaDataCache;
+        this.snapshotProvider = snapshotProvider;
+        this.catalogTimeout = catalogTimeout;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(catalogThreads, catalogThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "Catalog-loader-" + CATALOG_THREAD_NUM.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.catalogExecutor = executor;
+    }
+
     /**
      * list catalog and schemas
      *
@@ -67,30 +113,167 @@ public class MetaDataServiceImpl implements MetaDataService {
         if (Objects.isNull(dataSourcePlugin)) {
             return null;
         }
-        List<CatalogDTO> catalogs = null;
         try {
-            catalogs = dataSourcePlugin.getCatalogHandler().listCatalogs();
-            for (CatalogDTO catalog : catalogs) {
-                List<SchemaDTO> schemas = null;
-                if (StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.POSTGRESQL.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                        || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.MSSQL.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                        || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.HOLOGRES.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                        || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.GAUSSDB.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                        || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.GREENPLUM.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                        || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.POLARDB_POSTGRE.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
-                ) {
-                    schemas = dataSourcePlugin.getCatalogHandler().listSchemas(catalog.getCatalogName(), null);
-                } else {
-                    schemas = dataSourcePlugin.getCatalogHandler().listSchemas(catalog.getCatalogName(), dataSourcePlugin.getDatabaseName());
-                }
-                catalog.setSchemas(schemas);
+            List<CatalogDTO> catalogs = metaDataCache.get(dataSourcePlugin.getDataSourceName(), SCHEMA, null, CatalogDTO.class,
+                    () -> {
+                        MetaDataSnapshotProvider provider = snapshotProvider.getIfAvailable();
+                        List<CatalogDTO> snapshot = Objects.isNull(provider) ? null : provider.listSchemas(dataSourcePlugin.getDataSourceName());
+                        return Objects.nonNull(snapshot) ? snapshot : loadSchemas(dataSourcePlugin);
+                    });
+            // do not keep a partial tree, degraded catalogs are retried on next request
+            if (catalogs.stream().anyMatch(catalog -> Boolean.TRUE.equals(catalog.getDegraded()))) {
+                metaDataCache.remove(dataSourcePlugin.getDataSourceName(), SCHEMA, null);
             }
+            return catalogs;
         } catch (Exception e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), I18nUtil.get("response.error.datasource.catalog"));
         }
+    }
+
+    /**
+     * list schemas of every catalog concurrently. a catalog failing or exceeding the timeout is returned as degraded
+     * instead of failing the whole list, unless every catalog fails.
+     */
+    @Override
+    public List<CatalogDTO> loadSchemas(DataSourcePlugin dataSourcePlugin) throws SQLException {
+        List<CatalogDTO> catalogs = dataSourcePlugin.getCatalogHandler().listCatalogs();
+        String schemaPattern = isCatalogPerDatabase(dataSourcePlugin) ? null : dataSourcePlugin.getDatabaseName();
+        if (catalogs.size() <= 1) {
+            for (CatalogDTO catalog : catalogs) {
+                catalog.setSchemas(dataSourcePlugin.getCatalogHandler().listSchemas(catalog.getCatalogName(), schemaPattern));
+            }
+            return catalogs;
+        }
+        // leave half of the pool to the sql console
+        int permits = Math.max(1, DataSourcePoolRegistry.getMaxActive(dataSourcePlugin.getDataSource()) / 2);
+        Semaphore semaphore = lookupPermits(dataSourcePlugin.getDataSourceName(), permits);
+        CatalogLoading loading = new CatalogLoading(dataSourcePlugin, schemaPattern, catalogs);
+        // every round of lookups may take up to the catalog timeout
+        long rounds = (catalogs.size() + permits - 1) / permits;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(catalogTimeout * rounds + 1);
+        try {
+            for (CatalogDTO catalog : catalogs) {
+                if (!semaphore.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                loading.load(catalog, semaphore);
+            }
+            loading.await(deadline - System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("list schemas interrupted", e);
+        }
+        if (catalogs.stream().allMatch(catalog -> Boolean.TRUE.equals(catalog.getDegraded()))) {
+            Throwable cause = loading.error.get();
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException(cause.getMessage(), cause);
+        }
         return catalogs;
     }
 
+    private Semaphore lookupPermits(String dataSourceName, int permits) {
+        return LOOKUP_PERMITS.compute(dataSourceName, (name, current) ->
+                Objects.nonNull(current) && current.permits == permits ? current : new LookupPermits(permits)).semaphore;
+    }
+
+    /**
+     * a resized pool gets a new semaphore, lookups still holding the old one release it when they end
+     */
+    private static class LookupPermits {
+
+        private final int permits;
+
+        private final Semaphore semaphore;
+
+        LookupPermits(int permits) {
+            this.permits = permits;
+            this.semaphore = new Semaphore(permits);
+        }
+    }
+
+    /**
+     * schema lookups of the catalogs of one datasource. a lookup holds its permit until it really ends,
+     * a timed out lookup keeps it, so at most permits lookups of a datasource are waiting for the database.
+     * catalogs which timed out or were not started before the caller gave up are degraded.
+     */
+    private class CatalogLoading {
+
+        private final DataSourcePlugin dataSourcePlugin;
+
+        private final String schemaPattern;
+
+        private final List<CatalogDTO> catalogs;
+
+        private final Set<CatalogDTO> finished = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final CountDownLatch latch;
+
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        CatalogLoading(DataSourcePlugin dataSourcePlugin, String schemaPattern, List<CatalogDTO> catalogs) {
+            this.dataSourcePlugin = dataSourcePlugin;
+            this.schemaPattern = schemaPattern;
+            this.catalogs = catalogs;
+            this.latch = new CountDownLatch(catalogs.size());
+        }
+
+        void load(CatalogDTO catalog, Semaphore semaphore) {
+            CompletableFuture<List<SchemaDTO>> lookup;
+            try {
+                lookup = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return dataSourcePlugin.getCatalogHandler().listSchemas(catalog.getCatalogName(), schemaPattern);
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                }, catalogExecutor);
+            } catch (RejectedExecutionException e) {
+                semaphore.release();
+                finish(catalog, null, e);
+                return;
+            }
+            lookup.copy().orTimeout(catalogTimeout, TimeUnit.SECONDS)
+                    .whenComplete((schemas, e) -> finish(catalog, schemas, e));
+            lookup.whenComplete((schemas, e) -> semaphore.release());
+        }
+
+        void await(long timeoutNanos) throws InterruptedException {
+            if (!latch.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                synchronized (this) {
+                    for (CatalogDTO catalog : catalogs) {
+                        finish(catalog, null, new TimeoutException());
+                    }
+                }
+            }
+        }
+
+        private void finish(CatalogDTO catalog, List<SchemaDTO> schemas, Throwable e) {
+            synchronized (this) {
+                if (!finished.add(catalog)) {
+                    return;
+                }
+                if (Objects.isNull(e)) {
+                    catalog.setSchemas(schemas);
+                } else {
+                    Throwable cause = e instanceof CompletionException && Objects.nonNull(e.getCause()) ? e.getCause() : e;
+                    error.compareAndSet(null, cause);
+                    catalog.setDegraded(true);
+                    log.warn("list schemas of catalog {} in datasource {} failed: {}", catalog.getCatalogName(),
+                            dataSourcePlugin.getDataSourceName(), cause instanceof TimeoutException ? "timeout" : cause.getMessage());
+                }
+            }
+            latch.countDown();
+        }
+    }
+
+    private boolean isCatalogPerDatabase(DataSourcePlugin dataSourcePlugin) {
+        return StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.POSTGRESQL.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
+                || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.MSSQL.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
+                || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.HOLOGRES.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
+                || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.GAUSSDB.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
+                || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.GREENPLUM.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName())
+                || StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, DataSourceType.POLARDB_POSTGRE.getValue()).toUpperCase().equals(dataSourcePlugin.getPluginName());
+    }
+
     @Override
     public List<CatalogDTO> listSchemas(DataSourceDTO dataSourceDTO) throws DmsException {
         DataSourcePlugin dataSourcePlugin = getDataSourcePluginInstance(dataSourceDTO);
@@ -107,6 +290,9 @@ public class MetaDataServiceImpl implements MetaDataService {
         for (CatalogDTO catalog : catalogs) {
             TreeNodeVO catalogNode = catalog.toTreeNodeVO();
             treeNodeList.add(catalogNode);
+            if (Boolean.TRUE.equals(catalog.getDegraded())) {
+                continue;
+            }
             //add schema group
             TreeNodeVO schemaGroupNode = this.getGroupNode(catalogNode, SCHEMA);
             treeNodeList.add(schemaGroupNode);
@@ -164,9 +350,15 @@ public class MetaDataServiceImpl implements MetaDataService {
         String schema = parseIdentifier(identifier, 2);
         List<TableDTO> tableList = new ArrayList<>();
         if (DbObjectType.TABLE.equals(type)) {
-            tableList = dataSourcePlugin.getTableHandler().listTables(catalog, schema, null);
+            tableList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), TABLE, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), TableDTO.class,
+                    () -> {
+                        MetaDataSnapshotProvider provider = snapshotProvider.getIfAvailable();
+                        List<TableDTO> snapshot = Objects.isNull(provider) ? null : provider.listTables(dataSourcePlugin.getDataSourceName(), catalog, schema);
+                        return Objects.nonNull(snapshot) ? snapshot : dataSourcePlugin.getTableHandler().listTables(catalog, schema, null);
+                    });
         } else if (DbObjectType.FOREIGN_TABLE.equals(type)) {
-            tableList = dataSourcePlugin.getForeignTableHandler().listForeignTables(catalog, schema, null);
+            tableList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), FOREIGN_TABLE, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), TableDTO.class,
+                    () -> dataSourcePlugin.getForeignTableHandler().listForeignTables(catalog, schema, null));
         }
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(tableList)) {
@@ -184,7 +376,8 @@ public class MetaDataServiceImpl implements MetaDataService {
     private List<Tree<String>> listViews(String identifier, String key, DataSourcePlugin dataSourcePlugin) throws DmsException, SQLException {
         String catalog = parseIdentifier(identifier, 1);
         String schema = parseIdentifier(identifier, 2);
-        List<ViewDTO> viewList = dataSourcePlugin.getViewHandler().listViews(catalog, schema, null);
+        List<ViewDTO> viewList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), VIEW, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), ViewDTO.class,
+                () -> dataSourcePlugin.getViewHandler().listViews(catalog, schema, null));
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(viewList)) {
             TreeNodeVO parent = new TreeNodeVO();
@@ -201,7 +394,8 @@ public class MetaDataServiceImpl implements MetaDataService {
     private List<Tree<String>> listMViews(String identifier, String key, DataSourcePlugin dataSourcePlugin) throws DmsException, SQLException {
         String catalog = parseIdentifier(identifier, 1);
         String schema = parseIdentifier(identifier, 2);
-        List<MaterializedViewDTO> list = dataSourcePlugin.getMaterializedViewHandler().listMViews(catalog, schema, null);
+        List<MaterializedViewDTO> list = metaDataCache.get(dataSourcePlugin.getDataSourceName(), MATERIALIZED_VIEW, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), MaterializedViewDTO.class,
+                () -> dataSourcePlugin.getMaterializedViewHandler().listMViews(catalog, schema, null));
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(list)) {
             TreeNodeVO parent = new TreeNodeVO();
@@ -218,7 +412,8 @@ public class MetaDataServiceImpl implements MetaDataService {
     private List<Tree<String>> listFunction(String identifier, String key, DataSourcePlugin dataSourcePlugin) throws DmsException, SQLException {
         String catalog = parseIdentifier(identifier, 1);
         String schema = parseIdentifier(identifier, 2);
-        List<FunctionDTO> list = dataSourcePlugin.getFunctionHandler().listFunctions(catalog, schema, null);
+        List<FunctionDTO> list = metaDataCache.get(dataSourcePlugin.getDataSourceName(), FUNCTION, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), FunctionDTO.class,
+                () -> dataSourcePlugin.getFunctionHandler().listFunctions(catalog, schema, null));
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(list)) {
             TreeNodeVO parent = new TreeNodeVO();
@@ -235,7 +430,8 @@ public class MetaDataServiceImpl implements MetaDataService {
     private List<Tree<String>> listSequence(String identifier, String key, DataSourcePlugin dataSourcePlugin) throws DmsException, SQLException {
         String catalog = parseIdentifier(identifier, 1);
         String schema = parseIdentifier(identifier, 2);
-        List<SequenceDTO> list = dataSourcePlugin.getSequenceHandler().listSequences(catalog, schema, null);
+        List<SequenceDTO> list = metaDataCache.get(dataSourcePlugin.getDataSourceName(), SEQUENCE, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema), SequenceDTO.class,
+                () -> dataSourcePlugin.getSequenceHandler().listSequences(catalog, schema, null));
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(list)) {
             TreeNodeVO parent = new TreeNodeVO();
@@ -351,7 +547,11 @@ public class MetaDataServiceImpl implements MetaDataService {
     }
 
     private List<TreeNodeVO> listColumnNode(String catalog, String schema, String tableName, DataSourcePlugin dataSourcePlugin, TreeNodeVO parent) throws SQLException {
-        List<ColumnDTO> columnList = dataSourcePlugin.getTableHandler().listColumnsByTable(catalog, schema, tableName);
+        List<ColumnDTO> columnList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), COLUMN, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema, tableName), ColumnDTO.class,
+                () -> {
+                    TableDTO snapshot = getSnapshotTable(dataSourcePlugin, catalog, schema, tableName);
+                    return Objects.nonNull(snapshot) ? snapshot.getColumns() : dataSourcePlugin.getTableHandler().listColumnsByTable(catalog, schema, tableName);
+                });
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(columnList)) {
             for (ColumnDTO column : columnList) {
@@ -363,7 +563,11 @@ public class MetaDataServiceImpl implements MetaDataService {
     }
 
     private List<TreeNodeVO> listIndexesNode(String catalog, String schema, String tableName, DataSourcePlugin dataSourcePlugin, TreeNodeVO parent) throws SQLException {
-        List<IndexDTO> indexList = dataSourcePlugin.getIndexHandler().listIndexes(catalog, schema, tableName);
+        List<IndexDTO> indexList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), INDEX, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema, tableName), IndexDTO.class,
+                () -> {
+                    TableDTO snapshot = getSnapshotTable(dataSourcePlugin, catalog, schema, tableName);
+                    return Objects.nonNull(snapshot) ? snapshot.getIndexes() : dataSourcePlugin.getIndexHandler().listIndexes(catalog, schema, tableName);
+                });
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(indexList)) {
             for (IndexDTO index : indexList) {
@@ -375,7 +579,11 @@ public class MetaDataServiceImpl implements MetaDataService {
     }
 
     private List<TreeNodeVO> listPkNode(String catalog, String schema, String tableName, DataSourcePlugin dataSourcePlugin, TreeNodeVO parent) throws SQLException {
-        List<ObjectDTO> pkList = dataSourcePlugin.getIndexHandler().listPkByTable(catalog, schema, tableName);
+        List<ObjectDTO> pkList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), PK, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema, tableName), ObjectDTO.class,
+                () -> {
+                    TableDTO snapshot = getSnapshotTable(dataSourcePlugin, catalog, schema, tableName);
+                    return Objects.nonNull(snapshot) ? snapshot.getPks() : dataSourcePlugin.getIndexHandler().listPkByTable(catalog, schema, tableName);
+                });
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(pkList)) {
             for (ObjectDTO obj : pkList) {
@@ -387,7 +595,11 @@ public class MetaDataServiceImpl implements MetaDataService {
     }
 
     private List<TreeNodeVO> listFkNode(String catalog, String schema, String tableName, DataSourcePlugin dataSourcePlugin, TreeNodeVO parent) throws SQLException {
-        List<ObjectDTO> fkList = dataSourcePlugin.getIndexHandler().listFkByTable(catalog, schema, tableName);
+        List<ObjectDTO> fkList = metaDataCache.get(dataSourcePlugin.getDataSourceName(), FK, StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema, tableName), ObjectDTO.class,
+                () -> {
+                    TableDTO snapshot = getSnapshotTable(dataSourcePlugin, catalog, schema, tableName);
+                    return Objects.nonNull(snapshot) ? snapshot.getFks() : dataSourcePlugin.getIndexHandler().listFkByTable(catalog, schema, tableName);
+                });
         List<TreeNodeVO> treeList = new ArrayList<>();
         if (CollectionUtil.isNotEmpty(fkList)) {
             for (ObjectDTO obj : fkList) {
@@ -398,6 +610,19 @@ public class MetaDataServiceImpl implements MetaDataService {
         return treeList;
     }
 
+    private TableDTO getSnapshotTable(DataSourcePlugin dataSourcePlugin, String catalog, String schema, String tableName) {
+        MetaDataSnapshotProvider provider = snapshotProvider.getIfAvailable();
+        return Objects.isNull(provider) ? null : provider.getTable(dataSourcePlugin.getDataSourceName(), catalog, schema, tableName);
+    }
+
+    private void evict(String dataSourceName, String catalog, String schema) {
+        metaDataCache.invalidate(dataSourceName, StrUtil.isEmpty(schema) ? null : StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema));
+        snapshotProvider.ifAvailable(provider -> {
+            provider.evict(dataSourceName, catalog, schema);
+            provider.refresh(dataSourceName, catalog, schema);
+        });
+    }
+
     private String parseIdentifier(String identifier, int position) throws DmsException {
         if (StrUtil.isEmpty(identifier)) {
             return null;
@@ -410,13 +635,52 @@ public class MetaDataServiceImpl implements MetaDataService {
         }
     }
 
+    @Override
+    public void refresh(DataSourceDTO dataSourceDTO) {
+        if (Objects.nonNull(dataSourceDTO)) {
+            evictCache(String.valueOf(dataSourceDTO.getId()));
+        }
+    }
+
+    @Override
+    public void evictCache(String dataSourceName) {
+        evict(dataSourceName, null, null);
+    }
+
+    @Override
+    public void evictSchemaCache(String dataSourceName, String schema) {
+        List<CatalogDTO> catalogs = metaDataCache.peek(dataSourceName, SCHEMA, null);
+        MetaDataSnapshotProvider provider = snapshotProvider.getIfAvailable();
+        if (Objects.isNull(catalogs) && Objects.nonNull(provider)) {
+            catalogs = provider.listSchemas(dataSourceName);
+        }
+        boolean found = false;
+        if (StrUtil.isNotEmpty(schema) && CollectionUtil.isNotEmpty(catalogs)) {
+            for (CatalogDTO catalog : catalogs) {
+                if (CollectionUtil.isEmpty(catalog.getSchemas())) {
+                    continue;
+                }
+                for (SchemaDTO schemaDTO : catalog.getSchemas()) {
+                    // names parsed from ddl may be folded by the database
+                    if (schema.equalsIgnoreCase(schemaDTO.getSchemaName())) {
+                        evict(dataSourceName, catalog.getCatalogName(), schemaDTO.getSchemaName());
+                        found = true;
+                    }
+                }
+            }
+        }
+        if (!found) {
+            evict(dataSourceName, null, null);
+        }
+    }
+
     public DataSourcePlugin getDataSourcePluginInstance(DataSourceDTO dataSourceDTO) {
         if (Objects.nonNull(dataSourceDTO)) {
             DataSourceDTO ds = new DataSourceDTO();
             BeanUtil.copyProperties(dataSourceDTO, ds);
             String decodePwd = Base64.decodeStr(ds.getPassword());
             ds.setPassword(decodePwd);
-            return DataSourcePluginManager.newInstance(
+            return DataSourcePluginManager.getInstance(
                     StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, ds.getDatasourceType().getValue()).toUpperCase(),
                     ds.toProperties()
             );
@@ -526,6 +790,7 @@ public class MetaDataServiceImpl implements MetaDataService {
             } else if (FOREIGN_TABLE.name().equals(objectType)) {
                 dataSourcePlugin.getForeignTableHandler().renameForeignTable(schemaName, objectName, newName);
             }
+            evict(dataSourcePlugin.getDataSourceName(), catalog, schemaName);
         } catch (Exception e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), e.getMessage());
         }
@@ -538,6 +803,7 @@ public class MetaDataServiceImpl implements MetaDataService {
             if (INDEX.name().equals(objectType)) {
                 dataSourcePlugin.getIndexHandler().renameIndex(schemaName, tableName, objectName, newName);
             }
+            evict(dataSourcePlugin.getDataSourceName(), catalog, schemaName);
         } catch (Exception e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), e.getMessage());
         }
@@ -558,6 +824,7 @@ public class MetaDataServiceImpl implements MetaDataService {
             } else if (FOREIGN_TABLE.name().equals(objectType)) {
                 dataSourcePlugin.getForeignTableHandler().dropForeignTable(schemaName, objectName);
             }
+            evict(dataSourcePlugin.getDataSourceName(), catalog, schemaName);
         } catch (Exception e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), e.getMessage());
         }
@@ -571,6 +838,7 @@ public class MetaDataServiceImpl implements MetaDataService {
             if (INDEX.name().equals(objectType)) {
                 dataSourcePlugin.getIndexHandler().dropIndex(schemaName, tableName, objectName);
             }
+            evict(dataSourcePlugin.getDataSourceName(), catalog, schemaName);
         } catch (Exception e) {
             throw new DmsException(ResponseCode.ERROR_CUSTOM.getValue(), e.getMessage());
         }
@@ -747,6 +1015,9 @@ public class MetaDataServiceImpl implements MetaDataService {
             tree.putExtra("type", node.getType());
             tree.putExtra("isLeaf", node.getIsLeaf());
             tree.putExtra("identifier", node.getIdentifier());
+            if (Boolean.TRUE.equals(node.getDegraded())) {
+                tree.putExtra("degraded", true);
+            }
         });
     }
 
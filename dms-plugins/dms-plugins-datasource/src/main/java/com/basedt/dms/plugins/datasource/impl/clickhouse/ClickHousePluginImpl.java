@@ -20,26 +20,21 @@ package com.basedt.dms.plugins.datasource.impl.clickhouse;
 
 import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcDataTypeMapper;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcIndexHandler;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcSequenceHandler;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 
-import java.math.BigDecimal;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Types;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 
 /**
@@ -48,6 +43,10 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class ClickHousePluginImpl extends AbstractDataSourcePlugin {
 
+    private static final ClickHouseDataTypeMapper TYPE_MAPPER = new ClickHouseDataTypeMapper();
+
+    private static final JdbcDataTypeMapper JDBC_TYPE_MAPPER = new JdbcDataTypeMapper();
+
     public ClickHousePluginImpl() {
         init();
     }
@@ -70,58 +69,74 @@ public class ClickHousePluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        ClickHouseCatalogHandler handler = new ClickHouseCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            ClickHouseCatalogHandler handler = new ClickHouseCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        ClickHouseTableHandler handler = new ClickHouseTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new ClickHouseDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            ClickHouseTableHandler handler = new ClickHouseTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        ClickHouseViewHandler handler = new ClickHouseViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            ClickHouseViewHandler handler = new ClickHouseViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public ForeignTableHandler getForeignTableHandler() {
-        ClickHouseFgnTableHandler handler = new ClickHouseFgnTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new JdbcDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(ForeignTableHandler.class, () -> {
+            ClickHouseFgnTableHandler handler = new ClickHouseFgnTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), JDBC_TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        ClickHouseFunctionHandler handler = new ClickHouseFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            ClickHouseFunctionHandler handler = new ClickHouseFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        JdbcIndexHandler handler = new JdbcIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            JdbcIndexHandler handler = new JdbcIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        ClickHouseMaterializedViewHandler handler = new ClickHouseMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            ClickHouseMaterializedViewHandler handler = new ClickHouseMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public SequenceHandler getSequenceHandler() {
-        JdbcSequenceHandler handler = new JdbcSequenceHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(SequenceHandler.class, () -> {
+            JdbcSequenceHandler handler = new JdbcSequenceHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
@@ -130,144 +145,83 @@ public class ClickHousePluginImpl extends AbstractDataSourcePlugin {
     }
 
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
-            case "INT":
-            case "INT SIGNED":
-            case "INT UNSIGNED":
-            case "INT1":
-            case "INT1 SIGNED":
-            case "INT1 UNSIGNED":
-            case "INTEGER":
-            case "INTEGER SIGNED":
-            case "INTEGER UNSIGNED":
-            case "MEDIUMINT":
-            case "MEDIUMINT SIGNED":
-            case "MEDIUMINT UNSIGNED":
-            case "SMALLINT":
-            case "SMALLINT SIGNED":
-            case "SMALLINT UNSIGNED":
-            case "TINYINT":
-            case "TINYINT SIGNED":
-            case "TINYINT UNSIGNED":
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.CLICKHOUSE;
+    }
+
+    @Override
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.MPP;
+    }
+
+    /**
+     * Nullable and LowCardinality wrappers and type parameters such as Decimal(10, 2) or DateTime64(3)
+     * are stripped once per column, the base type picks the setter
+     */
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        switch (baseTypeName(column.getDataType())) {
             case "Int8":
             case "Int16":
             case "Int32":
             case "UInt8":
             case "UInt16":
-            case "UInt32":
+            case "INT":
+            case "INTEGER":
+            case "MEDIUMINT":
+            case "SMALLINT":
+            case "TINYINT":
             case "BYTE":
-            case "Nullable(Int8)":
-            case "Nullable(Int16)":
-            case "Nullable(Int32)":
-            case "Nullable(UInt8)":
-            case "Nullable(UInt16)":
-            case "Nullable(UInt32)":
-                if (StrUtil.isNotEmpty(value)) {
-                    ps.setNull(columnIndex, Types.INTEGER);
-                } else {
-                    ps.setInt(columnIndex, Integer.parseInt(value));
-                }
-                break;
+                return bindString(vector, columnIndex, INTEGER);
+            case "UInt32":
+            case "Int64":
             case "BIGINT":
-            case "BIGINT SIGNED":
-            case "BIGINT UNSIGNED":
             case "BIT":
-            case "Int64":
+                return bindString(vector, columnIndex, BIGINT);
+            case "UInt64":
             case "Int128":
             case "Int256":
-            case "UInt64":
             case "UInt128":
             case "UInt256":
-            case "SIGNED":
-            case "UNSIGNED":
-            case "TIME":
-            case "Nullable(Int64)":
-            case "Nullable(Int128)":
-            case "Nullable(Int256)":
-            case "Nullable(UInt64)":
-            case "Nullable(UInt128)":
-            case "Nullable(UInt256)":
-                if (StrUtil.isNotEmpty(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setLong(columnIndex, Long.parseLong(value));
-                }
-                break;
+            case "Decimal":
+            case "Decimal32":
+            case "Decimal64":
+            case "Decimal128":
+            case "Decimal256":
+            case "DEC":
+                return bindString(vector, columnIndex, DECIMAL);
             case "Float32":
             case "FLOAT":
             case "REAL":
             case "SINGLE":
-            case "Nullable(Float32)":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.FLOAT);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
-            case "DOUBLE":
+                return bindString(vector, columnIndex, REAL);
             case "Float64":
+            case "DOUBLE":
             case "DOUBLE PRECISION":
-            case "Nullable(Float64)":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DOUBLE);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
-            case "DEC":
-            case "Decimal":
-            case "Decimal32":
-            case "Decimal64":
-            case "Decimal128":
-            case "Decimal256":
-            case "Nullable(Decimal)":
-            case "Nullable(Decimal32)":
-            case "Nullable(Decimal64)":
-            case "Nullable(Decimal128)":
-            case "Nullable(Decimal256)":
-                ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
-                break;
+                return bindString(vector, columnIndex, DOUBLE);
             case "Bool":
             case "bool":
             case "boolean":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BOOLEAN);
-                } else {
-                    ps.setBoolean(columnIndex, Boolean.parseBoolean(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BOOLEAN);
             case "Date":
             case "Date32":
+                return bindString(vector, columnIndex, DATE);
             case "DateTime":
             case "DateTime32":
             case "DateTime64":
             case "TIMESTAMP":
-            case "Nullable(Date)":
-            case "Nullable(Date32)":
-            case "Nullable(DateTime)":
-            case "Nullable(DateTime32)":
-            case "Nullable(DateTime64)":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
-            case "BINARY":
-            case "BINARY LARGE OBJECT":
-            case "BINARY VARYING":
-            case "BLOB":
-            case "CHAR":
-            case "FixedString":
-            case "String":
-            case "TEXT":
-            case "Nullable(String)":
+                return bindString(vector, columnIndex, TIMESTAMP);
             default:
-                ps.setString(columnIndex, value);
+                return super.getStringBinder(column, vector, columnIndex);
+        }
+    }
 
+    private String baseTypeName(String dataType) {
+        String typeName = StrUtil.nullToEmpty(dataType).trim();
+        while (StrUtil.startWithAny(typeName, "Nullable(", "LowCardinality(") && typeName.endsWith(")")) {
+            typeName = typeName.substring(typeName.indexOf('(') + 1, typeName.length() - 1).trim();
         }
+        return StrUtil.subBefore(typeName, "(", false).replaceAll("\\s+(UN)?SIGNED$", "").trim();
     }
 
 }
@@ -15,6 +15,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
@@ -77,6 +78,11 @@ public class ClickHouseTableHandler extends JdbcTableHandler {
         return columns;
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getTableDDL(String catalog, String schema, String tableName) throws SQLException {
         String sql = StrUtil.format("show create table {}.{}", schema, tableName);
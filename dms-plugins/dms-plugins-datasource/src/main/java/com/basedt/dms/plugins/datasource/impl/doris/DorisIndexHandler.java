@@ -30,6 +30,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class DorisIndexHandler extends JdbcIndexHandler {
@@ -64,6 +65,14 @@ public class DorisIndexHandler extends JdbcIndexHandler {
         return indexList;
     }
 
+    /**
+     * show index only works on a single table
+     */
+    @Override
+    public Map<String, List<IndexDTO>> listIndexesBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     protected String generateDropSQL(String schema, String tableName, String indexName) {
         return StrUtil.format("DROP INDEX {} ON {}.{}", indexName, schema, tableName);
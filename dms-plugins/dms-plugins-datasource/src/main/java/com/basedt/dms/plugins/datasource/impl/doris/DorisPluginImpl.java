@@ -23,6 +23,7 @@ import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
 import com.basedt.dms.plugins.datasource.impl.mysql.MysqlPluginImpl;
 import com.google.auto.service.AutoService;
 
@@ -36,6 +37,8 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class DorisPluginImpl extends MysqlPluginImpl {
 
+    private static final DorisDataTypeMapper TYPE_MAPPER = new DorisDataTypeMapper();
+
     public DorisPluginImpl() {
         super();
         init();
@@ -59,44 +62,61 @@ public class DorisPluginImpl extends MysqlPluginImpl {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        DorisCatalogHandler handler = new DorisCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            DorisCatalogHandler handler = new DorisCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        DorisFunctionHandler handler = new DorisFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            DorisFunctionHandler handler = new DorisFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        DorisIndexHandler handler = new DorisIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            DorisIndexHandler handler = new DorisIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        DorisMaterializedViewHandler handler = new DorisMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            DorisMaterializedViewHandler handler = new DorisMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        DorisTableHandler handler = new DorisTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new DorisDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            DorisTableHandler handler = new DorisTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        DorisViewHandler handler = new DorisViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            DorisViewHandler handler = new DorisViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
+    }
+
+    @Override
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.MPP;
     }
 
 }
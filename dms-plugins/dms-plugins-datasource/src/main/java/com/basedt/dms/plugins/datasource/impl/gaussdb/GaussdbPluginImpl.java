@@ -63,16 +63,20 @@ public class GaussdbPluginImpl extends PostgrePluginImpl {
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        GaussdbMaterializedViewHandler handler = new GaussdbMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            GaussdbMaterializedViewHandler handler = new GaussdbMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        GaussdbFunctionHandler handler = new GaussdbFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            GaussdbFunctionHandler handler = new GaussdbFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
 }
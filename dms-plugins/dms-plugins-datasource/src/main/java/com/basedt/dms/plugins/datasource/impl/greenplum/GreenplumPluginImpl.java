@@ -7,6 +7,7 @@ import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.MaterializedViewHandler;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
 import com.basedt.dms.plugins.datasource.impl.postgre.PostgrePluginImpl;
 import com.google.auto.service.AutoService;
 
@@ -42,9 +43,11 @@ public class GreenplumPluginImpl extends PostgrePluginImpl {
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        GreenplumMaterializedViewHandler handler = new GreenplumMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            GreenplumMaterializedViewHandler handler = new GreenplumMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     public static final String DISTRIBUTED_SQL = "select " +
@@ -71,4 +74,9 @@ public class GreenplumPluginImpl extends PostgrePluginImpl {
             "  and c.relname = ?" +
             "  group by n.nspname,c.relname,d.policytype" +
             " ) tt";
+
+    @Override
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.MPP;
+    }
 }
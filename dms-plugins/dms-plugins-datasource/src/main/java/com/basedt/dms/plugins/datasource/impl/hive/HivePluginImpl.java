@@ -19,26 +19,28 @@ package com.basedt.dms.plugins.datasource.impl.hive;
 
 import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.basedt.dms.plugins.datasource.impl.jdbc.*;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 
-import java.math.BigDecimal;
-import java.sql.*;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 
 @AutoService(DataSourcePlugin.class)
 public class HivePluginImpl extends AbstractDataSourcePlugin {
 
+    private static final HiveDataTypeMapper TYPE_MAPPER = new HiveDataTypeMapper();
+
+    private static final JdbcDataTypeMapper JDBC_TYPE_MAPPER = new JdbcDataTypeMapper();
+
     public static final String METASTORE_URIS = "hmsUris";
 
     public HivePluginImpl() {
@@ -69,137 +71,119 @@ public class HivePluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        HiveCatalogHandler handler = new HiveCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            HiveCatalogHandler handler = new HiveCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        HiveTableHandler handler = new HiveTableHandler();
-        Map<String, String> config = new HashMap<>();
-        config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
-        handler.initialize(getDataSource(), config, new HiveDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            HiveTableHandler handler = new HiveTableHandler();
+            Map<String, String> config = new HashMap<>();
+            config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
+            handler.initialize(getDataSource(), config, TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        HiveViewHandler handler = new HiveViewHandler();
-        Map<String, String> config = new HashMap<>();
-        config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
-        handler.initialize(getDataSource(), config);
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            HiveViewHandler handler = new HiveViewHandler();
+            Map<String, String> config = new HashMap<>();
+            config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
+            handler.initialize(getDataSource(), config);
+            return handler;
+        });
     }
 
     @Override
     public ForeignTableHandler getForeignTableHandler() {
-        JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new JdbcDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(ForeignTableHandler.class, () -> {
+            JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), JDBC_TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        JdbcFunctionHandler handler = new JdbcFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            JdbcFunctionHandler handler = new JdbcFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        JdbcIndexHandler handler = new JdbcIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            JdbcIndexHandler handler = new JdbcIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        HiveMaterializedViewHandler handler = new HiveMaterializedViewHandler();
-        Map<String, String> config = new HashMap<>();
-        config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
-        handler.initialize(getDataSource(), config);
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            HiveMaterializedViewHandler handler = new HiveMaterializedViewHandler();
+            Map<String, String> config = new HashMap<>();
+            config.put(METASTORE_URIS, this.attributes.get(METASTORE_URIS));
+            handler.initialize(getDataSource(), config);
+            return handler;
+        });
     }
 
     @Override
     public SequenceHandler getSequenceHandler() {
-        JdbcSequenceHandler handler = new JdbcSequenceHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(SequenceHandler.class, () -> {
+            JdbcSequenceHandler handler = new JdbcSequenceHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
+    }
+
+    @Override
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.HIVE;
     }
 
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.HIVE;
+    }
+
+    /**
+     * parameterized types such as decimal(10,2) are matched by their base name
+     */
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        switch (StrUtil.subBefore(StrUtil.nullToEmpty(column.getDataType()), "(", false).trim().toUpperCase()) {
             case "TINYINT":
             case "SMALLINT":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setShort(columnIndex, Short.parseShort(value));
-                }
-                break;
+                return bindString(vector, columnIndex, SMALLINT);
             case "INT":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setInt(columnIndex, Integer.parseInt(value));
-                }
-                break;
+                return bindString(vector, columnIndex, INTEGER);
             case "BIGINT":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setLong(columnIndex, Long.parseLong(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BIGINT);
             case "FLOAT":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.REAL);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
+                return bindString(vector, columnIndex, REAL);
             case "DOUBLE":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.REAL);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
+                return bindString(vector, columnIndex, DOUBLE);
             case "DECIMAL":
-                ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
-                break;
+                return bindString(vector, columnIndex, DECIMAL);
             case "BOOLEAN":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BOOLEAN);
-                } else {
-                    ps.setBoolean(columnIndex, Boolean.parseBoolean(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BOOLEAN);
             case "DATE":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
+                return bindString(vector, columnIndex, DATE);
             case "TIMESTAMP":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIMESTAMP);
-                } else {
-                    Long tValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
-                }
-                break;
-            case "STRING":
-            case "VARCHAR":
-            case "CHAR":
+                return bindString(vector, columnIndex, TIMESTAMP);
             default:
-                ps.setString(columnIndex, value);
-
+                return super.getStringBinder(column, vector, columnIndex);
         }
     }
 
@@ -66,6 +66,11 @@ public class HiveTableHandler extends JdbcTableHandler {
         }
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getTableDDL(String catalog, String schema, String tableName) throws SQLException {
         String sql = StrUtil.format("show create table {}.{}", schema, tableName);
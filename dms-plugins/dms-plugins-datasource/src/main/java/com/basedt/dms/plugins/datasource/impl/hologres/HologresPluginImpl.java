@@ -25,6 +25,7 @@ import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.TableHandler;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
 import com.basedt.dms.plugins.datasource.impl.postgre.PostgreDataTypeMapper;
 import com.basedt.dms.plugins.datasource.impl.postgre.PostgrePluginImpl;
 import com.google.auto.service.AutoService;
@@ -36,6 +37,8 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class HologresPluginImpl extends PostgrePluginImpl {
 
+    private static final PostgreDataTypeMapper TYPE_MAPPER = new PostgreDataTypeMapper();
+
     public HologresPluginImpl() {
         super();
         init();
@@ -59,9 +62,16 @@ public class HologresPluginImpl extends PostgrePluginImpl {
 
     @Override
     public TableHandler getTableHandler() {
-        HologresTableHandler handler = new HologresTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new PostgreDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            HologresTableHandler handler = new HologresTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
+    }
+
+    @Override
+    public PoolProfile getPoolProfile() {
+        return PoolProfile.MPP;
     }
 
 }
@@ -30,6 +30,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 
 public class HologresTableHandler extends PostgreTableHandler {
 
@@ -64,6 +65,11 @@ public class HologresTableHandler extends PostgreTableHandler {
         return super.listTableFromDB(sql);
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getTableDDL(String catalog, String schema, String tableName) throws SQLException {
         String sql = StrUtil.format("select hg_dump_script('{}.{}')", schema, tableName);
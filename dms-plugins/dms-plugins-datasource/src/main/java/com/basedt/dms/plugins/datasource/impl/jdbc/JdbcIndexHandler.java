@@ -33,10 +33,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.Collectors;
 
 public class JdbcIndexHandler implements IndexHandler {
 
@@ -80,6 +78,22 @@ public class JdbcIndexHandler implements IndexHandler {
         return List.of();
     }
 
+    @Override
+    public Map<String, List<IndexDTO>> listIndexesBySchema(String catalog, String schema) throws SQLException {
+        return listIndexes(catalog, schema, null).stream()
+                .collect(Collectors.groupingBy(IndexDTO::getTableName, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException {
+        return new LinkedHashMap<>();
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException {
+        return new LinkedHashMap<>();
+    }
+
     @Override
     public void dropIndex(String schema, String tableName, String indexName) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
@@ -186,6 +200,15 @@ public class JdbcIndexHandler implements IndexHandler {
         return result;
     }
 
+    /**
+     * constraints of one table from constraints grouped by table
+     */
+    protected List<ObjectDTO> flatten(Map<String, List<ObjectDTO>> constraints) {
+        List<ObjectDTO> result = new ArrayList<>();
+        constraints.values().forEach(result::addAll);
+        return result;
+    }
+
     protected String generateDropSQL(String schema, String tableName, String indexName) {
         return StrUtil.format("DROP INDEX {}.{}", schema, indexName);
     }
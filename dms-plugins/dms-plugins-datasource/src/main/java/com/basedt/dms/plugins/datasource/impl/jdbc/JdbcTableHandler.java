@@ -38,6 +38,7 @@ import org.springframework.util.CollectionUtils;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
 
@@ -170,6 +171,17 @@ public class JdbcTableHandler implements TableHandler {
         return result;
     }
 
+    @Override
+    public Map<String, List<ColumnDTO>> listColumnsBySchema(String catalog, String schema) throws SQLException {
+        return listColumnsByTable(catalog, schema, null).stream()
+                .collect(Collectors.groupingBy(ColumnDTO::getTableName, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    public Map<String, String> listTableVersions(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getDropDDL(String schema, String tableName) throws SQLException {
         return generateDropSQL(schema, tableName);
@@ -197,6 +209,26 @@ public class JdbcTableHandler implements TableHandler {
         return getTableDDL(table);
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        List<TableDTO> tables = listTableDetails(catalog, schema, null, TABLE);
+        Map<String, List<ColumnDTO>> columns = listColumnsBySchema(catalog, schema);
+        Map<String, List<IndexDTO>> indexes = indexHandler.listIndexesBySchema(catalog, schema);
+        Map<String, List<ObjectDTO>> pks = indexHandler.listPkBySchema(catalog, schema);
+        Map<String, List<ObjectDTO>> fks = indexHandler.listFkBySchema(catalog, schema);
+        Map<String, String> result = new LinkedHashMap<>();
+        for (TableDTO table : tables) {
+            String tableName = table.getTableName();
+            table.setColumns(columns.getOrDefault(tableName, List.of()).stream().sorted(Comparator.comparing(ColumnDTO::getColumnOrdinal)).toList());
+            table.setIndexes(Objects.isNull(indexes) ? indexHandler.listIndexDetails(table.getCatalogName(), table.getSchemaName(), tableName, null)
+                    : indexes.getOrDefault(tableName, List.of()));
+            table.setPks(pks.getOrDefault(tableName, List.of()));
+            table.setFks(fks.getOrDefault(tableName, List.of()));
+            result.put(tableName, getTableDDL(table));
+        }
+        return result;
+    }
+
     /**
      * Get the DDL of a table. Default implementation returns "not supported yet."
      *
@@ -339,6 +371,21 @@ public class JdbcTableHandler implements TableHandler {
         return result;
     }
 
+    protected Map<String, String> listTableVersionFromDB(String sql) throws SQLException {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (StrUtil.isBlank(sql)) {
+            return result;
+        }
+        Connection conn = dataSource.getConnection();
+        PreparedStatement ps = conn.prepareStatement(sql);
+        ResultSet rs = ps.executeQuery();
+        while (rs.next()) {
+            result.put(rs.getString("table_name"), rs.getString("table_version"));
+        }
+        JdbcUtil.close(conn, ps, rs);
+        return result;
+    }
+
     protected List<ColumnDTO> listColumnFromTable(String sql) throws SQLException {
         if (StrUtil.isBlank(sql)) {
             return List.of();
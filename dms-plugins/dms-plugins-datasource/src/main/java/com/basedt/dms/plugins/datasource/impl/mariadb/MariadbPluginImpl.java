@@ -7,8 +7,13 @@ import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
 import com.basedt.dms.plugins.datasource.impl.mysql.MysqlPluginImpl;
+import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
 import com.google.auto.service.AutoService;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.Properties;
 
@@ -41,4 +46,19 @@ public class MariadbPluginImpl extends MysqlPluginImpl {
         setDriverClassName("org.mariadb.jdbc.Driver");
     }
 
+    /**
+     * mariadb driver streams rows with a positive fetch size, unlike connector/j
+     */
+    @Override
+    public PreparedStatement prepareStreamingStatement(Connection conn, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    @Override
+    public void closeStreamingStatement(PreparedStatement ps, ResultSet rs, boolean exhausted) {
+        JdbcUtil.closeSilently(null, ps, rs);
+    }
+
 }
@@ -15,7 +15,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.FK;
@@ -98,16 +100,26 @@ public class MssqlIndexHandler extends JdbcIndexHandler {
 
     @Override
     public List<ObjectDTO> listPkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, PK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, PK));
     }
 
     @Override
     public List<ObjectDTO> listFkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, FK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, FK));
     }
 
-    private List<ObjectDTO> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
-        List<ObjectDTO> list = new ArrayList<>();
+    @Override
+    public Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, PK);
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, FK);
+    }
+
+    private Map<String, List<ObjectDTO>> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
+        Map<String, List<ObjectDTO>> list = new LinkedHashMap<>();
         String constraintType = "";
         if (PK.equals(type)) {
             constraintType = "PK";
@@ -147,7 +159,7 @@ public class MssqlIndexHandler extends JdbcIndexHandler {
             obj.setObjectType(type.name());
             obj.setCreateTime(DateTimeUtil.toLocalDateTime(rs.getTimestamp("create_time")));
             obj.setLastDdlTime(DateTimeUtil.toLocalDateTime(rs.getTimestamp("last_ddl_time")));
-            list.add(obj);
+            list.computeIfAbsent(rs.getString("table_name"), k -> new ArrayList<>()).add(obj);
         }
         JdbcUtil.close(conn, ps, rs);
         return list;
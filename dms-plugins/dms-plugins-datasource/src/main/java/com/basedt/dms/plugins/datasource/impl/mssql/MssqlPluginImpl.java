@@ -20,28 +20,29 @@ package com.basedt.dms.plugins.datasource.impl.mssql;
 
 import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcDataTypeMapper;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcForeignTableHandler;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcMaterializedViewHandler;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 
-import java.math.BigDecimal;
-import java.sql.*;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 
 @AutoService(DataSourcePlugin.class)
 public class MssqlPluginImpl extends AbstractDataSourcePlugin {
 
+    private static final MssqlDataTypeMapper TYPE_MAPPER = new MssqlDataTypeMapper();
+
+    private static final JdbcDataTypeMapper JDBC_TYPE_MAPPER = new JdbcDataTypeMapper();
+
     public MssqlPluginImpl() {
         super();
         init();
@@ -73,58 +74,74 @@ public class MssqlPluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        MssqlCatalogHandler handler = new MssqlCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            MssqlCatalogHandler handler = new MssqlCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        MssqlTableHandler handler = new MssqlTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new MssqlDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            MssqlTableHandler handler = new MssqlTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        MssqlViewHandler handler = new MssqlViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            MssqlViewHandler handler = new MssqlViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public ForeignTableHandler getForeignTableHandler() {
-        JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new JdbcDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(ForeignTableHandler.class, () -> {
+            JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), JDBC_TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        MssqlFunctionHandler handler = new MssqlFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            MssqlFunctionHandler handler = new MssqlFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        MssqlIndexHandler handler = new MssqlIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            MssqlIndexHandler handler = new MssqlIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        JdbcMaterializedViewHandler handler = new JdbcMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            JdbcMaterializedViewHandler handler = new JdbcMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public SequenceHandler getSequenceHandler() {
-        MssqlSequenceHandler handler = new MssqlSequenceHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(SequenceHandler.class, () -> {
+            MssqlSequenceHandler handler = new MssqlSequenceHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
@@ -134,93 +151,41 @@ public class MssqlPluginImpl extends AbstractDataSourcePlugin {
 
 
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.MSSQL;
+    }
+
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        switch (StrUtil.nullToEmpty(column.getDataType())) {
             case "int":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setInt(columnIndex, Integer.parseInt(value));
-                }
-                break;
+                return bindString(vector, columnIndex, INTEGER);
             case "smallint":
             case "tinyint":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setShort(columnIndex, Short.parseShort(value));
-                }
-                break;
+                return bindString(vector, columnIndex, SMALLINT);
             case "bigint":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.NULL);
-                } else {
-                    ps.setLong(columnIndex, Long.parseLong(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BIGINT);
             case "bit":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BOOLEAN);
-                } else {
-                    ps.setBoolean(columnIndex, Boolean.parseBoolean(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BOOLEAN);
             case "date":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
+                return bindString(vector, columnIndex, DATE);
             case "datetime":
             case "datetime2":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIMESTAMP);
-                } else {
-                    Long tValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
-                }
-                break;
+            case "smalldatetime":
+                return bindString(vector, columnIndex, TIMESTAMP);
             case "time":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIME);
-                } else {
-                    Long t = DateTimeUtil.toTimeStamp(value);
-                    ps.setTime(columnIndex, Objects.isNull(t) ? null : new Time(t));
-                }
-                break;
+                return bindString(vector, columnIndex, TIME);
             case "numeric":
             case "decimal":
             case "smallmoney":
             case "money":
-                ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
-                break;
+                return bindString(vector, columnIndex, DECIMAL);
             case "float":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.FLOAT);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
+                return bindString(vector, columnIndex, DOUBLE);
             case "real":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.REAL);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
-            case "sysname":
-            case "uniqueidentifier":
-            case "text":
-            case "ntext":
-            case "char":
-            case "nchar":
-            case "varchar":
-            case "nvarchar":
-            case "xml":
+                return bindString(vector, columnIndex, REAL);
             default:
-                ps.setString(columnIndex, value);
+                return super.getStringBinder(column, vector, columnIndex);
         }
     }
 
@@ -12,6 +12,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
@@ -62,6 +63,19 @@ public class MssqlTableHandler extends JdbcTableHandler {
         return super.listTableFromDB(sql);
     }
 
+    @Override
+    public Map<String, String> listTableVersions(String catalog, String schema) throws SQLException {
+        String sql = "select" +
+                " o.name as table_name," +
+                " convert(varchar(32), o.modify_date, 121) as table_version" +
+                " from sys.objects o" +
+                " join sys.schemas s" +
+                " on o.schema_id = s.schema_id" +
+                " where o.type = 'U'" +
+                " and s.name = '" + schema + "'";
+        return super.listTableVersionFromDB(sql);
+    }
+
     @Override
     public List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
         String sql = "select" +
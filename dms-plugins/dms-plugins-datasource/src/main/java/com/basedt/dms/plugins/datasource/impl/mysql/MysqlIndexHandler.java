@@ -33,7 +33,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.FK;
@@ -113,16 +115,26 @@ public class MysqlIndexHandler extends JdbcIndexHandler {
 
     @Override
     public List<ObjectDTO> listPkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, PK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, PK));
     }
 
     @Override
     public List<ObjectDTO> listFkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, FK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, FK));
     }
 
-    private List<ObjectDTO> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
-        List<ObjectDTO> constraints = new ArrayList<>();
+    @Override
+    public Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, PK);
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, FK);
+    }
+
+    private Map<String, List<ObjectDTO>> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
+        Map<String, List<ObjectDTO>> constraints = new LinkedHashMap<>();
         String constraintType = "";
         if (PK.equals(type)) {
             constraintType = "PRIMARY KEY";
@@ -152,7 +164,7 @@ public class MysqlIndexHandler extends JdbcIndexHandler {
             obj.setSchemaName(rs.getString("schema_name"));
             obj.setObjectName(rs.getString("object_name"));
             obj.setObjectType(type.name());
-            constraints.add(obj);
+            constraints.computeIfAbsent(rs.getString("table_name"), k -> new ArrayList<>()).add(obj);
         }
         JdbcUtil.close(conn, pstm, rs);
         return constraints;
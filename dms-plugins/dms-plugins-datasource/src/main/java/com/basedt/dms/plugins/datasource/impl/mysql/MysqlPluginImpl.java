@@ -21,21 +21,20 @@ import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.ResponseCode;
 import com.basedt.dms.common.exception.DmsException;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 import lombok.SneakyThrows;
 
-import java.math.BigDecimal;
 import java.sql.*;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 
 /**
@@ -44,6 +43,8 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class MysqlPluginImpl extends AbstractDataSourcePlugin {
 
+    private static final MysqlDataTypeMapper TYPE_MAPPER = new MysqlDataTypeMapper();
+
     public MysqlPluginImpl() {
         super();
         init();
@@ -72,23 +73,29 @@ public class MysqlPluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        MysqlCatalogHandler handler = new MysqlCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            MysqlCatalogHandler handler = new MysqlCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        MysqlTableHandler handler = new MysqlTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new MysqlDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            MysqlTableHandler handler = new MysqlTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        MysqlViewHandler handler = new MysqlViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            MysqlViewHandler handler = new MysqlViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @SneakyThrows
@@ -99,16 +106,20 @@ public class MysqlPluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        MysqlFunctionHandler handler = new MysqlFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            MysqlFunctionHandler handler = new MysqlFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        MysqlIndexHandler handler = new MysqlIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            MysqlIndexHandler handler = new MysqlIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @SneakyThrows
@@ -138,84 +149,82 @@ public class MysqlPluginImpl extends AbstractDataSourcePlugin {
      * @throws ParseException
      */
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
-            case "varchar":
-            case "longtext":
-            case "enum":
-            case "json":
-            case "text":
-            case "mediumtext":
-            case "char":
-                ps.setString(columnIndex, value);
-                break;
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.MYSQL;
+    }
+
+    /**
+     * connector/j ignores a positive fetch size unless useCursorFetch is set,
+     * rows are streamed one by one with fetch size Integer.MIN_VALUE instead
+     */
+    @Override
+    public PreparedStatement prepareStreamingStatement(Connection conn, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+
+    /**
+     * closing a streaming result set reads all remaining rows, so the query is cancelled first
+     */
+    @Override
+    public void closeStreamingStatement(PreparedStatement ps, ResultSet rs, boolean exhausted) {
+        if (!exhausted) {
+            try {
+                ps.cancel();
+            } catch (SQLException ignored) {
+                // the remaining rows are skipped on close then
+            }
+        }
+        super.closeStreamingStatement(ps, rs, exhausted);
+    }
+
+    /**
+     * tinyint(1) columns are also imported from true and false
+     */
+    private static final StringSetter INT_OR_BOOLEAN = nullIfBlank(Types.INTEGER, (ps, columnIndex, value) -> {
+        if ("true".equalsIgnoreCase(value)) {
+            ps.setBoolean(columnIndex, true);
+        } else if ("false".equalsIgnoreCase(value)) {
+            ps.setBoolean(columnIndex, false);
+        } else {
+            ps.setInt(columnIndex, Integer.parseInt(value.trim()));
+        }
+    });
+
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        switch (StrUtil.nullToEmpty(column.getDataType())) {
             case "int":
             case "tinyint":
             case "smallint":
             case "mediumint":
             case "integer":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.INTEGER);
-                } else if ("true".equalsIgnoreCase(value)) {
-                    ps.setBoolean(columnIndex, true);
-                } else if ("false".equalsIgnoreCase(value)) {
-                    ps.setBoolean(columnIndex, false);
-                } else {
-                    ps.setInt(columnIndex, Integer.parseInt(value));
-                }
-                break;
+            case "tinyint unsigned":
+            case "smallint unsigned":
+            case "mediumint unsigned":
+                return bindString(vector, columnIndex, INT_OR_BOOLEAN);
             case "bigint":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BIGINT);
-                } else {
-                    ps.setLong(columnIndex, Long.parseLong(value));
-                }
-                break;
-            case "float":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.FLOAT);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
-            case "double":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DOUBLE);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
+            case "int unsigned":
+            case "integer unsigned":
+                return bindString(vector, columnIndex, BIGINT);
+            case "bigint unsigned":
             case "decimal":
             case "numeric":
-                ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
-                break;
-            case "timestamp":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIMESTAMP);
-                } else {
-                    Long tValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
-                }
-                break;
+                return bindString(vector, columnIndex, DECIMAL);
+            case "float":
+                return bindString(vector, columnIndex, REAL);
+            case "double":
+                return bindString(vector, columnIndex, DOUBLE);
             case "date":
+                return bindString(vector, columnIndex, DATE);
             case "datetime":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
+            case "timestamp":
+                return bindString(vector, columnIndex, TIMESTAMP);
             case "time":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIME);
-                } else {
-                    Long t = DateTimeUtil.toTimeStamp(value);
-                    ps.setTime(columnIndex, Objects.isNull(t) ? null : new Time(t));
-                }
-                break;
+                return bindString(vector, columnIndex, TIME);
             default:
-                ps.setString(columnIndex, value);
+                return super.getStringBinder(column, vector, columnIndex);
         }
     }
 
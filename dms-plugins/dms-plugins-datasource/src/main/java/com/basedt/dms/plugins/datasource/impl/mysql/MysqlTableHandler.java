@@ -35,6 +35,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
@@ -78,6 +79,17 @@ public class MysqlTableHandler extends JdbcTableHandler {
     }
 
 
+    @Override
+    public Map<String, String> listTableVersions(String catalog, String schema) throws SQLException {
+        String sql = "select" +
+                " t.table_name as table_name," +
+                " concat_ws(',', t.create_time, t.update_time) as table_version" +
+                " from information_schema.tables t" +
+                " where t.table_type = 'BASE TABLE'" +
+                " and t.table_schema = '" + schema + "'";
+        return super.listTableVersionFromDB(sql);
+    }
+
     @Override
     public List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
         String sql = "select " +
@@ -85,7 +97,7 @@ public class MysqlTableHandler extends JdbcTableHandler {
                 " t.table_schema as schema_name," +
                 " t.table_name as table_name," +
                 " t.column_name  as column_name," +
-                " t.data_type as data_type," +
+                " case when t.column_type like '% unsigned%' then concat(t.data_type, ' unsigned') else t.data_type end as data_type," +
                 " t.character_maximum_length as data_length," +
                 " t.numeric_precision as data_precision," +
                 " t.numeric_scale as data_scale," +
@@ -110,6 +122,11 @@ public class MysqlTableHandler extends JdbcTableHandler {
         return StrUtil.format("rename table {}.{} to {}", schema, tableName, newName);
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getTableDDL(String catalog, String schema, String tableName) throws SQLException {
         String sql = StrUtil.format("show create table {}.{}", schema, tableName);
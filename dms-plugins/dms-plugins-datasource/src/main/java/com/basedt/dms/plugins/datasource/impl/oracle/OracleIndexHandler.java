@@ -32,7 +32,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.FK;
@@ -125,12 +127,22 @@ public class OracleIndexHandler extends JdbcIndexHandler {
 
     @Override
     public List<ObjectDTO> listPkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return this.getConstraint(catalog, schemaPattern, tableName, "P");
+        return flatten(this.getConstraint(catalog, schemaPattern, tableName, "P"));
     }
 
     @Override
     public List<ObjectDTO> listFkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return this.getConstraint(catalog, schemaPattern, tableName, "F");
+        return flatten(this.getConstraint(catalog, schemaPattern, tableName, "F"));
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException {
+        return this.getConstraint(catalog, schema, null, "P");
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException {
+        return this.getConstraint(catalog, schema, null, "F");
     }
 
     /**
@@ -143,13 +155,14 @@ public class OracleIndexHandler extends JdbcIndexHandler {
      * @return
      * @throws SQLException
      */
-    private List<ObjectDTO> getConstraint(String catalog, String schemaPattern, String tableName, String type) throws SQLException {
-        List<ObjectDTO> list = new ArrayList<>();
+    private Map<String, List<ObjectDTO>> getConstraint(String catalog, String schemaPattern, String tableName, String type) throws SQLException {
+        Map<String, List<ObjectDTO>> list = new LinkedHashMap<>();
         String sql = "select" +
                 "    null as catalog_name," +
                 "    o.owner as schema_name," +
                 "    o.object_name as object_name," +
                 "    o.object_type as object_type," +
+                "    t.table_name as table_name," +
                 "    o.created as create_time," +
                 "    o.last_ddl_time as last_ddl_time" +
                 " from all_objects o" +
@@ -157,14 +170,17 @@ public class OracleIndexHandler extends JdbcIndexHandler {
                 " on o.owner = t.owner" +
                 " and o.object_name = t.constraint_name" +
                 " where o.owner = ?" +
-                " and t.table_name = ? " +
                 " and t.constraint_type = ? ";
-        ;
+        if (StrUtil.isNotEmpty(tableName)) {
+            sql += " and t.table_name = ? ";
+        }
         Connection conn = dataSource.getConnection();
         PreparedStatement pstm = conn.prepareStatement(sql);
         pstm.setString(1, schemaPattern.toUpperCase());
-        pstm.setString(2, tableName.toUpperCase());
-        pstm.setString(3, type.toUpperCase());
+        pstm.setString(2, type.toUpperCase());
+        if (StrUtil.isNotEmpty(tableName)) {
+            pstm.setString(3, tableName.toUpperCase());
+        }
         ResultSet rs = pstm.executeQuery();
         while (rs.next()) {
             ObjectDTO object = new ObjectDTO();
@@ -180,7 +196,7 @@ public class OracleIndexHandler extends JdbcIndexHandler {
             }
             object.setCreateTime(DateTimeUtil.toLocalDateTime(rs.getTimestamp("create_time")));
             object.setLastDdlTime(DateTimeUtil.toLocalDateTime(rs.getTimestamp("last_ddl_time")));
-            list.add(object);
+            list.computeIfAbsent(rs.getString("table_name"), k -> new ArrayList<>()).add(object);
         }
         JdbcUtil.close(conn, pstm, rs);
         return list;
@@ -19,19 +19,17 @@ package com.basedt.dms.plugins.datasource.impl.oracle;
 
 import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcDataTypeMapper;
 import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcForeignTableHandler;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 
-import java.math.BigDecimal;
-import java.sql.*;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +41,10 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class OraclePluginImpl extends AbstractDataSourcePlugin {
 
+    private static final OracleDataTypeMapper TYPE_MAPPER = new OracleDataTypeMapper();
+
+    private static final JdbcDataTypeMapper JDBC_TYPE_MAPPER = new JdbcDataTypeMapper();
+
     public OraclePluginImpl() {
         init();
     }
@@ -69,23 +71,29 @@ public class OraclePluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        OracleCatalogHandler handler = new OracleCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            OracleCatalogHandler handler = new OracleCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        OracleTableHandler handler = new OracleTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new OracleDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            OracleTableHandler handler = new OracleTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        OracleViewHandler handler = new OracleViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            OracleViewHandler handler = new OracleViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     /**
@@ -93,37 +101,47 @@ public class OraclePluginImpl extends AbstractDataSourcePlugin {
      */
     @Override
     public ForeignTableHandler getForeignTableHandler() {
-        JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new JdbcDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(ForeignTableHandler.class, () -> {
+            JdbcForeignTableHandler handler = new JdbcForeignTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), JDBC_TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        OracleFunctionHandler handler = new OracleFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            OracleFunctionHandler handler = new OracleFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        OracleIndexHandler handler = new OracleIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            OracleIndexHandler handler = new OracleIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        OracleMaterializedViewHandler handler = new OracleMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            OracleMaterializedViewHandler handler = new OracleMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public SequenceHandler getSequenceHandler() {
-        OracleSequenceHandler handler = new OracleSequenceHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(SequenceHandler.class, () -> {
+            OracleSequenceHandler handler = new OracleSequenceHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
 
@@ -133,68 +151,40 @@ public class OraclePluginImpl extends AbstractDataSourcePlugin {
     }
 
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
-            case "VARCHAR2":
-            case "CHAR":
-                ps.setString(columnIndex, value);
-                break;
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.ORACLE;
+    }
+
+    @Override
+    protected String getValidationQuery() {
+        return "select 1 from dual";
+    }
+
+    /**
+     * number columns are bound by their precision and scale, timestamp types carry them in the type name
+     */
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        String dataType = StrUtil.nullToEmpty(column.getDataType());
+        if (dataType.startsWith("TIMESTAMP")) {
+            return bindString(vector, columnIndex, TIMESTAMP);
+        }
+        switch (dataType) {
             case "NUMBER":
-                if (column.getDataScale() == 0 && column.getDataPrecision() <= 9) {
-                    if (StrUtil.isBlank(value)) {
-                        ps.setNull(columnIndex, Types.INTEGER);
-                    } else {
-                        ps.setInt(columnIndex, Integer.parseInt(value));
-                    }
-                } else if (column.getDataScale() == 0 && column.getDataPrecision() <= 18) {
-                    if (StrUtil.isBlank(value)) {
-                        ps.setNull(columnIndex, Types.BIGINT);
-                    } else {
-                        ps.setLong(columnIndex, Long.parseLong(value));
-                    }
-                } else if (column.getDataScale() > 0) {
-                    if (StrUtil.isBlank(value)) {
-                        ps.setNull(columnIndex, Types.DOUBLE);
-                    } else {
-                        ps.setDouble(columnIndex, Double.parseDouble(value));
-                    }
-                } else {
-                    ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
+                Integer precision = column.getDataPrecision();
+                Integer scale = column.getDataScale();
+                if (Objects.nonNull(precision) && precision > 0 && (Objects.isNull(scale) || scale == 0)) {
+                    return bindString(vector, columnIndex, precision <= 9 ? INTEGER : precision <= 18 ? BIGINT : DECIMAL);
                 }
-                break;
+                return bindString(vector, columnIndex, DECIMAL);
             case "DATE":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
-            case "TIMESTAMP":
-            case "TIMESTAMP WITH TIME ZONE":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIMESTAMP);
-                } else {
-                    Long tValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
-                }
-                break;
+                return bindString(vector, columnIndex, DATE);
             case "BINARY_FLOAT":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.FLOAT);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
+                return bindString(vector, columnIndex, REAL);
             case "BINARY_DOUBLE":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DOUBLE);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
+                return bindString(vector, columnIndex, DOUBLE);
             default:
-                ps.setString(columnIndex, value);
+                return super.getStringBinder(column, vector, columnIndex);
         }
     }
 
@@ -35,6 +35,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class OracleTableHandler extends JdbcTableHandler {
@@ -133,6 +134,17 @@ public class OracleTableHandler extends JdbcTableHandler {
         return super.listTableFromDB(sql);
     }
 
+    @Override
+    public Map<String, String> listTableVersions(String catalog, String schema) throws SQLException {
+        String sql = "select" +
+                " o.object_name as table_name," +
+                " to_char(o.last_ddl_time,'yyyymmddhh24miss') as table_version" +
+                " from all_objects o" +
+                " where o.object_type = 'TABLE'" +
+                " and o.owner = '" + schema + "'";
+        return super.listTableVersionFromDB(sql);
+    }
+
     @Override
     public List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
         String sql = "select" +
@@ -155,8 +167,10 @@ public class OracleTableHandler extends JdbcTableHandler {
                 " on t.owner = c.owner" +
                 " and t.table_name = c.table_name" +
                 " and t.column_name = c.column_name" +
-                " where t.owner = '" + schemaPattern.toUpperCase() + "'" +
-                " and t.table_name = '" + tableName.toUpperCase() + "'";
+                " where t.owner = '" + schemaPattern.toUpperCase() + "'";
+        if (StrUtil.isNotEmpty(tableName)) {
+            sql += " and t.table_name = '" + tableName.toUpperCase() + "'";
+        }
         List<ColumnDTO> columns = super.listColumnFromTable(sql);
         for (ColumnDTO column : columns) {
             if (StrUtil.isNotEmpty(column.getDefaultValue()) && column.getDefaultValue().endsWith(".nextval")) {
@@ -168,6 +182,11 @@ public class OracleTableHandler extends JdbcTableHandler {
         return columns;
     }
 
+    @Override
+    public Map<String, String> getTableDDLBySchema(String catalog, String schema) throws SQLException {
+        return null;
+    }
+
     @Override
     public String getTableDDL(String catalog, String schema, String tableName) throws SQLException {
         StringBuilder builder = new StringBuilder();
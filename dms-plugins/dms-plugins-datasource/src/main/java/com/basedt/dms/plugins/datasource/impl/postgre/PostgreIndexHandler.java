@@ -32,7 +32,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.basedt.dms.plugins.datasource.enums.DbObjectType.*;
@@ -149,16 +151,26 @@ public class PostgreIndexHandler extends JdbcIndexHandler {
 
     @Override
     public List<ObjectDTO> listPkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, PK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, PK));
     }
 
     @Override
     public List<ObjectDTO> listFkByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
-        return getConstraint(catalog, schemaPattern, tableName, FK);
+        return flatten(getConstraint(catalog, schemaPattern, tableName, FK));
     }
 
-    private List<ObjectDTO> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
-        List<ObjectDTO> pkList = new ArrayList<>();
+    @Override
+    public Map<String, List<ObjectDTO>> listPkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, PK);
+    }
+
+    @Override
+    public Map<String, List<ObjectDTO>> listFkBySchema(String catalog, String schema) throws SQLException {
+        return getConstraint(catalog, schema, null, FK);
+    }
+
+    private Map<String, List<ObjectDTO>> getConstraint(String catalog, String schemaPattern, String tableName, DbObjectType type) throws SQLException {
+        Map<String, List<ObjectDTO>> pkList = new LinkedHashMap<>();
         String constraintType = "";
         if (PK.equals(type)) {
             constraintType = "PRIMARY KEY";
@@ -191,7 +203,7 @@ public class PostgreIndexHandler extends JdbcIndexHandler {
             obj.setSchemaName(rs.getString("table_schema"));
             obj.setObjectName(rs.getString("constraint_name"));
             obj.setObjectType(type.name());
-            pkList.add(obj);
+            pkList.computeIfAbsent(rs.getString("table_name"), k -> new ArrayList<>()).add(obj);
         }
         JdbcUtil.close(conn, pstm, rs);
         return pkList;
@@ -19,20 +19,18 @@ package com.basedt.dms.plugins.datasource.impl.postgre;
 
 import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.constant.Constants;
-import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.*;
 import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
 import com.basedt.dms.plugins.datasource.enums.DataSourceType;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
 import com.google.auto.service.AutoService;
+import org.apache.arrow.vector.VarCharVector;
 
-import java.math.BigDecimal;
 import java.sql.*;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 
 /**
@@ -41,6 +39,8 @@ import java.util.Properties;
 @AutoService(DataSourcePlugin.class)
 public class PostgrePluginImpl extends AbstractDataSourcePlugin {
 
+    private static final PostgreDataTypeMapper TYPE_MAPPER = new PostgreDataTypeMapper();
+
     public PostgrePluginImpl() {
         init();
     }
@@ -68,58 +68,74 @@ public class PostgrePluginImpl extends AbstractDataSourcePlugin {
 
     @Override
     public CatalogHandler getCatalogHandler() {
-        PostgreCatalogHandler handler = new PostgreCatalogHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
-        return handler;
+        return getHandler(CatalogHandler.class, () -> {
+            PostgreCatalogHandler handler = new PostgreCatalogHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), getDatabaseName());
+            return handler;
+        });
     }
 
     @Override
     public TableHandler getTableHandler() {
-        PostgreTableHandler handler = new PostgreTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new PostgreDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(TableHandler.class, () -> {
+            PostgreTableHandler handler = new PostgreTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public ViewHandler getViewHandler() {
-        PostgreViewHandler handler = new PostgreViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(ViewHandler.class, () -> {
+            PostgreViewHandler handler = new PostgreViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public ForeignTableHandler getForeignTableHandler() {
-        PostgreFgnTableHandler handler = new PostgreFgnTableHandler();
-        handler.initialize(getDataSource(), new HashMap<>(), new PostgreDataTypeMapper(), getIndexHandler());
-        return handler;
+        return getHandler(ForeignTableHandler.class, () -> {
+            PostgreFgnTableHandler handler = new PostgreFgnTableHandler();
+            handler.initialize(getDataSource(), new HashMap<>(), TYPE_MAPPER, getIndexHandler());
+            return handler;
+        });
     }
 
     @Override
     public FunctionHandler getFunctionHandler() {
-        PostgreFunctionHandler handler = new PostgreFunctionHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(FunctionHandler.class, () -> {
+            PostgreFunctionHandler handler = new PostgreFunctionHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public IndexHandler getIndexHandler() {
-        PostgreIndexHandler handler = new PostgreIndexHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(IndexHandler.class, () -> {
+            PostgreIndexHandler handler = new PostgreIndexHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public MaterializedViewHandler getMaterializedViewHandler() {
-        PostgreMaterializedViewHandler handler = new PostgreMaterializedViewHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(MaterializedViewHandler.class, () -> {
+            PostgreMaterializedViewHandler handler = new PostgreMaterializedViewHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
     public SequenceHandler getSequenceHandler() {
-        PostgreSequenceHandler handler = new PostgreSequenceHandler();
-        handler.initialize(getDataSource(), new HashMap<>());
-        return handler;
+        return getHandler(SequenceHandler.class, () -> {
+            PostgreSequenceHandler handler = new PostgreSequenceHandler();
+            handler.initialize(getDataSource(), new HashMap<>());
+            return handler;
+        });
     }
 
     @Override
@@ -129,80 +145,62 @@ public class PostgrePluginImpl extends AbstractDataSourcePlugin {
 
 
     @Override
-    protected void setColumnValue(PreparedStatement ps, ColumnDTO column, String value, int columnIndex) throws SQLException, ParseException {
-        switch (column.getDataType()) {
+    public SqlDialect getSqlDialect() {
+        return SqlDialect.POSTGRESQL;
+    }
+
+    /**
+     * pgjdbc only reads rows by cursor inside a transaction, in auto commit mode the whole result is loaded
+     */
+    @Override
+    public PreparedStatement prepareStreamingStatement(Connection conn, String sql, int fetchSize) throws SQLException {
+        conn.setAutoCommit(false);
+        return super.prepareStreamingStatement(conn, sql, fetchSize);
+    }
+
+    /**
+     * json, uuid, interval, network and user defined types are sent untyped and cast by the server
+     */
+    private static final StringSetter UNTYPED = nullIfBlank(Types.OTHER, (ps, columnIndex, value) -> ps.setObject(columnIndex, value, Types.OTHER));
+
+    @Override
+    protected ColumnBinder getStringBinder(ColumnDTO column, VarCharVector vector, int columnIndex) {
+        switch (StrUtil.nullToEmpty(column.getDataType())) {
             case "smallint":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.SMALLINT);
-                } else {
-                    ps.setShort(columnIndex, Short.parseShort(value));
-                }
-                break;
+                return bindString(vector, columnIndex, SMALLINT);
             case "integer":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.INTEGER);
-                } else {
-                    ps.setInt(columnIndex, Integer.parseInt(value));
-                }
-                break;
+                return bindString(vector, columnIndex, INTEGER);
             case "bigint":
             case "oid":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BIGINT);
-                } else {
-                    ps.setLong(columnIndex, Long.parseLong(value));
-                }
-                break;
-            case "name":
-            case "inet":
-            case "varchar":
-            case "text":
-            case "\"char\"":
-            case "character varying":
-                ps.setString(columnIndex, value);
-                break;
+                return bindString(vector, columnIndex, BIGINT);
             case "boolean":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.BOOLEAN);
-                } else {
-                    ps.setBoolean(columnIndex, Boolean.parseBoolean(value));
-                }
-                break;
+                return bindString(vector, columnIndex, BOOLEAN);
             case "numeric":
-                ps.setBigDecimal(columnIndex, StrUtil.isBlank(value) ? null : BigDecimal.valueOf(Double.parseDouble(value)));
-                break;
-            case "timestamp with time zone":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.TIMESTAMP);
-                } else {
-                    Long tValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setTimestamp(columnIndex, Objects.isNull(tValue) ? null : new Timestamp(tValue));
-                }
-                break;
-            case "date":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DATE);
-                } else {
-                    Long dValue = DateTimeUtil.toTimeStamp(value);
-                    ps.setDate(columnIndex, Objects.isNull(dValue) ? null : new Date(dValue));
-                }
-                break;
-            case "double precision":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.DOUBLE);
-                } else {
-                    ps.setDouble(columnIndex, Double.parseDouble(value));
-                }
-                break;
+                return bindString(vector, columnIndex, DECIMAL);
             case "real":
-                if (StrUtil.isBlank(value)) {
-                    ps.setNull(columnIndex, Types.REAL);
-                } else {
-                    ps.setFloat(columnIndex, Float.parseFloat(value));
-                }
-                break;
+                return bindString(vector, columnIndex, REAL);
+            case "double precision":
+                return bindString(vector, columnIndex, DOUBLE);
+            case "date":
+                return bindString(vector, columnIndex, DATE);
+            case "timestamp without time zone":
+            case "timestamp with time zone":
+                return bindString(vector, columnIndex, TIMESTAMP);
+            case "time without time zone":
+                return bindString(vector, columnIndex, TIME);
+            case "time with time zone":
+            case "interval":
+            case "json":
+            case "jsonb":
+            case "uuid":
+            case "inet":
+            case "cidr":
+            case "macaddr":
+            case "xml":
+            case "USER-DEFINED":
+                return bindString(vector, columnIndex, UNTYPED);
             default:
-                ps.setString(columnIndex, value);
+                return super.getStringBinder(column, vector, columnIndex);
         }
     }
 
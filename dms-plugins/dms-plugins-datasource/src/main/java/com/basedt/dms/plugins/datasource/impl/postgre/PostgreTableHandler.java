@@ -30,6 +30,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class PostgreTableHandler extends JdbcTableHandler {
@@ -65,6 +66,25 @@ public class PostgreTableHandler extends JdbcTableHandler {
         return super.listTableFromDB(sql);
     }
 
+    /**
+     * xmin of the pg_class row and of its attribute, index and comment rows changes on every ddl of the table
+     */
+    @Override
+    public Map<String, String> listTableVersions(String catalog, String schema) throws SQLException {
+        String sql = "select" +
+                " c.relname as table_name," +
+                " concat_ws(':', c.xmin::text," +
+                " (select max(a.xmin::text::bigint) from pg_catalog.pg_attribute a where a.attrelid = c.oid)," +
+                " (select max(i.xmin::text::bigint) from pg_catalog.pg_index i where i.indrelid = c.oid)," +
+                " (select max(d.xmin::text::bigint) from pg_catalog.pg_description d where d.objoid = c.oid)) as table_version" +
+                " from pg_catalog.pg_class c" +
+                " join pg_catalog.pg_namespace n" +
+                " on n.oid = c.relnamespace" +
+                " where c.relkind in ('r','p')" +
+                " and n.nspname = '" + schema + "'";
+        return super.listTableVersionFromDB(sql);
+    }
+
     @Override
     public List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) throws SQLException {
         String sql = "select" +
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.basedt.dms.plugins.datasource.param;
+
+import lombok.Data;
+
+@Data
+public class InsertBatchParam {
+
+    /**
+     * writers inserting batches concurrently, each with its own connection. capped by the connection pool
+     */
+    private int parallelism = 1;
+
+    /**
+     * batches are dealt to writers round robin, so every writer inserts its own share in file order.
+     * writers still run concurrently, so rows of different writers are not inserted in file order.
+     * otherwise writers take the next batch from a shared queue as soon as they are free
+     */
+    private boolean ordered = false;
+
+    /**
+     * batches inserted by a writer between commits
+     */
+    private int commitInterval = 1;
+}
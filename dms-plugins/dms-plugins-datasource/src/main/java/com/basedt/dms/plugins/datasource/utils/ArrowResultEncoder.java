@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * encode rows of a {@link ResultSetRowReader} as an arrow ipc stream with one record batch.
+ * the reader must be created with raw temporal values, timestamp columns are written as
+ * milliseconds of local date time and date columns as epoch days.
+ */
+public class ArrowResultEncoder {
+
+    /**
+     * field metadata of decimal columns, which are written as plain strings to keep their precision
+     */
+    public static final String METADATA_DECIMAL = "dms.decimal";
+
+    private static final BufferAllocator ROOT_ALLOCATOR = new RootAllocator(Long.MAX_VALUE);
+
+    private final Schema schema;
+
+    private final ValueWriter[] writers;
+
+    private int rowCount = 0;
+
+    public ArrowResultEncoder(List<ResultSetRowReader.Column> columns) {
+        List<Field> fields = new ArrayList<>(columns.size());
+        this.writers = new ValueWriter[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ResultSetRowReader.Column column = columns.get(i);
+            Map<String, String> metadata = BigDecimal.class.equals(column.getType()) && !isBinary(column)
+                    ? Map.of(METADATA_DECIMAL, Boolean.TRUE.toString()) : null;
+            // same name as the dataIndex of result columns, so cached rows map to the same keys
+            fields.add(new Field(ResultSetRowReader.formatColumnName(column.getName()), new FieldType(true, resolveType(column), null, metadata), null));
+            this.writers[i] = resolveWriter(column);
+        }
+        this.schema = new Schema(fields);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * row count of the last encoded batch
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * read at most maxRows rows from reader and encode them
+     */
+    public byte[] encode(ResultSetRowReader reader, int maxRows) throws SQLException {
+        try (BufferAllocator allocator = ROOT_ALLOCATOR.newChildAllocator("result-encoder", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+            root.allocateNew();
+            int rowNum = 0;
+            while (rowNum < maxRows && reader.next()) {
+                Object[] row = reader.getRow();
+                // validity bits of a newly allocated vector are cleared, so null values are just skipped
+                for (int i = 0; i < writers.length; i++) {
+                    if (Objects.nonNull(row[i])) {
+                        writers[i].write(root.getVector(i), rowNum, row[i]);
+                    }
+                }
+                rowNum++;
+            }
+            root.setRowCount(rowNum);
+            this.rowCount = rowNum;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out))) {
+                writer.start();
+                writer.writeBatch();
+                writer.end();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    private ArrowType resolveType(ResultSetRowReader.Column column) {
+        if (isBinary(column)) {
+            return ArrowType.Binary.INSTANCE;
+        }
+        Class<?> type = column.getType();
+        if (Integer.class.equals(type)) {
+            return new ArrowType.Int(32, true);
+        } else if (Long.class.equals(type)) {
+            return new ArrowType.Int(64, true);
+        } else if (Short.class.equals(type)) {
+            return new ArrowType.Int(16, true);
+        } else if (Byte.class.equals(type)) {
+            return new ArrowType.Int(8, true);
+        } else if (Double.class.equals(type)) {
+            return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        } else if (Float.class.equals(type)) {
+            return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+        } else if (Boolean.class.equals(type)) {
+            return ArrowType.Bool.INSTANCE;
+        } else if (Timestamp.class.equals(type)) {
+            return new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+        } else if (Date.class.equals(type)) {
+            return new ArrowType.Date(DateUnit.DAY);
+        }
+        return ArrowType.Utf8.INSTANCE;
+    }
+
+    private ValueWriter resolveWriter(ResultSetRowReader.Column column) {
+        if (isBinary(column)) {
+            return (vector, idx, value) -> ((VarBinaryVector) vector).setSafe(idx, (byte[]) value);
+        }
+        Class<?> type = column.getType();
+        if (Integer.class.equals(type)) {
+            return (vector, idx, value) -> ((IntVector) vector).setSafe(idx, ((Number) value).intValue());
+        } else if (Long.class.equals(type)) {
+            return (vector, idx, value) -> ((BigIntVector) vector).setSafe(idx, ((Number) value).longValue());
+        } else if (Short.class.equals(type)) {
+            return (vector, idx, value) -> ((SmallIntVector) vector).setSafe(idx, ((Number) value).shortValue());
+        } else if (Byte.class.equals(type)) {
+            return (vector, idx, value) -> ((TinyIntVector) vector).setSafe(idx, ((Number) value).byteValue());
+        } else if (Double.class.equals(type)) {
+            return (vector, idx, value) -> ((Float8Vector) vector).setSafe(idx, ((Number) value).doubleValue());
+        } else if (Float.class.equals(type)) {
+            return (vector, idx, value) -> ((Float4Vector) vector).setSafe(idx, ((Number) value).floatValue());
+        } else if (Boolean.class.equals(type)) {
+            return (vector, idx, value) -> ((BitVector) vector).setSafe(idx, Boolean.TRUE.equals(value) ? 1 : 0);
+        } else if (Timestamp.class.equals(type)) {
+            return (vector, idx, value) -> ((TimeStampMilliVector) vector).setSafe(idx, ((Number) value).longValue());
+        } else if (Date.class.equals(type)) {
+            return (vector, idx, value) -> ((DateDayVector) vector).setSafe(idx, ((Number) value).intValue());
+        }
+        return (vector, idx, value) -> {
+            String str = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : String.valueOf(value);
+            ((VarCharVector) vector).setSafe(idx, str.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private boolean isBinary(ResultSetRowReader.Column column) {
+        switch (column.getSqlType()) {
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+
+        void write(FieldVector vector, int index, Object value);
+
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import cn.hutool.crypto.SecureUtil;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidDataSourceFactory;
+import com.basedt.dms.plugins.datasource.enums.PoolProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * connection pools of user datasources, one druid pool per datasource name.
+ * pools are created atomically, rebuilt when connection settings change, closed after being idle
+ * and the sum of max active connections of all pools is kept under a global limit.
+ * a replaced pool is retired and only closed once none of its connections is in use.
+ * callers get a stable {@link ManagedDataSource} which resolves the current pool on each connection request.
+ */
+public class DataSourcePoolRegistry {
+
+    private final static Logger log = LoggerFactory.getLogger(DataSourcePoolRegistry.class);
+
+    private static final ConcurrentHashMap<String, PoolEntry> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * pools replaced or invalidated while connections may still be in use, guarded by the registry lock
+     */
+    private static final List<RetiredPool> RETIRED = new ArrayList<>();
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Datasource-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile int maxTotal = 400;
+
+    private static volatile long idleTimeoutMillis = TimeUnit.MINUTES.toMillis(30);
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(DataSourcePoolRegistry::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    private DataSourcePoolRegistry() {
+    }
+
+    public static void configure(int maxTotalConnections, long idleTimeout) {
+        maxTotal = maxTotalConnections;
+        idleTimeoutMillis = idleTimeout;
+    }
+
+    public static DataSource getDataSource(String name, String jdbcUrl, String driverClassName, String userName, String password, Properties attrs, Properties poolProps) {
+        return new ManagedDataSource(name, jdbcUrl, driverClassName, userName, password, attrs, poolProps);
+    }
+
+    /**
+     * close the pool of datasource, a new pool is created on next connection request
+     */
+    public static void invalidate(String name) {
+        if (Objects.isNull(name)) {
+            return;
+        }
+        synchronized (DataSourcePoolRegistry.class) {
+            RETIRED.stream().filter(retired -> retired.name.equals(name)).forEach(retired -> retired.reusable = false);
+            PoolEntry entry = POOLS.remove(name);
+            if (Objects.nonNull(entry)) {
+                RETIRED.add(new RetiredPool(name, entry, false));
+            }
+        }
+    }
+
+    public static void closeAll() {
+        List<PoolEntry> closing = new ArrayList<>();
+        synchronized (DataSourcePoolRegistry.class) {
+            RETIRED.forEach(retired -> closing.add(retired.entry));
+            RETIRED.clear();
+            for (String name : new ArrayList<>(POOLS.keySet())) {
+                PoolEntry entry = POOLS.remove(name);
+                if (Objects.nonNull(entry)) {
+                    closing.add(entry);
+                }
+            }
+        }
+        closing.forEach(PoolEntry::close);
+    }
+
+    public static int getPoolCount() {
+        return POOLS.size();
+    }
+
+    public static int getActiveCount() {
+        int retired;
+        synchronized (DataSourcePoolRegistry.class) {
+            retired = RETIRED.stream().mapToInt(pool -> pool.entry.dataSource.getActiveCount()).sum();
+        }
+        return retired + POOLS.values().stream().mapToInt(entry -> entry.dataSource.getActiveCount()).sum();
+    }
+
+    /**
+     * max active connections of the pool behind datasource, 1 if it is not pooled.
+     * a registered datasource is never acquired for this, so reading the size neither creates its pool
+     * nor closes idle pools of others
+     */
+    public static int getMaxActive(DataSource dataSource) {
+        if (dataSource instanceof ManagedDataSource managed) {
+            PoolEntry entry = POOLS.get(managed.name);
+            if (Objects.nonNull(entry) && entry.fingerprint.equals(managed.fingerprint)) {
+                return Math.max(1, entry.dataSource.getMaxActive());
+            }
+            return Math.max(1, Math.min(configuredMaxActive(managed), maxTotal));
+        }
+        try {
+            if (Objects.nonNull(dataSource) && dataSource.isWrapperFor(DruidDataSource.class)) {
+                return Math.max(1, dataSource.unwrap(DruidDataSource.class).getMaxActive());
+            }
+        } catch (SQLException e) {
+            log.error("get pool size error : {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    static DruidDataSource acquire(ManagedDataSource config) throws SQLException {
+        PoolEntry entry = POOLS.get(config.name);
+        if (Objects.nonNull(entry) && entry.fingerprint.equals(config.fingerprint)) {
+            entry.lastAccess = System.currentTimeMillis();
+            return entry.dataSource;
+        }
+        List<PoolEntry> closing = new ArrayList<>();
+        synchronized (DataSourcePoolRegistry.class) {
+            entry = POOLS.get(config.name);
+            if (Objects.isNull(entry) || !entry.fingerprint.equals(config.fingerprint)) {
+                PoolEntry previous = entry;
+                if (Objects.nonNull(previous)) {
+                    POOLS.remove(config.name, previous);
+                    RETIRED.add(new RetiredPool(config.name, previous, true));
+                }
+                // datasources sharing a name with different settings switch back to their still open pool
+                entry = reuseRetired(config);
+                if (Objects.isNull(entry)) {
+                    int maxActive = reserve(config, closing);
+                    entry = new PoolEntry(createPool(config, maxActive), config.fingerprint);
+                }
+                POOLS.put(config.name, entry);
+            }
+            entry.lastAccess = System.currentTimeMillis();
+        }
+        closing.forEach(PoolEntry::close);
+        return entry.dataSource;
+    }
+
+    private static PoolEntry reuseRetired(ManagedDataSource config) {
+        Iterator<RetiredPool> it = RETIRED.iterator();
+        while (it.hasNext()) {
+            RetiredPool retired = it.next();
+            if (retired.reusable && retired.name.equals(config.name) && retired.entry.fingerprint.equals(config.fingerprint)) {
+                it.remove();
+                return retired.entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * make room for a new pool by closing least recently used idle pools
+     *
+     * @return max active connections granted to the new pool
+     */
+    private static int reserve(ManagedDataSource config, List<PoolEntry> closing) throws SQLException {
+        int wanted = configuredMaxActive(config);
+        int used = POOLS.values().stream().mapToInt(entry -> entry.dataSource.getMaxActive()).sum()
+                + RETIRED.stream().mapToInt(retired -> retired.entry.dataSource.getActiveCount() + retired.entry.dataSource.getPoolingCount()).sum();
+        if (used + wanted > maxTotal) {
+            List<Map.Entry<String, PoolEntry>> idle = new ArrayList<>();
+            for (Map.Entry<String, PoolEntry> e : POOLS.entrySet()) {
+                if (e.getValue().dataSource.getActiveCount() == 0) {
+                    idle.add(e);
+                }
+            }
+            idle.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<String, PoolEntry> e : idle) {
+                if (used + wanted <= maxTotal) {
+                    break;
+                }
+                if (POOLS.remove(e.getKey(), e.getValue())) {
+                    used -= e.getValue().dataSource.getMaxActive();
+                    closing.add(e.getValue());
+                }
+            }
+        }
+        int granted = Math.min(wanted, maxTotal - used);
+        if (granted <= 0) {
+            throw new SQLException("too many pooled connections, limit is " + maxTotal);
+        }
+        return granted;
+    }
+
+    /**
+     * max active connections asked by the pool properties of datasource
+     */
+    private static int configuredMaxActive(ManagedDataSource config) {
+        int wanted = PoolProfile.OLTP.getMaxActive();
+        for (Properties props : Arrays.asList(config.attrs, config.poolProps)) {
+            String configured = Objects.isNull(props) ? null : props.getProperty("maxActive");
+            if (Objects.nonNull(configured) && configured.trim().matches("\\d+")) {
+                wanted = Integer.parseInt(configured.trim());
+            }
+        }
+        return wanted;
+    }
+
+    private static DruidDataSource createPool(ManagedDataSource config, int maxActive) {
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setName(config.name);
+        dataSource.setUsername(config.userName);
+        dataSource.setPassword(config.password);
+        dataSource.setDriverClassName(config.driverClassName);
+        dataSource.setUrl(config.jdbcUrl);
+        dataSource.setBreakAfterAcquireFailure(true);
+        Properties poolProps = Objects.isNull(config.poolProps) ? PoolProfile.OLTP.toProperties() : config.poolProps;
+        for (Properties props : Arrays.asList(config.attrs, poolProps)) {
+            if (props != null) {
+                try {
+                    DruidDataSourceFactory.config(dataSource, props);
+                } catch (SQLException e) {
+                    log.error("get dataSource error : {}", e.getMessage());
+                }
+            }
+        }
+        dataSource.setMaxActive(maxActive);
+        dataSource.setMinIdle(Math.min(dataSource.getMinIdle(), maxActive));
+        return dataSource;
+    }
+
+    /**
+     * close retired pools without connections in use, then retire pools idle for too long.
+     * a pool just retired may still be handed out by a lookup in flight, so it is closed on a later round.
+     */
+    private static void evictIdle() {
+        List<PoolEntry> closing = new ArrayList<>();
+        synchronized (DataSourcePoolRegistry.class) {
+            Iterator<RetiredPool> it = RETIRED.iterator();
+            while (it.hasNext()) {
+                RetiredPool retired = it.next();
+                if (retired.entry.dataSource.getActiveCount() == 0) {
+                    it.remove();
+                    closing.add(retired.entry);
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, PoolEntry> e : POOLS.entrySet()) {
+                PoolEntry entry = e.getValue();
+                if (entry.dataSource.getActiveCount() == 0 && now - entry.lastAccess > idleTimeoutMillis
+                        && POOLS.remove(e.getKey(), entry)) {
+                    log.info("close idle connection pool of datasource {}", e.getKey());
+                    RETIRED.add(new RetiredPool(e.getKey(), entry, false));
+                }
+            }
+        }
+        closing.forEach(PoolEntry::close);
+    }
+
+    private static class PoolEntry {
+
+        private final DruidDataSource dataSource;
+
+        private final String fingerprint;
+
+        private volatile long lastAccess;
+
+        PoolEntry(DruidDataSource dataSource, String fingerprint) {
+            this.dataSource = dataSource;
+            this.fingerprint = fingerprint;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        void close() {
+            try {
+                dataSource.close();
+            } catch (Exception e) {
+                log.error("close connection pool error : {}", e.getMessage());
+            }
+        }
+    }
+
+    private static class RetiredPool {
+
+        private final String name;
+
+        private final PoolEntry entry;
+
+        private boolean reusable;
+
+        RetiredPool(String name, PoolEntry entry, boolean reusable) {
+            this.name = name;
+            this.entry = entry;
+            this.reusable = reusable;
+        }
+    }
+
+    /**
+     * connection settings of a datasource, connections are taken from the registered pool
+     */
+    public static class ManagedDataSource implements DataSource {
+
+        private final String name;
+
+        private final String jdbcUrl;
+
+        private final String driverClassName;
+
+        private final String userName;
+
+        private final String password;
+
+        private final Properties attrs;
+
+        private final Properties poolProps;
+
+        private final String fingerprint;
+
+        ManagedDataSource(String name, String jdbcUrl, String driverClassName, String userName, String password, Properties attrs, Properties poolProps) {
+            this.jdbcUrl = jdbcUrl;
+            this.driverClassName = driverClassName;
+            this.userName = userName;
+            this.password = password;
+            this.attrs = attrs;
+            this.poolProps = poolProps;
+            this.fingerprint = SecureUtil.sha256(String.join("\n", jdbcUrl, driverClassName, String.valueOf(userName),
+                    String.valueOf(password), String.valueOf(Objects.isNull(attrs) ? null : new TreeMap<>(attrs)),
+                    String.valueOf(Objects.isNull(poolProps) ? null : new TreeMap<>(poolProps))));
+            this.name = Objects.isNull(name) ? this.fingerprint : name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return acquire(this).getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return acquire(this).getConnection(username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return acquire(this).getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            acquire(this).setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            acquire(this).setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return acquire(this).getLoginTimeout();
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            return acquire(this).unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || acquire(this).isWrapperFor(iface);
+        }
+    }
+}
@@ -17,24 +17,18 @@
  */
 package com.basedt.dms.plugins.datasource.utils;
 
-import com.alibaba.druid.pool.DruidDataSource;
-import com.alibaba.druid.pool.DruidDataSourceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class JdbcUtil {
 
     private final static Logger log = LoggerFactory.getLogger(JdbcUtil.class);
 
-    public final static ConcurrentHashMap<String, DataSource> DATA_SOURCE_MAP = new ConcurrentHashMap<>();
-
     public static Connection getConnection(String jdbcUrl, String driverClassName, String userName, String password, Properties attrs) throws ClassNotFoundException, SQLException {
         Class.forName(driverClassName);
         Properties props = new Properties();
@@ -74,30 +68,11 @@ public class JdbcUtil {
     }
 
     public static DataSource getDataSource(String datasourceName, String jdbcUrl, String driverClassName, String userName, String password, Properties attrs) {
-        if (Objects.nonNull(datasourceName) && JdbcUtil.DATA_SOURCE_MAP.containsKey(datasourceName)) {
-            return JdbcUtil.DATA_SOURCE_MAP.get(datasourceName);
-        }
-        DruidDataSource dataSource = new DruidDataSource();
-        dataSource.setUsername(userName);
-        dataSource.setPassword(password);
-        dataSource.setDriverClassName(driverClassName);
-        dataSource.setUrl(jdbcUrl);
-        dataSource.setBreakAfterAcquireFailure(true);
-        dataSource.setMinIdle(5);
-        dataSource.setMaxActive(20);
-        dataSource.setRemoveAbandoned(true);
-        dataSource.setRemoveAbandonedTimeout(5);
-        dataSource.setTimeBetweenEvictionRunsMillis(60000);
-        dataSource.setMinEvictableIdleTimeMillis(30000);
-        if (attrs != null) {
-            try {
-                DruidDataSourceFactory.config(dataSource, attrs);
-            } catch (SQLException e) {
-                log.error("get dataSource error : {}", e.getMessage());
-            }
-        }
-        JdbcUtil.DATA_SOURCE_MAP.putIfAbsent(datasourceName, dataSource);
-        return dataSource;
+        return getDataSource(datasourceName, jdbcUrl, driverClassName, userName, password, attrs, null);
+    }
+
+    public static DataSource getDataSource(String datasourceName, String jdbcUrl, String driverClassName, String userName, String password, Properties attrs, Properties poolProps) {
+        return DataSourcePoolRegistry.getDataSource(datasourceName, jdbcUrl, driverClassName, userName, password, attrs, poolProps);
     }
 
     public static int execute(Connection conn, String sql) throws SQLException {
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.db.sql.SqlUtil;
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.common.utils.DateTimeUtil;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * read rows of a result set by column index into a reusable row buffer.
+ * the value extractor of each column is resolved once from ResultSetMetaData,
+ * temporal values are formatted as string and lob/array values are materialized
+ * the same way sql console and data export present them.
+ * with raw temporal values, timestamp is read as milliseconds of local date time and date as epoch day.
+ */
+public class ResultSetRowReader {
+
+    private final ResultSet rs;
+
+    private final List<Column> columns;
+
+    private final ColumnExtractor[] extractors;
+
+    private final Object[] row;
+
+    private final boolean rawTemporal;
+
+    private boolean exhausted = false;
+
+    public ResultSetRowReader(ResultSet rs) throws SQLException {
+        this(rs, false);
+    }
+
+    public ResultSetRowReader(ResultSet rs, boolean rawTemporal) throws SQLException {
+        this.rs = rs;
+        this.rawTemporal = rawTemporal;
+        ResultSetMetaData metaData = rs.getMetaData();
+        int count = metaData.getColumnCount();
+        List<Column> list = new ArrayList<>(count);
+        this.extractors = new ColumnExtractor[count];
+        for (int i = 1; i <= count; i++) {
+            Column column = new Column();
+            String label = metaData.getColumnLabel(i);
+            column.setName(StrUtil.isEmpty(label) ? metaData.getColumnName(i).toLowerCase() : label.toLowerCase());
+            column.setSqlType(metaData.getColumnType(i));
+            column.setTypeName(metaData.getColumnTypeName(i));
+            column.setType(loadClass(metaData.getColumnClassName(i)));
+            list.add(column);
+            this.extractors[i - 1] = resolveExtractor(column);
+        }
+        this.columns = Collections.unmodifiableList(list);
+        this.row = new Object[count];
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * column name shown to user, table prefix like hive's 'table.column' is removed
+     */
+    public static String formatColumnName(String originName) {
+        if (StrUtil.isEmpty(originName)) {
+            return "";
+        } else if (originName.contains(Constants.SEPARATOR_DOT)) {
+            return StrUtil.subAfter(originName, Constants.SEPARATOR_DOT, false);
+        } else {
+            return originName;
+        }
+    }
+
+    public int getColumnCount() {
+        return extractors.length;
+    }
+
+    /**
+     * move to next row and read all column values into the row buffer
+     *
+     * @return false if there is no more row
+     */
+    public boolean next() throws SQLException {
+        if (exhausted) {
+            return false;
+        }
+        if (!rs.next()) {
+            exhausted = true;
+            return false;
+        }
+        for (int i = 0; i < extractors.length; i++) {
+            row[i] = extractors[i].extract(rs, i + 1);
+        }
+        return true;
+    }
+
+    /**
+     * the row buffer is reused by next(), copy it if the values are kept
+     */
+    public Object[] getRow() {
+        return row;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    private ColumnExtractor resolveExtractor(Column column) {
+        switch (column.getSqlType()) {
+            case Types.CLOB:
+            case Types.NCLOB:
+                return (rs, idx) -> {
+                    Clob value = rs.getClob(idx);
+                    return Objects.isNull(value) ? null : SqlUtil.clobToStr(value);
+                };
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return ResultSet::getBytes;
+            case Types.ARRAY:
+                return (rs, idx) -> {
+                    Array value = rs.getArray(idx);
+                    return Objects.isNull(value) ? null : String.valueOf(value);
+                };
+            default:
+                break;
+        }
+        Class<?> type = column.getType();
+        if (Integer.class.equals(type)) {
+            return (rs, idx) -> {
+                int value = rs.getInt(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Long.class.equals(type)) {
+            return (rs, idx) -> {
+                long value = rs.getLong(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Short.class.equals(type)) {
+            return (rs, idx) -> {
+                short value = rs.getShort(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Byte.class.equals(type)) {
+            return (rs, idx) -> {
+                byte value = rs.getByte(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Double.class.equals(type)) {
+            return (rs, idx) -> {
+                double value = rs.getDouble(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Float.class.equals(type)) {
+            return (rs, idx) -> {
+                float value = rs.getFloat(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (Boolean.class.equals(type)) {
+            return (rs, idx) -> {
+                boolean value = rs.getBoolean(idx);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (BigDecimal.class.equals(type)) {
+            return ResultSet::getBigDecimal;
+        } else if (String.class.equals(type)) {
+            return ResultSet::getString;
+        } else if (Timestamp.class.equals(type) && rawTemporal) {
+            return (rs, idx) -> {
+                Timestamp value = rs.getTimestamp(idx);
+                return Objects.isNull(value) ? null : value.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+            };
+        } else if (Date.class.equals(type) && rawTemporal) {
+            return (rs, idx) -> {
+                Date value = rs.getDate(idx);
+                return Objects.isNull(value) ? null : (int) value.toLocalDate().toEpochDay();
+            };
+        } else if (Timestamp.class.equals(type)) {
+            return (rs, idx) -> {
+                Timestamp value = rs.getTimestamp(idx);
+                return Objects.isNull(value) ? null : DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATETIME_MS_PATTERN);
+            };
+        } else if (Date.class.equals(type)) {
+            return (rs, idx) -> {
+                Date value = rs.getDate(idx);
+                return Objects.isNull(value) ? null : DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATE_PATTERN);
+            };
+        } else if (Clob.class.isAssignableFrom(type)) {
+            return (rs, idx) -> {
+                Clob value = rs.getClob(idx);
+                return Objects.isNull(value) ? null : SqlUtil.clobToStr(value);
+            };
+        } else if (Array.class.isAssignableFrom(type)) {
+            return (rs, idx) -> {
+                Array value = rs.getArray(idx);
+                return Objects.isNull(value) ? null : String.valueOf(value);
+            };
+        }
+        return ResultSet::getObject;
+    }
+
+    private Class<?> loadClass(String className) {
+        if (StrUtil.isEmpty(className)) {
+            return Object.class;
+        }
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (Objects.isNull(classLoader)) {
+                classLoader = this.getClass().getClassLoader();
+            }
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Object.class;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ColumnExtractor {
+
+        Object extract(ResultSet rs, int index) throws SQLException;
+
+    }
+
+    @Data
+    public static class Column {
+
+        private String name;
+
+        private Class<?> type;
+
+        private int sqlType;
+
+        private String typeName;
+
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.regex.Matcher;
+
+/**
+ * split sql script into statements in a single pass.
+ * delimiters inside string literals, quoted identifiers, comments, dollar quoted bodies
+ * and dialect specific procedure blocks are skipped. statements are produced lazily.
+ */
+public class SqlScriptSplitter implements Iterator<String> {
+
+    private static final String DELIMITER_COMMAND = "DELIMITER";
+
+    private static final int BLOCK_LOOKAHEAD = 256;
+
+    private final String script;
+
+    private final int length;
+
+    private final SqlDialect dialect;
+
+    private final Matcher blockMatcher;
+
+    private String delimiter = Constants.SEPARATOR_SEMICOLON;
+
+    private int pos = 0;
+
+    private String nextStatement;
+
+    public SqlScriptSplitter(String script, SqlDialect dialect) {
+        this.script = Objects.isNull(script) ? "" : script;
+        this.length = this.script.length();
+        this.dialect = Objects.isNull(dialect) ? SqlDialect.GENERIC : dialect;
+        this.blockMatcher = Objects.isNull(this.dialect.getBlockPattern()) ? null : this.dialect.getBlockPattern().matcher(this.script);
+    }
+
+    public static List<String> split(String script, SqlDialect dialect) {
+        List<String> result = new ArrayList<>();
+        new SqlScriptSplitter(script, dialect).forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (Objects.isNull(nextStatement)) {
+            nextStatement = readStatement();
+        }
+        return Objects.nonNull(nextStatement);
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String statement = nextStatement;
+        nextStatement = null;
+        return statement;
+    }
+
+    private String readStatement() {
+        int start = -1;
+        boolean block = false;
+        while (pos < length) {
+            char c = script.charAt(pos);
+            if (pos == 0 || script.charAt(pos - 1) == '\n') {
+                int lineEnd = lineEnd(pos);
+                if (Objects.nonNull(dialect.getBlockTerminator()) && isLine(pos, dialect.getBlockTerminator())) {
+                    int end = pos;
+                    pos = lineEnd;
+                    if (start >= 0) {
+                        return script.substring(start, end).trim();
+                    }
+                    continue;
+                }
+                if (dialect.isDelimiterCommand() && start < 0 && startsWithWord(skipBlank(pos), DELIMITER_COMMAND)) {
+                    String newDelimiter = script.substring(skipBlank(pos) + DELIMITER_COMMAND.length(), lineEnd).trim();
+                    if (!newDelimiter.isEmpty()) {
+                        delimiter = newDelimiter;
+                    }
+                    pos = lineEnd;
+                    continue;
+                }
+            }
+            if (Character.isWhitespace(c)) {
+                pos++;
+                continue;
+            }
+            if (c == '-' && charAt(pos + 1) == '-' || c == '#' && dialect.isHashComment()) {
+                pos = lineEnd(pos);
+                continue;
+            }
+            if (c == '/' && charAt(pos + 1) == '*') {
+                pos = skipBlockComment(pos);
+                continue;
+            }
+            if (start < 0) {
+                if (script.startsWith(delimiter, pos)) {
+                    pos += delimiter.length();
+                    continue;
+                }
+                start = pos;
+                block = isBlockStart(pos);
+            }
+            if (!block && script.startsWith(delimiter, pos)) {
+                int end = pos;
+                pos += delimiter.length();
+                return script.substring(start, end).trim();
+            }
+            pos = skipToken(pos, c);
+        }
+        if (start >= 0) {
+            String statement = script.substring(start).trim();
+            return statement.isEmpty() ? null : statement;
+        }
+        return null;
+    }
+
+    /**
+     * skip a quoted literal or identifier starting at index, or a single char otherwise
+     */
+    private int skipToken(int index, char c) {
+        if (c == '\'') {
+            return skipQuoted(index, '\'', dialect.isBackslashEscape() || isEscapeString(index));
+        } else if (c == '"') {
+            return skipQuoted(index, '"', dialect.isBackslashEscape());
+        } else if (c == '`' && dialect.isBacktickQuote()) {
+            return skipQuoted(index, '`', false);
+        } else if (c == '[' && dialect.isBracketQuote()) {
+            return skipQuoted(index, ']', false);
+        } else if (c == '$' && dialect.isDollarQuote()) {
+            return skipDollarQuoted(index);
+        }
+        return index + 1;
+    }
+
+    private int skipQuoted(int index, char close, boolean backslashEscape) {
+        int i = index + 1;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (backslashEscape && c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == close) {
+                if (charAt(i + 1) == close) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    /**
+     * postgresql style $tag$ ... $tag$ body
+     */
+    private int skipDollarQuoted(int index) {
+        if (index > 0 && isIdentifierPart(script.charAt(index - 1))) {
+            return index + 1;
+        }
+        int i = index + 1;
+        if (i < length && Character.isDigit(script.charAt(i))) {
+            return index + 1;
+        }
+        while (i < length && isIdentifierPart(script.charAt(i))) {
+            i++;
+        }
+        if (charAt(i) != '$') {
+            return index + 1;
+        }
+        String tag = script.substring(index, i + 1);
+        int close = script.indexOf(tag, i + 1);
+        return close < 0 ? length : close + tag.length();
+    }
+
+    private int skipBlockComment(int index) {
+        int depth = 1;
+        int i = index + 2;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (c == '*' && charAt(i + 1) == '/') {
+                depth--;
+                i += 2;
+                if (depth == 0 || !dialect.isNestedComment()) {
+                    return i;
+                }
+                continue;
+            }
+            if (dialect.isNestedComment() && c == '/' && charAt(i + 1) == '*') {
+                depth++;
+                i += 2;
+                continue;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private boolean isBlockStart(int index) {
+        if (Objects.isNull(blockMatcher)) {
+            return false;
+        }
+        blockMatcher.region(index, Math.min(length, index + BLOCK_LOOKAHEAD));
+        return blockMatcher.lookingAt();
+    }
+
+    /**
+     * postgresql E'...' string accepts backslash escapes
+     */
+    private boolean isEscapeString(int index) {
+        if (!dialect.isEscapeString() || index == 0) {
+            return false;
+        }
+        char prev = script.charAt(index - 1);
+        return (prev == 'E' || prev == 'e') && (index == 1 || !isIdentifierPart(script.charAt(index - 2)));
+    }
+
+    /**
+     * whether the line starting at index only contains the given word, ignoring case and blanks
+     */
+    private boolean isLine(int index, String word) {
+        int i = skipBlank(index);
+        if (!script.regionMatches(true, i, word, 0, word.length())) {
+            return false;
+        }
+        i = skipBlank(i + word.length());
+        return i >= length || script.charAt(i) == '\n' || script.charAt(i) == '\r';
+    }
+
+    private boolean startsWithWord(int index, String word) {
+        return script.regionMatches(true, index, word, 0, word.length())
+                && (index + word.length() >= length || Character.isWhitespace(script.charAt(index + word.length())));
+    }
+
+    private int skipBlank(int index) {
+        int i = index;
+        while (i < length && (script.charAt(i) == ' ' || script.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private int lineEnd(int index) {
+        int i = script.indexOf('\n', index);
+        return i < 0 ? length : i;
+    }
+
+    private char charAt(int index) {
+        return index < length ? script.charAt(index) : '\0';
+    }
+
+    private boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource;
+
+import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
+import com.basedt.dms.plugins.datasource.impl.jdbc.JdbcTableHandler;
+import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * plugin over an in-memory h2 database, pooled by the registry like any user datasource.
+ * table columns are declared by the test instead of being read from the catalog.
+ */
+class H2TestPlugin extends AbstractDataSourcePlugin {
+
+    private final List<ColumnDTO> columns = new ArrayList<>();
+
+    H2TestPlugin(String dataSourceName) {
+        setDataSourceName(dataSourceName);
+        setDriverClassName("org.h2.Driver");
+        setUserName("sa");
+        setPassword("");
+    }
+
+    H2TestPlugin column(String columnName, String dataType) {
+        ColumnDTO column = new ColumnDTO();
+        column.setColumnName(columnName);
+        column.setDataType(dataType);
+        this.columns.add(column);
+        return this;
+    }
+
+    void update(String sql) throws SQLException {
+        try (Connection conn = getDataSource().getConnection()) {
+            JdbcUtil.execute(conn, sql);
+        }
+    }
+
+    long queryLong(String sql) throws SQLException {
+        try (Connection conn = getDataSource().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    List<Integer> queryInts(String sql) throws SQLException {
+        List<Integer> result = new ArrayList<>();
+        try (Connection conn = getDataSource().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                result.add(rs.getInt(1));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected String getJdbcUrl() {
+        return "jdbc:h2:mem:" + getDataSourceName() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    @Override
+    public TableHandler getTableHandler() {
+        return new JdbcTableHandler() {
+            @Override
+            public List<ColumnDTO> listColumnsByTable(String catalog, String schemaPattern, String tableName) {
+                return columns;
+            }
+        };
+    }
+
+    @Override
+    public CatalogHandler getCatalogHandler() {
+        return null;
+    }
+
+    @Override
+    public ViewHandler getViewHandler() {
+        return null;
+    }
+
+    @Override
+    public ForeignTableHandler getForeignTableHandler() {
+        return null;
+    }
+
+    @Override
+    public FunctionHandler getFunctionHandler() {
+        return null;
+    }
+
+    @Override
+    public IndexHandler getIndexHandler() {
+        return null;
+    }
+
+    @Override
+    public MaterializedViewHandler getMaterializedViewHandler() {
+        return null;
+    }
+
+    @Override
+    public SequenceHandler getSequenceHandler() {
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource;
+
+import com.basedt.dms.plugins.datasource.param.InsertBatchParam;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InsertBatchTest {
+
+    private static final AtomicInteger DB_NUM = new AtomicInteger();
+
+    private static final int BATCH_SIZE = 50;
+
+    private BufferAllocator allocator;
+
+    private H2TestPlugin plugin;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        allocator = new RootAllocator();
+        plugin = new H2TestPlugin("insert_batch_" + DB_NUM.incrementAndGet())
+                .column("ID", "INTEGER")
+                .column("NAME", "CHARACTER VARYING");
+        // seq records the order rows were inserted in
+        plugin.update("create table PUBLIC.T (ID int not null, NAME varchar(64), SEQ bigint generated by default as identity, " +
+                "constraint CK_ID check (ID <> 2050))");
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        DataSourcePoolRegistry.invalidate(plugin.getDataSourceName());
+        // writers of a failed import may still be releasing their batches
+        long deadline = System.currentTimeMillis() + 5000;
+        while (allocator.getAllocatedMemory() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, allocator.getAllocatedMemory(), "arrow buffers leaked");
+        allocator.close();
+    }
+
+    @Test
+    public void insertSerialTest() throws Exception {
+        try (RangeArrowReader reader = new RangeArrowReader(allocator, 10, BATCH_SIZE, -1)) {
+            plugin.insertBatch(reader, null, "PUBLIC", "T", param(1, false, 1));
+        }
+        assertRows(10 * BATCH_SIZE);
+    }
+
+    @Test
+    public void insertUnorderedTest() throws Exception {
+        try (RangeArrowReader reader = new RangeArrowReader(allocator, 40, BATCH_SIZE, -1)) {
+            plugin.insertBatch(reader, null, "PUBLIC", "T", param(4, false, 3));
+        }
+        assertRows(40 * BATCH_SIZE);
+    }
+
+    /**
+     * every writer inserts its own batches in file order, batches are dealt round robin
+     */
+    @Test
+    public void insertOrderedTest() throws Exception {
+        int writers = 4;
+        try (RangeArrowReader reader = new RangeArrowReader(allocator, 40, BATCH_SIZE, -1)) {
+            plugin.insertBatch(reader, null, "PUBLIC", "T", param(writers, true, 1));
+        }
+        assertRows(40 * BATCH_SIZE);
+        List<Integer> ids = plugin.queryInts("select ID from PUBLIC.T order by SEQ");
+        Map<Integer, Integer> lastIdOfWriter = new HashMap<>();
+        for (int id : ids) {
+            int writer = id / BATCH_SIZE % writers;
+            Integer last = lastIdOfWriter.put(writer, id);
+            if (last != null) {
+                Assertions.assertTrue(last < id, "writer " + writer + " inserted " + id + " after " + last);
+            }
+        }
+    }
+
+    /**
+     * a batch rejected by the database fails the import and stops the reader and the other writers
+     */
+    @Test
+    public void writerFailureTest() throws Exception {
+        int batches = 2000;
+        try (RangeArrowReader reader = new RangeArrowReader(allocator, batches, BATCH_SIZE, -1)) {
+            Assertions.assertThrows(SQLException.class, () -> plugin.insertBatch(reader, null, "PUBLIC", "T", param(4, false, 1)));
+            Assertions.assertTrue(reader.getLoaded() < batches, "reader went on after writer failed");
+        }
+        Assertions.assertTrue(plugin.queryLong("select count(*) from PUBLIC.T") < (long) batches * BATCH_SIZE);
+        Assertions.assertEquals(0, plugin.queryLong("select count(*) from PUBLIC.T where ID = 2050"));
+    }
+
+    /**
+     * a broken file fails the import, writers roll back what they have not committed yet
+     */
+    @Test
+    public void readerFailureTest() throws Exception {
+        try (RangeArrowReader reader = new RangeArrowReader(allocator, 100, BATCH_SIZE, 30)) {
+            IOException e = Assertions.assertThrows(IOException.class, () -> plugin.insertBatch(reader, null, "PUBLIC", "T", param(4, true, 1000)));
+            Assertions.assertEquals("broken batch 30", e.getMessage());
+        }
+        Assertions.assertEquals(0, plugin.queryLong("select count(*) from PUBLIC.T"));
+    }
+
+    private InsertBatchParam param(int parallelism, boolean ordered, int commitInterval) {
+        InsertBatchParam param = new InsertBatchParam();
+        param.setParallelism(parallelism);
+        param.setOrdered(ordered);
+        param.setCommitInterval(commitInterval);
+        return param;
+    }
+
+    private void assertRows(int rows) throws SQLException {
+        Assertions.assertEquals(rows, plugin.queryLong("select count(*) from PUBLIC.T"));
+        Assertions.assertEquals(rows, plugin.queryLong("select count(distinct ID) from PUBLIC.T"));
+        Assertions.assertEquals((long) rows * (rows - 1) / 2, plugin.queryLong("select sum(ID) from PUBLIC.T"));
+        Assertions.assertEquals(rows / 10, plugin.queryLong("select count(*) from PUBLIC.T where NAME is null"));
+        Assertions.assertEquals(rows, plugin.queryLong("select count(*) from PUBLIC.T where NAME is null or NAME = 'name-' || ID"));
+    }
+}
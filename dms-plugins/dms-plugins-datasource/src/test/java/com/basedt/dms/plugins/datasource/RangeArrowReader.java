@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * reader of ids 0 until batches * batchSize in file order, column ID int and column NAME utf8 "name-{id}",
+ * NAME is null for every tenth id. loading batch failAt throws, -1 never fails.
+ */
+class RangeArrowReader extends ArrowReader {
+
+    private final int batches;
+
+    private final int batchSize;
+
+    private final int failAt;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    RangeArrowReader(BufferAllocator allocator, int batches, int batchSize, int failAt) {
+        super(allocator);
+        this.batches = batches;
+        this.batchSize = batchSize;
+        this.failAt = failAt;
+    }
+
+    static String name(int id) {
+        return id % 10 == 0 ? null : "name-" + id;
+    }
+
+    int getLoaded() {
+        return loaded.get();
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        prepareLoadNextBatch();
+        int batchNum = loaded.get();
+        if (batchNum >= batches) {
+            return false;
+        }
+        if (batchNum == failAt) {
+            throw new IOException("broken batch " + batchNum);
+        }
+        VectorSchemaRoot root = getVectorSchemaRoot();
+        IntVector ids = (IntVector) root.getVector("ID");
+        VarCharVector names = (VarCharVector) root.getVector("NAME");
+        ids.reset();
+        names.reset();
+        for (int i = 0; i < batchSize; i++) {
+            int id = batchNum * batchSize + i;
+            ids.setSafe(i, id);
+            String name = name(id);
+            if (name == null) {
+                names.setNull(i);
+            } else {
+                names.setSafe(i, name.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        root.setRowCount(batchSize);
+        loaded.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public long bytesRead() {
+        return 0;
+    }
+
+    @Override
+    protected void closeReadSource() {
+    }
+
+    @Override
+    protected Schema readSchema() {
+        return new Schema(List.of(Field.nullable("ID", new ArrowType.Int(32, true)), Field.nullable("NAME", ArrowType.Utf8.INSTANCE)));
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource;
+
+import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
+import com.basedt.dms.plugins.datasource.impl.postgre.PostgrePluginImpl;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * throughput and allocation of the hot paths of reading and importing rows.
+ * figures are logged for comparison between changes, only the reuse they rely on is asserted,
+ * timing depends too much on the machine running the build.
+ */
+@Slf4j
+public class ReadWriteThroughputTest {
+
+    private static final int ROUNDS = 5;
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int ROW_COUNT = 100_000;
+
+    @Test
+    public void rowReaderTest() throws Exception {
+        H2TestPlugin plugin = new H2TestPlugin("row_reader_throughput");
+        try {
+            plugin.update("create table PUBLIC.R (ID int, AMOUNT decimal(18,2), NAME varchar(64), CREATED timestamp, DAY date)");
+            plugin.update("insert into PUBLIC.R select X, X / 100.0, 'name-' || X, dateadd('SECOND', X, timestamp '2024-01-01 00:00:00'), " +
+                    "dateadd('DAY', mod(X, 365), date '2024-01-01') from system_range(1, " + ROW_COUNT + ")");
+            try (Connection conn = plugin.getDataSource().getConnection()) {
+                measure("row reader", ROW_COUNT, () -> {
+                    try (PreparedStatement ps = conn.prepareStatement("select * from PUBLIC.R order by ID");
+                         ResultSet rs = ps.executeQuery()) {
+                        ResultSetRowReader reader = new ResultSetRowReader(rs);
+                        Object[] buffer = reader.getRow();
+                        int rows = 0;
+                        while (reader.next()) {
+                            Assertions.assertSame(buffer, reader.getRow());
+                            rows++;
+                        }
+                        Assertions.assertEquals(ROW_COUNT, rows);
+                        Assertions.assertEquals(ROW_COUNT, buffer[0]);
+                        Assertions.assertEquals(0, new BigDecimal("1000.00").compareTo((BigDecimal) buffer[1]));
+                        Assertions.assertEquals("name-" + ROW_COUNT, buffer[2]);
+                        Assertions.assertEquals("2024-01-02 03:46:40.000", buffer[3]);
+                    }
+                });
+                // reading each row into a map by column label, as the former bean based reader did
+                measure("row map", ROW_COUNT, () -> {
+                    try (PreparedStatement ps = conn.prepareStatement("select * from PUBLIC.R order by ID");
+                         ResultSet rs = ps.executeQuery()) {
+                        ResultSetMetaData metaData = rs.getMetaData();
+                        int rows = 0;
+                        while (rs.next()) {
+                            Map<String, Object> row = new HashMap<>();
+                            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                                row.put(metaData.getColumnLabel(i).toLowerCase(), rs.getObject(i));
+                            }
+                            rows++;
+                        }
+                        Assertions.assertEquals(ROW_COUNT, rows);
+                    }
+                });
+            }
+        } finally {
+            DataSourcePoolRegistry.invalidate(plugin.getDataSourceName());
+        }
+    }
+
+    @Test
+    public void handlerReuseTest() throws Exception {
+        // no connection is opened, handlers only keep the datasource they are initialized with
+        AbstractDataSourcePlugin plugin = new PostgrePluginImpl("handler_reuse_throughput", "localhost", 5432, "postgres", "dms", "dms", new HashMap<>());
+        try {
+            TableHandler tableHandler = plugin.getTableHandler();
+            IndexHandler indexHandler = plugin.getIndexHandler();
+            int calls = 1_000_000;
+            measure("handler lookup", calls, () -> {
+                for (int i = 0; i < calls; i++) {
+                    Assertions.assertSame(tableHandler, plugin.getTableHandler());
+                }
+            });
+            Assertions.assertSame(indexHandler, plugin.getIndexHandler());
+            Assertions.assertSame(plugin.getViewHandler(), plugin.getViewHandler());
+            Assertions.assertSame(plugin.getCatalogHandler(), plugin.getCatalogHandler());
+        } finally {
+            DataSourcePoolRegistry.invalidate(plugin.getDataSourceName());
+        }
+    }
+
+    @Test
+    public void binderDispatchTest() throws Exception {
+        H2TestPlugin target = new H2TestPlugin("binder_dispatch_throughput");
+        AbstractDataSourcePlugin plugin = new PostgrePluginImpl();
+        ColumnDTO[] columns = {
+                column("A", "integer"),
+                column("B", "numeric"),
+                column("C", "timestamp without time zone")
+        };
+        int rowCount = 10_000;
+        try (BufferAllocator allocator = new RootAllocator();
+             VarCharVector ids = new VarCharVector("A", allocator);
+             VarCharVector amounts = new VarCharVector("B", allocator);
+             VarCharVector times = new VarCharVector("C", allocator)) {
+            VarCharVector[] vectors = {ids, amounts, times};
+            for (int i = 0; i < rowCount; i++) {
+                ids.setSafe(i, String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+                amounts.setSafe(i, (i + ".25").getBytes(StandardCharsets.UTF_8));
+                times.setSafe(i, ("2024-01-01 10:00:" + String.format("%02d", i % 60)).getBytes(StandardCharsets.UTF_8));
+            }
+            for (VarCharVector vector : vectors) {
+                vector.setValueCount(rowCount);
+            }
+            target.update("create table PUBLIC.B (A int, B decimal(18,2), C timestamp)");
+            try (Connection conn = target.getDataSource().getConnection();
+                 PreparedStatement ps = conn.prepareStatement("insert into PUBLIC.B values (?, ?, ?)")) {
+                ColumnBinder[] binders = new ColumnBinder[columns.length];
+                for (int c = 0; c < columns.length; c++) {
+                    binders[c] = plugin.getColumnBinder(columns[c], vectors[c], c + 1);
+                }
+                measure("binder resolved per column", (long) rowCount * columns.length, () -> {
+                    for (int row = 0; row < rowCount; row++) {
+                        for (ColumnBinder binder : binders) {
+                            binder.bind(ps, row);
+                        }
+                    }
+                });
+                // dispatching on vector and data type for every value, as before binders were resolved once
+                measure("binder resolved per value", (long) rowCount * columns.length, () -> {
+                    for (int row = 0; row < rowCount; row++) {
+                        for (int c = 0; c < columns.length; c++) {
+                            plugin.getColumnBinder(columns[c], vectors[c], c + 1).bind(ps, row);
+                        }
+                    }
+                });
+                for (ColumnBinder binder : binders) {
+                    binder.bind(ps, 61);
+                }
+                Assertions.assertEquals(1, ps.executeUpdate());
+            }
+            Assertions.assertEquals(61, target.queryLong("select A from PUBLIC.B"));
+            Assertions.assertEquals(6125, target.queryLong("select B * 100 from PUBLIC.B"));
+            Assertions.assertEquals(1, target.queryLong("select second(C) from PUBLIC.B"));
+        } finally {
+            DataSourcePoolRegistry.invalidate(target.getDataSourceName());
+        }
+    }
+
+    private ColumnDTO column(String columnName, String dataType) {
+        ColumnDTO column = new ColumnDTO();
+        column.setColumnName(columnName);
+        column.setDataType(dataType);
+        return column;
+    }
+
+    /**
+     * run task for some rounds and log the best time and the allocation per unit after warmup
+     */
+    private void measure(String name, long units, Task task) throws Exception {
+        boolean tracked = allocatedBytes() >= 0;
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            long nanos = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            if (round >= WARMUP_ROUNDS) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        log.info("{}: {} ns and {} bytes per unit, {} units per second", name, bestNanos / units,
+                tracked ? bestBytes / units : "n/a", units * 1_000_000_000L / Math.max(bestNanos, 1));
+    }
+
+    /**
+     * bytes allocated by the current thread, negative if the jvm does not track it
+     */
+    private long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+            if (threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+
+        void run() throws Exception;
+
+    }
+}
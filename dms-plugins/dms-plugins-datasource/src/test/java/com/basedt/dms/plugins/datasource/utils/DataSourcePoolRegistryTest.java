@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+public class DataSourcePoolRegistryTest {
+
+    private static final String DRIVER = "org.h2.Driver";
+
+    @BeforeEach
+    public void setUp() {
+        // pools retired by other tests still count against the global limit
+        DataSourcePoolRegistry.closeAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DataSourcePoolRegistry.closeAll();
+        DataSourcePoolRegistry.configure(400, TimeUnit.MINUTES.toMillis(30));
+    }
+
+    @Test
+    public void sharedPoolTest() throws SQLException {
+        DataSource first = dataSource("shared", "jdbc:h2:mem:shared", 5);
+        DataSource second = dataSource("shared", "jdbc:h2:mem:shared", 5);
+        try (Connection ignored = first.getConnection()) {
+            Assertions.assertSame(first.unwrap(DruidDataSource.class), second.unwrap(DruidDataSource.class));
+            Assertions.assertEquals(1, DataSourcePoolRegistry.getPoolCount());
+            Assertions.assertEquals(1, DataSourcePoolRegistry.getActiveCount());
+        }
+        Assertions.assertEquals(0, DataSourcePoolRegistry.getActiveCount());
+    }
+
+    /**
+     * reading the pool size neither creates a pool nor closes idle pools of other datasources
+     */
+    @Test
+    public void maxActiveWithoutPoolTest() throws SQLException {
+        DataSourcePoolRegistry.configure(8, TimeUnit.MINUTES.toMillis(30));
+        DataSource idle = dataSource("idle", "jdbc:h2:mem:idle", 6);
+        idle.getConnection().close();
+        DataSource unused = dataSource("unused", "jdbc:h2:mem:unused", 20);
+        Assertions.assertEquals(8, DataSourcePoolRegistry.getMaxActive(unused));
+        Assertions.assertEquals(1, DataSourcePoolRegistry.getPoolCount());
+        Assertions.assertEquals(6, DataSourcePoolRegistry.getMaxActive(idle));
+        Assertions.assertEquals(1, DataSourcePoolRegistry.getMaxActive(null));
+    }
+
+    /**
+     * changed settings build a new pool, switching back reuses the retired one while it is open
+     */
+    @Test
+    public void changedSettingsTest() throws SQLException {
+        DataSource before = dataSource("changed", "jdbc:h2:mem:changed_a", 5);
+        DruidDataSource beforePool;
+        try (Connection ignored = before.getConnection()) {
+            beforePool = before.unwrap(DruidDataSource.class);
+            DataSource after = dataSource("changed", "jdbc:h2:mem:changed_b", 5);
+            DruidDataSource afterPool = after.unwrap(DruidDataSource.class);
+            Assertions.assertNotSame(beforePool, afterPool);
+            Assertions.assertEquals(1, DataSourcePoolRegistry.getPoolCount());
+            Assertions.assertSame(beforePool, before.unwrap(DruidDataSource.class));
+        }
+        Assertions.assertFalse(beforePool.isClosed());
+    }
+
+    @Test
+    public void invalidateTest() throws SQLException {
+        DataSource dataSource = dataSource("invalidated", "jdbc:h2:mem:invalidated", 5);
+        DruidDataSource pool = dataSource.unwrap(DruidDataSource.class);
+        DataSourcePoolRegistry.invalidate("invalidated");
+        Assertions.assertEquals(0, DataSourcePoolRegistry.getPoolCount());
+        Assertions.assertNotSame(pool, dataSource.unwrap(DruidDataSource.class));
+    }
+
+    /**
+     * a new pool closes least recently used idle pools to stay under the global limit
+     * and fails when busy pools hold every connection
+     */
+    @Test
+    public void globalLimitTest() throws SQLException {
+        DataSourcePoolRegistry.configure(10, TimeUnit.MINUTES.toMillis(30));
+        DataSource busy = dataSource("busy", "jdbc:h2:mem:busy", 6);
+        DataSource idle = dataSource("idle", "jdbc:h2:mem:idle", 4);
+        DruidDataSource idlePool = idle.unwrap(DruidDataSource.class);
+        try (Connection ignored = busy.getConnection()) {
+            DataSource next = dataSource("next", "jdbc:h2:mem:next", 4);
+            try (Connection conn = next.getConnection()) {
+                Assertions.assertTrue(idlePool.isClosed());
+                Assertions.assertEquals(4, DataSourcePoolRegistry.getMaxActive(next));
+                DataSource rejected = dataSource("rejected", "jdbc:h2:mem:rejected", 1);
+                Assertions.assertThrows(SQLException.class, rejected::getConnection);
+            }
+        }
+    }
+
+    private DataSource dataSource(String name, String url, int maxActive) {
+        Properties poolProps = new Properties();
+        poolProps.setProperty("maxActive", String.valueOf(maxActive));
+        poolProps.setProperty("initialSize", "0");
+        poolProps.setProperty("minIdle", "0");
+        return DataSourcePoolRegistry.getDataSource(name, url + ";DB_CLOSE_DELAY=-1", DRIVER, "sa", "", null, poolProps);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.datasource.utils;
+
+import com.basedt.dms.plugins.datasource.enums.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class SqlScriptSplitterTest {
+
+    @Test
+    public void splitGenericTest() {
+        List<String> list = SqlScriptSplitter.split("select 'a;b' from t; -- c;omment\nselect \"x;y\" /* ; */ from u;\n;;", SqlDialect.GENERIC);
+        Assertions.assertEquals(List.of("select 'a;b' from t", "select \"x;y\" /* ; */ from u"), list);
+    }
+
+    @Test
+    public void splitPostgreTest() {
+        List<String> list = SqlScriptSplitter.split("create function f() returns int as $$ begin return 1; end; $$ language plpgsql;\n" +
+                "select $tag$ ; $tag$;select E'it\\'s;';select a$b from t", SqlDialect.POSTGRESQL);
+        Assertions.assertEquals(List.of("create function f() returns int as $$ begin return 1; end; $$ language plpgsql",
+                "select $tag$ ; $tag$", "select E'it\\'s;'", "select a$b from t"), list);
+    }
+
+    @Test
+    public void splitOracleTest() {
+        List<String> list = SqlScriptSplitter.split("create or replace procedure p is\nbegin\n  null;\nend;\n/\n" +
+                "select 1 from dual;\nselect 2 from dual\n/\nBEGIN\n  x := 1;\nEND;", SqlDialect.ORACLE);
+        Assertions.assertEquals(List.of("create or replace procedure p is\nbegin\n  null;\nend;",
+                "select 1 from dual", "select 2 from dual", "BEGIN\n  x := 1;\nEND;"), list);
+    }
+
+    @Test
+    public void splitMssqlTest() {
+        List<String> list = SqlScriptSplitter.split("create procedure p as\nbegin\n select 1; select 2;\nend\nGO\nselect [a;b] from t; select 3\ngo\n", SqlDialect.MSSQL);
+        Assertions.assertEquals(List.of("create procedure p as\nbegin\n select 1; select 2;\nend", "select [a;b] from t", "select 3"), list);
+    }
+
+    @Test
+    public void splitMysqlTest() {
+        List<String> list = SqlScriptSplitter.split("select 'a\\';b';# c;\nDELIMITER //\ncreate procedure p() begin select 1; end//\nDELIMITER ;\nselect `x;y` from t;", SqlDialect.MYSQL);
+        Assertions.assertEquals(List.of("select 'a\\';b'", "create procedure p() begin select 1; end", "select `x;y` from t"), list);
+    }
+
+    /**
+     * random scripts must always terminate without error and never produce blank statements
+     */
+    @Test
+    public void splitFuzzTest() {
+        Random random = new Random(20241018L);
+        String alphabet = "';\"$`[]/*-#\n\r\t abcE\\GO";
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int len = random.nextInt(120);
+            for (int j = 0; j < len; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            for (SqlDialect dialect : SqlDialect.values()) {
+                for (String sql : SqlScriptSplitter.split(builder.toString(), dialect)) {
+                    Assertions.assertFalse(sql.isBlank());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void splitLargeScriptTest() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            builder.append("insert into t values (").append(i).append(", 'x;y'); -- row ").append(i).append("\n");
+        }
+        long start = System.currentTimeMillis();
+        int count = 0;
+        SqlScriptSplitter splitter = new SqlScriptSplitter(builder.toString(), SqlDialect.ORACLE);
+        while (splitter.hasNext()) {
+            splitter.next();
+            count++;
+        }
+        log.info("split {} chars into {} statements in {} ms", builder.length(), count, System.currentTimeMillis() - start);
+        Assertions.assertEquals(200000, count);
+    }
+}
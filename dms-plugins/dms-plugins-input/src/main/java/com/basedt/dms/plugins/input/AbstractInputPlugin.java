@@ -17,12 +17,17 @@
  */
 package com.basedt.dms.plugins.input;
 
+import cn.hutool.core.util.StrUtil;
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
+import org.apache.arrow.vector.types.pojo.Schema;
 
 import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Objects;
 
 public abstract class AbstractInputPlugin implements InputPlugin {
 
@@ -34,6 +39,10 @@ public abstract class AbstractInputPlugin implements InputPlugin {
 
     protected FileType fileType;
 
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+
+    protected Schema targetSchema;
+
     public AbstractInputPlugin() {
     }
 
@@ -45,6 +54,9 @@ public abstract class AbstractInputPlugin implements InputPlugin {
     public AbstractInputPlugin(Map<String, Object> props) {
         setFileEncoding((String) props.get("fileEncoding"));
         setFile((File) props.get("file"));
+        if (Objects.nonNull(props.get("batchSize"))) {
+            setBatchSize(Integer.parseInt(props.get("batchSize").toString()));
+        }
     }
 
     @Override
@@ -67,6 +79,37 @@ public abstract class AbstractInputPlugin implements InputPlugin {
         return this.fileEncoding;
     }
 
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public Schema getTargetSchema() {
+        return this.targetSchema;
+    }
+
+    @Override
+    public void setTargetSchema(Schema targetSchema) {
+        this.targetSchema = targetSchema;
+    }
+
+    /**
+     * charset of file encoding, utf-8 if not set or unknown
+     */
+    protected Charset getCharset() {
+        try {
+            return StrUtil.isBlank(this.fileEncoding) ? StandardCharsets.UTF_8 : Charset.forName(this.fileEncoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
     @Override
     public FileType getFileType() {
         return this.fileType;
@@ -19,13 +19,20 @@ package com.basedt.dms.plugins.input;
 
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.Plugin;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 
 public interface InputPlugin extends Plugin {
 
+    /**
+     * rows per arrow record batch
+     */
+    int DEFAULT_BATCH_SIZE = 64 * 1024;
+
     File getFile();
 
     void setFile(File file);
@@ -38,6 +45,22 @@ public interface InputPlugin extends Plugin {
 
     void setFileType(FileType fileType);
 
-    ByteArrayOutputStream read() throws IOException;
+    int getBatchSize();
+
+    void setBatchSize(int batchSize);
+
+    Schema getTargetSchema();
+
+    /**
+     * typed schema of import target, file columns with the same name are parsed into the field type
+     * and the others are read as utf8
+     */
+    void setTargetSchema(Schema targetSchema);
+
+    /**
+     * open the file as arrow reader, each call of loadNextBatch reads at most batch size rows.
+     * caller closes the reader, which closes the file.
+     */
+    ArrowReader read(BufferAllocator allocator) throws IOException;
 
 }
@@ -26,13 +26,14 @@ import java.util.Map;
 
 public class InputPluginManager {
 
+    private static final PluginLoader<InputPlugin> LOADER = new PluginLoader<>(InputPlugin.class);
+
     public static InputPlugin newInstance(PluginInfo pluginInfo, Map<String, Object> props) {
         return newInstance(pluginInfo.getPluginName(), props);
     }
 
     public static InputPlugin newInstance(String pluginName, Map<String, Object> props) {
-        PluginLoader<InputPlugin> loader = new PluginLoader<>(InputPlugin.class);
-        return loader.newInstance(pluginName, props);
+        return LOADER.newInstance(pluginName, props);
     }
 
     public static InputPlugin newInstance(String pluginName, File file, String fileEncoding) {
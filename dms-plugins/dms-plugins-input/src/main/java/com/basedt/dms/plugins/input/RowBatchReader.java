@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.input;
+
+import cn.hutool.core.util.BooleanUtil;
+import cn.hutool.core.util.StrUtil;
+import com.basedt.dms.common.utils.DateTimeUtil;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * arrow reader over a row source, rows are loaded in batches of at most batch size rows.
+ * vectors of the root are reused by every batch, so memory depends on batch size and not on file size.
+ * columns found in the target schema are parsed into its field types, the others are kept as utf8.
+ */
+public abstract class RowBatchReader extends ArrowReader {
+
+    private final int batchSize;
+
+    private final Schema targetSchema;
+
+    private CellWriter[] writers;
+
+    private long rowsRead = 0;
+
+    protected RowBatchReader(BufferAllocator allocator, int batchSize, Schema targetSchema) {
+        super(allocator);
+        this.batchSize = batchSize > 0 ? batchSize : InputPlugin.DEFAULT_BATCH_SIZE;
+        this.targetSchema = targetSchema;
+    }
+
+    /**
+     * column names of source, blank names are replaced by col_{index}
+     */
+    protected abstract List<String> readHeader() throws IOException;
+
+    /**
+     * next row of source, one value per header column, null values allowed
+     *
+     * @return null when source is exhausted
+     */
+    protected abstract String[] nextRow() throws IOException;
+
+    @Override
+    protected Schema readSchema() throws IOException {
+        List<String> headerNames = readHeader();
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < headerNames.size(); i++) {
+            String name = StrUtil.isBlank(headerNames.get(i)) ? "col_" + i : headerNames.get(i);
+            ArrowType type = ArrowType.Utf8.INSTANCE;
+            if (Objects.nonNull(targetSchema)) {
+                type = targetSchema.getFields().stream()
+                        .filter(field -> field.getName().equals(name))
+                        .map(Field::getType)
+                        .findFirst()
+                        .orElse(ArrowType.Utf8.INSTANCE);
+            }
+            fields.add(Field.nullable(name, type));
+        }
+        return new Schema(fields);
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        prepareLoadNextBatch();
+        VectorSchemaRoot root = getVectorSchemaRoot();
+        List<FieldVector> vectors = root.getFieldVectors();
+        if (Objects.isNull(writers)) {
+            writers = vectors.stream().map(RowBatchReader::toWriter).toArray(CellWriter[]::new);
+        }
+        vectors.forEach(FieldVector::reset);
+        int rowCount = 0;
+        String[] row;
+        while (rowCount < batchSize && Objects.nonNull(row = nextRow())) {
+            for (int i = 0; i < writers.length; i++) {
+                String value = i < row.length ? row[i] : null;
+                try {
+                    writers[i].write(rowCount, value);
+                } catch (RuntimeException e) {
+                    throw new IOException(StrUtil.format("invalid value '{}' of column {} in row {}",
+                            value, vectors.get(i).getName(), rowsRead + rowCount + 1), e);
+                }
+            }
+            rowCount++;
+        }
+        root.setRowCount(rowCount);
+        rowsRead += rowCount;
+        return rowCount > 0;
+    }
+
+    /**
+     * rows loaded so far
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    @Override
+    public long bytesRead() {
+        return 0;
+    }
+
+    private static CellWriter toWriter(FieldVector vector) {
+        if (vector instanceof VarCharVector v) {
+            return (index, value) -> {
+                if (Objects.isNull(value)) {
+                    v.setNull(index);
+                } else {
+                    v.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+        CellWriter writer;
+        if (vector instanceof BitVector v) {
+            writer = (index, value) -> v.setSafe(index, BooleanUtil.toBoolean(value) ? 1 : 0);
+        } else if (vector instanceof IntVector v) {
+            writer = (index, value) -> v.setSafe(index, Math.toIntExact(parseLong(value)));
+        } else if (vector instanceof BigIntVector v) {
+            writer = (index, value) -> v.setSafe(index, parseLong(value));
+        } else if (vector instanceof Float4Vector v) {
+            writer = (index, value) -> v.setSafe(index, Float.parseFloat(value));
+        } else if (vector instanceof Float8Vector v) {
+            writer = (index, value) -> v.setSafe(index, Double.parseDouble(value));
+        } else if (vector instanceof DecimalVector v) {
+            writer = (index, value) -> v.setSafe(index, new BigDecimal(value).setScale(v.getScale(), RoundingMode.HALF_UP));
+        } else if (vector instanceof DateMilliVector v) {
+            writer = (index, value) -> v.setSafe(index, parseTimestamp(value));
+        } else if (vector instanceof TimeStampMilliVector v) {
+            writer = (index, value) -> v.setSafe(index, parseTimestamp(value));
+        } else {
+            throw new IllegalArgumentException("unsupported import type " + vector.getField().getType());
+        }
+        // blank cells of typed columns are null
+        BaseFixedWidthVector fixedWidthVector = (BaseFixedWidthVector) vector;
+        return (index, value) -> {
+            if (StrUtil.isBlank(value)) {
+                fixedWidthVector.setNull(index);
+            } else {
+                writer.write(index, value.trim());
+            }
+        };
+    }
+
+    /**
+     * integral value, spreadsheet cells may render integers as 1.0
+     */
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return new BigDecimal(value).longValueExact();
+        }
+    }
+
+    private static long parseTimestamp(String value) {
+        try {
+            return DateTimeUtil.toTimeStamp(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellWriter {
+        void write(int index, String value);
+    }
+}
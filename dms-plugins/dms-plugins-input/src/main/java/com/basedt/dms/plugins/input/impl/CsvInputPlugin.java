@@ -24,22 +24,18 @@ import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.input.AbstractInputPlugin;
 import com.basedt.dms.plugins.input.InputPlugin;
+import com.basedt.dms.plugins.input.RowBatchReader;
 import com.google.auto.service.AutoService;
-import org.apache.arrow.memory.RootAllocator;
-import org.apache.arrow.vector.ValueVector;
-import org.apache.arrow.vector.VarCharVector;
-import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.ipc.ArrowStreamWriter;
-import org.apache.arrow.vector.types.pojo.ArrowType;
-import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.ipc.ArrowReader;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.*;
-import java.nio.channels.Channels;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -48,10 +44,6 @@ public class CsvInputPlugin extends AbstractInputPlugin {
 
     private String separator;
 
-    private RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
-
-    private VectorSchemaRoot buffer = null;
-
     public CsvInputPlugin() {
         super();
         init();
@@ -77,38 +69,24 @@ public class CsvInputPlugin extends AbstractInputPlugin {
         this.separator = separator;
     }
 
+    /**
+     * records are parsed while batches are loaded, columns of target schema are converted to its types
+     */
     @Override
-    public ByteArrayOutputStream read() throws IOException {
-        ByteArrayOutputStream arrayOutput = new ByteArrayOutputStream();
-        try (Reader reader = new FileReader(getFile());
-             CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT
-                     .builder()
-                     .setHeader()
-                     .setDelimiter(getSeparator())
-                     .setSkipHeaderRecord(true)
-                     .build())
-        ) {
-            Schema schema = invokeHead(parser.getHeaderNames());
-            buffer = VectorSchemaRoot.create(schema, allocator);
-            for (CSVRecord record : parser) {
-                int rowNum = Math.toIntExact(record.getRecordNumber());
-                for (Field field : schema.getFields()) {
-                    ValueVector vector = buffer.getVector(field.getName());
-                    String value = record.get(field.getName());
-                    ((VarCharVector) vector).setSafe(rowNum - 1, value.getBytes());
-                }
-            }
-            buffer.setRowCount(Math.toIntExact(parser.getRecordNumber()));
-        }
-        try (ArrowStreamWriter writer = new ArrowStreamWriter(buffer, null, Channels.newChannel(arrayOutput))) {
-            writer.start();
-            writer.writeBatch();
-            writer.end();
-        } finally {
-            buffer.close();
-            allocator.close();
+    public ArrowReader read(BufferAllocator allocator) throws IOException {
+        Reader reader = Files.newBufferedReader(getFile().toPath(), getCharset());
+        try {
+            CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT
+                    .builder()
+                    .setHeader()
+                    .setDelimiter(getSeparator())
+                    .setSkipHeaderRecord(true)
+                    .build());
+            return new CsvBatchReader(allocator, getBatchSize(), getTargetSchema(), parser);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
         }
-        return arrayOutput;
     }
 
     private void init() {
@@ -117,13 +95,42 @@ public class CsvInputPlugin extends AbstractInputPlugin {
         setFileType(FileType.CSV);
     }
 
-    private Schema invokeHead(List<String> headerNames) {
-        List<Field> fields = new ArrayList<>();
-        for (int i = 0; i < headerNames.size(); i++) {
-            String headerName = headerNames.get(i);
-            Field field = Field.nullable(StrUtil.isBlank(headerName) ? "col_" + i : headerName, ArrowType.Utf8.INSTANCE);
-            fields.add(field);
+    private class CsvBatchReader extends RowBatchReader {
+
+        private final CSVParser parser;
+
+        private final Iterator<CSVRecord> records;
+
+        private final int columnCount;
+
+        CsvBatchReader(BufferAllocator allocator, int batchSize, Schema targetSchema, CSVParser parser) {
+            super(allocator, batchSize, targetSchema);
+            this.parser = parser;
+            this.records = parser.iterator();
+            this.columnCount = parser.getHeaderNames().size();
+        }
+
+        @Override
+        protected String[] nextRow() {
+            if (!records.hasNext()) {
+                return null;
+            }
+            CSVRecord record = records.next();
+            String[] row = new String[columnCount];
+            for (int i = 0; i < columnCount && i < record.size(); i++) {
+                row[i] = record.get(i);
+            }
+            return row;
+        }
+
+        @Override
+        protected List<String> readHeader() {
+            return parser.getHeaderNames();
+        }
+
+        @Override
+        protected void closeReadSource() throws IOException {
+            parser.close();
         }
-        return new Schema(fields);
     }
 }
@@ -17,44 +17,47 @@
  */
 package com.basedt.dms.plugins.input.impl;
 
+import cn.hutool.core.util.NumberUtil;
 import cn.hutool.core.util.StrUtil;
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelAnalysisStopException;
+import com.alibaba.excel.read.builder.ExcelReaderBuilder;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.alibaba.excel.support.ExcelTypeEnum;
 import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.input.AbstractInputPlugin;
 import com.basedt.dms.plugins.input.InputPlugin;
+import com.basedt.dms.plugins.input.RowBatchReader;
 import com.google.auto.service.AutoService;
-import org.apache.arrow.memory.RootAllocator;
-import org.apache.arrow.vector.ValueVector;
-import org.apache.arrow.vector.VarCharVector;
-import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.ipc.ArrowStreamWriter;
-import org.apache.arrow.vector.types.pojo.ArrowType;
-import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.ipc.ArrowReader;
 import org.apache.arrow.vector.types.pojo.Schema;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.channels.Channels;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static com.basedt.dms.common.enums.FileType.XLS;
 
 @AutoService(InputPlugin.class)
 public class ExcelInputPlugin extends AbstractInputPlugin {
 
-    private RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+    /**
+     * rows parsed ahead of the arrow reader
+     */
+    private static final int QUEUE_SIZE = 1024;
 
-    private VectorSchemaRoot buffer = null;
+    /**
+     * sheet index starting from 0 or sheet name
+     */
+    private String sheet;
 
     public ExcelInputPlugin() {
         super();
@@ -68,53 +71,30 @@ public class ExcelInputPlugin extends AbstractInputPlugin {
 
     public ExcelInputPlugin(Map<String, Object> props) {
         super(props);
+        setSheet(Objects.isNull(props.get("sheet")) ? null : props.get("sheet").toString());
         init();
     }
 
+    public String getSheet() {
+        return sheet;
+    }
+
+    public void setSheet(String sheet) {
+        this.sheet = sheet;
+    }
+
     /**
-     * read data and convert all columns to string
-     *
-     * @return
-     * @throws IOException
+     * read data of selected sheet, first sheet by default, columns of target schema are converted to its types.
+     * the sheet is parsed with sax events on a reader thread, so the workbook is never loaded into memory.
      */
     @Override
-    public ByteArrayOutputStream read() throws IOException {
-        ByteArrayOutputStream arrayOutput = new ByteArrayOutputStream();
-        Workbook workbook = null;
-        try (FileInputStream in = new FileInputStream(file)) {
-            if (getFileType() == XLS) {
-                workbook = new HSSFWorkbook(in);
-            } else {
-                workbook = new XSSFWorkbook(in);
-            }
-        }
-        Sheet sheet = workbook.getSheetAt(0);
-        Schema schema = invokeHead(sheet);
-        DataFormatter formatter = new DataFormatter();
-        buffer = VectorSchemaRoot.create(schema, allocator);
-        for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
-            Row row = sheet.getRow(rowNum);
-            if (Objects.nonNull(row)) {
-                for (int colIndex = 0; colIndex < schema.getFields().size(); colIndex++) {
-                    ValueVector vector = buffer.getVector(colIndex);
-                    Cell cell = row.getCell(colIndex);
-                    String value = formatter.formatCellValue(cell);
-                    ((VarCharVector) vector).setSafe(rowNum - 1, value.getBytes());
-
-                }
-            }
-        }
-        buffer.setRowCount(sheet.getLastRowNum());
-        try (ArrowStreamWriter writer = new ArrowStreamWriter(buffer, null, Channels.newChannel(arrayOutput))) {
-            writer.start();
-            writer.writeBatch();
-            writer.end();
-        } finally {
-            buffer.close();
-            allocator.close();
-            workbook.close();
+    public ArrowReader read(BufferAllocator allocator) throws IOException {
+        if (Objects.isNull(file) || !file.exists()) {
+            throw new IOException(StrUtil.format("file not found {}", file));
         }
-        return arrayOutput;
+        SheetBatchReader reader = new SheetBatchReader(allocator, getBatchSize(), getTargetSchema());
+        reader.start();
+        return reader;
     }
 
     private void init() {
@@ -132,15 +112,128 @@ public class ExcelInputPlugin extends AbstractInputPlugin {
         }
     }
 
-    private Schema invokeHead(Sheet sheet) {
-        List<Field> fields = new ArrayList<>();
-        Row headRow = sheet.getRow(0);
-        for (int i = 0; i < headRow.getLastCellNum(); i++) {
-            Cell headCell = headRow.getCell(i);
-            Field field = Field.nullable(StrUtil.isBlank(headCell.getStringCellValue()) ? "col_" + i : headCell.getStringCellValue(), ArrowType.Utf8.INSTANCE);
-            fields.add(field);
+    private class SheetBatchReader extends RowBatchReader implements ReadListener<Map<Integer, String>> {
+
+        private final Object end = new Object();
+
+        private final BlockingQueue<Object> rows = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+        private Thread parser;
+
+        private volatile boolean closed = false;
+
+        private volatile Throwable error;
+
+        private int columnCount;
+
+        SheetBatchReader(BufferAllocator allocator, int batchSize, Schema targetSchema) {
+            super(allocator, batchSize, targetSchema);
+        }
+
+        void start() {
+            ExcelReaderBuilder builder = EasyExcel.read(file, this)
+                    .excelType(getFileType() == XLS ? ExcelTypeEnum.XLS : ExcelTypeEnum.XLSX)
+                    .headRowNumber(0)
+                    .autoCloseStream(true);
+            parser = new Thread(() -> {
+                try {
+                    if (StrUtil.isBlank(sheet)) {
+                        builder.sheet(0).doRead();
+                    } else if (NumberUtil.isInteger(sheet.trim())) {
+                        builder.sheet(Integer.parseInt(sheet.trim())).doRead();
+                    } else {
+                        builder.sheet(sheet).doRead();
+                    }
+                } catch (ExcelAnalysisStopException e) {
+                    // reader closed before end of sheet
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    offer(end);
+                }
+            }, "Excel-reader-" + file.getName());
+            parser.setDaemon(true);
+            parser.start();
         }
-        return new Schema(fields);
-    }
 
+        @Override
+        public void invoke(Map<Integer, String> data, AnalysisContext context) {
+            offer(data);
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+        }
+
+        private void offer(Object row) {
+            try {
+                while (!closed) {
+                    if (rows.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (row != end) {
+                throw new ExcelAnalysisStopException();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Integer, String> take() throws IOException {
+            Object row;
+            try {
+                row = rows.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("read excel interrupted", e);
+            }
+            if (row == end) {
+                rows.offer(end);
+                if (Objects.nonNull(error)) {
+                    throw new IOException(error.getMessage(), error);
+                }
+                return null;
+            }
+            return (Map<Integer, String>) row;
+        }
+
+        @Override
+        protected String[] nextRow() throws IOException {
+            Map<Integer, String> data = take();
+            if (Objects.isNull(data)) {
+                return null;
+            }
+            String[] values = new String[columnCount];
+            data.forEach((index, value) -> {
+                if (index < columnCount) {
+                    values[index] = value;
+                }
+            });
+            return values;
+        }
+
+        @Override
+        protected List<String> readHeader() throws IOException {
+            Map<Integer, String> headRow = take();
+            List<String> headerNames = new ArrayList<>();
+            if (Objects.nonNull(headRow)) {
+                columnCount = headRow.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+                for (int i = 0; i < columnCount; i++) {
+                    headerNames.add(headRow.get(i));
+                }
+            }
+            return headerNames;
+        }
+
+        @Override
+        protected void closeReadSource() {
+            closed = true;
+            rows.clear();
+            if (Objects.nonNull(parser)) {
+                parser.interrupt();
+            }
+        }
+    }
 }
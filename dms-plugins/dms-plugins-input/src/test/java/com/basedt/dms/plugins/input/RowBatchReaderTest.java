@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.plugins.input;
+
+import com.basedt.dms.common.utils.DateTimeUtil;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class RowBatchReaderTest {
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    public void batchTest() throws IOException {
+        List<String[]> rows = Arrays.asList(row("1"), row("2"), row("3"), row("4"), row("5"));
+        try (ListReader reader = new ListReader(allocator, 2, null, List.of("ID"), rows)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            int[] batchSizes = {2, 2, 1};
+            for (int batchSize : batchSizes) {
+                Assertions.assertTrue(reader.loadNextBatch());
+                // vectors are reused by every batch
+                Assertions.assertSame(root, reader.getVectorSchemaRoot());
+                Assertions.assertEquals(batchSize, root.getRowCount());
+            }
+            Assertions.assertEquals("5", root.getVector("ID").getObject(0).toString());
+            Assertions.assertFalse(reader.loadNextBatch());
+            Assertions.assertEquals(0, root.getRowCount());
+            Assertions.assertEquals(5, reader.getRowsRead());
+        }
+    }
+
+    @Test
+    public void typedParseTest() throws Exception {
+        Schema target = new Schema(List.of(
+                Field.nullable("ID", new ArrowType.Int(64, true)),
+                Field.nullable("QTY", new ArrowType.Int(32, true)),
+                Field.nullable("AMOUNT", new ArrowType.Decimal(10, 2, 128)),
+                Field.nullable("RATE", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)),
+                Field.nullable("FLAG", ArrowType.Bool.INSTANCE),
+                Field.nullable("DAY", new ArrowType.Date(DateUnit.MILLISECOND))));
+        List<String> header = List.of("ID", "QTY", "AMOUNT", "RATE", "FLAG", "DAY", "NOTE");
+        List<String[]> rows = List.<String[]>of(row("9007199254740993", " 1.0 ", "3.456", "0.5", "true", "2024-01-02", "x"));
+        try (ListReader reader = new ListReader(allocator, 10, target, header, rows)) {
+            Assertions.assertTrue(reader.loadNextBatch());
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            Assertions.assertEquals(9007199254740993L, ((BigIntVector) root.getVector("ID")).get(0));
+            // spreadsheets render integers as 1.0
+            Assertions.assertEquals(1, ((IntVector) root.getVector("QTY")).get(0));
+            Assertions.assertEquals(new BigDecimal("3.46"), ((DecimalVector) root.getVector("AMOUNT")).getObject(0));
+            Assertions.assertEquals(0.5, ((Float8Vector) root.getVector("RATE")).get(0));
+            Assertions.assertEquals(1, ((BitVector) root.getVector("FLAG")).get(0));
+            Assertions.assertEquals(DateTimeUtil.toTimeStamp("2024-01-02"), ((DateMilliVector) root.getVector("DAY")).get(0));
+            // columns missing in the target schema are kept as text
+            Assertions.assertInstanceOf(VarCharVector.class, root.getVector("NOTE"));
+            Assertions.assertEquals("x", root.getVector("NOTE").getObject(0).toString());
+        }
+    }
+
+    @Test
+    public void nullTest() throws IOException {
+        Schema target = new Schema(List.of(Field.nullable("ID", new ArrowType.Int(32, true))));
+        List<String[]> rows = List.of(row(" ", ""), row(null, null), row("3"));
+        try (ListReader reader = new ListReader(allocator, 10, target, Arrays.asList("ID", ""), rows)) {
+            Assertions.assertTrue(reader.loadNextBatch());
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            IntVector ids = (IntVector) root.getVector("ID");
+            // blank header names are replaced by their position
+            VarCharVector names = (VarCharVector) root.getVector("col_1");
+            // blank cells of typed columns are null, text keeps empty strings
+            Assertions.assertTrue(ids.isNull(0));
+            Assertions.assertFalse(names.isNull(0));
+            Assertions.assertEquals("", names.getObject(0).toString());
+            Assertions.assertTrue(ids.isNull(1));
+            Assertions.assertTrue(names.isNull(1));
+            // a short row has nulls for its missing columns
+            Assertions.assertEquals(3, ids.get(2));
+            Assertions.assertTrue(names.isNull(2));
+        }
+    }
+
+    @Test
+    public void invalidValueTest() throws IOException {
+        Schema target = new Schema(List.of(Field.nullable("ID", new ArrowType.Int(32, true))));
+        List<String[]> rows = List.of(row("1"), row("2"), row("abc"));
+        try (ListReader reader = new ListReader(allocator, 2, target, List.of("ID"), rows)) {
+            Assertions.assertTrue(reader.loadNextBatch());
+            IOException e = Assertions.assertThrows(IOException.class, reader::loadNextBatch);
+            Assertions.assertEquals("invalid value 'abc' of column ID in row 3", e.getMessage());
+        }
+    }
+
+    private static String[] row(String... values) {
+        return values;
+    }
+
+    private static class ListReader extends RowBatchReader {
+
+        private final List<String> header;
+
+        private final Iterator<String[]> rows;
+
+        ListReader(BufferAllocator allocator, int batchSize, Schema targetSchema, List<String> header, List<String[]> rows) {
+            super(allocator, batchSize, targetSchema);
+            this.header = header;
+            this.rows = rows.iterator();
+        }
+
+        @Override
+        protected List<String> readHeader() {
+            return header;
+        }
+
+        @Override
+        protected String[] nextRow() {
+            return rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        protected void closeReadSource() {
+        }
+    }
+}
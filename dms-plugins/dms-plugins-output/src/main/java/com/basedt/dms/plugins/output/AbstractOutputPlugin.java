@@ -20,9 +20,10 @@ package com.basedt.dms.plugins.output;
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
-import org.apache.commons.beanutils.DynaClass;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractOutputPlugin implements OutputPlugin {
@@ -35,12 +36,12 @@ public abstract class AbstractOutputPlugin implements OutputPlugin {
 
     protected FileType fileType;
 
-    DynaClass columns;
+    List<ResultSetRowReader.Column> columns;
 
     public AbstractOutputPlugin() {
     }
 
-    public AbstractOutputPlugin(File file, String fileEncoding, DynaClass columns) {
+    public AbstractOutputPlugin(File file, String fileEncoding, List<ResultSetRowReader.Column> columns) {
         this.file = file;
         this.fileEncoding = fileEncoding;
         this.columns = columns;
@@ -49,7 +50,7 @@ public abstract class AbstractOutputPlugin implements OutputPlugin {
     public AbstractOutputPlugin(Map<String, Object> props) {
         setFile((File) props.get("file"));
         setFileEncoding((String) props.get("fileEncoding"));
-        setColumns((DynaClass) props.get("columns"));
+        setColumns((List<ResultSetRowReader.Column>) props.get("columns"));
     }
 
     @Override
@@ -93,12 +94,12 @@ public abstract class AbstractOutputPlugin implements OutputPlugin {
     }
 
     @Override
-    public DynaClass getColumns() {
+    public List<ResultSetRowReader.Column> getColumns() {
         return this.columns;
     }
 
     @Override
-    public void setColumns(DynaClass columns) {
+    public void setColumns(List<ResultSetRowReader.Column> columns) {
         this.columns = columns;
     }
 
@@ -19,7 +19,7 @@ package com.basedt.dms.plugins.output;
 
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.Plugin;
-import org.apache.commons.beanutils.DynaClass;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 
 import java.io.File;
 import java.io.IOException;
@@ -35,9 +35,9 @@ public interface OutputPlugin extends Plugin {
 
     void setFileEncoding(String fileEncoding);
 
-    DynaClass getColumns();
+    List<ResultSetRowReader.Column> getColumns();
 
-    void setColumns(DynaClass columns);
+    void setColumns(List<ResultSetRowReader.Column> columns);
 
     FileType getFileType();
 
@@ -19,24 +19,26 @@ package com.basedt.dms.plugins.output;
 
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginLoader;
-import org.apache.commons.beanutils.DynaClass;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OutputPluginManager {
 
+    private static final PluginLoader<OutputPlugin> LOADER = new PluginLoader<>(OutputPlugin.class);
+
     public static OutputPlugin newInstance(PluginInfo pluginInfo, Map<String, Object> props) {
         return newInstance(pluginInfo.getPluginName(), props);
     }
 
     public static OutputPlugin newInstance(String pluginName, Map<String, Object> props) {
-        PluginLoader<OutputPlugin> loader = new PluginLoader<>(OutputPlugin.class);
-        return loader.newInstance(pluginName, props);
+        return LOADER.newInstance(pluginName, props);
     }
 
-    public static OutputPlugin newInstance(String pluginName, File file, String fileEncoding, DynaClass columns) {
+    public static OutputPlugin newInstance(String pluginName, File file, String fileEncoding, List<ResultSetRowReader.Column> columns) {
         Map<String, Object> props = new HashMap<String, Object>();
         props.put("file", file);
         props.put("fileEncoding", fileEncoding);
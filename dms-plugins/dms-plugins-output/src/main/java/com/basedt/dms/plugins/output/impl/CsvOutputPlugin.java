@@ -26,12 +26,13 @@ import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 import com.basedt.dms.plugins.output.OutputPlugin;
 import com.google.auto.service.AutoService;
-import org.apache.commons.beanutils.DynaClass;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Map;
 
 @AutoService(OutputPlugin.class)
@@ -44,7 +45,7 @@ public class CsvOutputPlugin extends ExcelOutputPlugin {
         init();
     }
 
-    public CsvOutputPlugin(File file, String fileEncoding, DynaClass columns) {
+    public CsvOutputPlugin(File file, String fileEncoding, List<ResultSetRowReader.Column> columns) {
         super(file, fileEncoding, columns);
         init();
         configWriter();
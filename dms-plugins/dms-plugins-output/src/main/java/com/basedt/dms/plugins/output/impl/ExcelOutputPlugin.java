@@ -27,11 +27,10 @@ import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 import com.basedt.dms.plugins.output.AbstractOutputPlugin;
 import com.basedt.dms.plugins.output.OutputPlugin;
 import com.google.auto.service.AutoService;
-import org.apache.commons.beanutils.DynaClass;
-import org.apache.commons.beanutils.DynaProperty;
 
 import java.io.File;
 import java.io.IOException;
@@ -55,7 +54,7 @@ public class ExcelOutputPlugin extends AbstractOutputPlugin {
         init();
     }
 
-    public ExcelOutputPlugin(File file, String fileEncoding, DynaClass columns) {
+    public ExcelOutputPlugin(File file, String fileEncoding, List<ResultSetRowReader.Column> columns) {
         super(file, fileEncoding, columns);
         init();
         configWriter();
@@ -92,12 +91,11 @@ public class ExcelOutputPlugin extends AbstractOutputPlugin {
         excelWriter.finish();
     }
 
-    protected List<List<String>> configHeader(DynaClass dynaClass) {
+    protected List<List<String>> configHeader(List<ResultSetRowReader.Column> columns) {
         List<List<String>> headers = new ArrayList<>();
-        if (Objects.nonNull(dynaClass)) {
-            DynaProperty[] cols = dynaClass.getDynaProperties();
-            for (DynaProperty dynaProperty : cols) {
-                String columnName = dynaProperty.getName();
+        if (Objects.nonNull(columns)) {
+            for (ResultSetRowReader.Column column : columns) {
+                String columnName = column.getName();
                 List<String> head = new ArrayList<>();
                 head.add(columnName);
                 headers.add(head);
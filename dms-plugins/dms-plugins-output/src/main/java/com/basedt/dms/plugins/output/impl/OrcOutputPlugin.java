@@ -24,11 +24,10 @@ import com.basedt.dms.common.enums.FileType;
 import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.plugins.core.PluginInfo;
 import com.basedt.dms.plugins.core.PluginType;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 import com.basedt.dms.plugins.output.AbstractOutputPlugin;
 import com.basedt.dms.plugins.output.OutputPlugin;
 import com.google.auto.service.AutoService;
-import org.apache.commons.beanutils.DynaClass;
-import org.apache.commons.beanutils.DynaProperty;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.orc.CompressionKind;
@@ -60,7 +59,7 @@ public class OrcOutputPlugin extends AbstractOutputPlugin {
         init();
     }
 
-    public OrcOutputPlugin(File file, String fileEncoding, DynaClass columns) throws IOException {
+    public OrcOutputPlugin(File file, String fileEncoding, List<ResultSetRowReader.Column> columns) throws IOException {
         super(file, fileEncoding, columns);
         init();
         configWriter();
@@ -138,20 +137,19 @@ public class OrcOutputPlugin extends AbstractOutputPlugin {
         writer.close();
     }
 
-    private TypeDescription configSchema(DynaClass dynaClass) {
+    private TypeDescription configSchema(List<ResultSetRowReader.Column> columns) {
         TypeDescription schema = TypeDescription.createStruct();
-        if (Objects.nonNull(dynaClass)) {
-            DynaProperty[] dynaProperties = dynaClass.getDynaProperties();
-            for (DynaProperty dynaProperty : dynaProperties) {
-                String name = dynaProperty.getName();
-                schema.addField(name, typeMapping(dynaProperty));
+        if (Objects.nonNull(columns)) {
+            for (ResultSetRowReader.Column column : columns) {
+                String name = column.getName();
+                schema.addField(name, typeMapping(column));
             }
         }
         return schema;
     }
 
-    private TypeDescription typeMapping(DynaProperty dynaProperty) {
-        Class<?> type = dynaProperty.getType();
+    private TypeDescription typeMapping(ResultSetRowReader.Column column) {
+        Class<?> type = column.getType();
         if (Boolean.class.getName().equals(type.getName())) {
             return TypeDescription.createBoolean();
         } else if (Byte.class.getName().equals(type.getName())) {
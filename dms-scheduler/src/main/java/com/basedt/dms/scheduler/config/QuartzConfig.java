@@ -18,13 +18,35 @@
 package com.basedt.dms.scheduler.config;
 
 //import com.basedt.dms.scheduler.job.MySampleJob;
+import com.basedt.dms.scheduler.job.MetaDataCrawlJob;
 import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class QuartzConfig {
 
+    @Bean
+    @ConditionalOnProperty(prefix = "dms.metadata.crawler", name = "enabled", havingValue = "true")
+    public JobDetail metaDataCrawlJob() {
+        return JobBuilder.newJob(MetaDataCrawlJob.class)
+                .withIdentity("metaDataCrawlJob")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dms.metadata.crawler", name = "enabled", havingValue = "true")
+    public Trigger metaDataCrawlTrigger(JobDetail metaDataCrawlJob, @Value("${dms.metadata.crawler.cron}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(metaDataCrawlJob)
+                .withIdentity("metaDataCrawlTrigger")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing())
+                .build();
+    }
+
 //    @Bean
 //    public JobDetail sampleJob() {
 //        return JobBuilder.newJob(MySampleJob.class)
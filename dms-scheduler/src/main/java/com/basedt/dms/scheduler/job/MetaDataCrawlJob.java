@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.scheduler.job;
+
+import com.basedt.dms.service.workspace.DmsMetaSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * crawl metadata of every datasource into snapshot, only one node of the cluster runs it at a time
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class MetaDataCrawlJob extends QuartzJobBean {
+
+    @Autowired
+    private DmsMetaSnapshotService dmsMetaSnapshotService;
+
+    @Value("${dms.metadata.crawler.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        // trigger stays in jdbc job store after crawler is switched off
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        dmsMetaSnapshotService.crawlAll();
+        log.info("metadata crawl finished in {} ms", System.currentTimeMillis() - start);
+    }
+}
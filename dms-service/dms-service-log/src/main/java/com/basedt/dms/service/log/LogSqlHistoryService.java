@@ -21,9 +21,18 @@ import com.basedt.dms.service.base.dto.PageDTO;
 import com.basedt.dms.service.log.dto.LogSqlHistoryDTO;
 import com.basedt.dms.service.log.param.LogSqlHistoryParam;
 
+import java.util.Map;
+
 public interface LogSqlHistoryService {
 
     int insert(LogSqlHistoryDTO logSqlHistoryDTO);
 
+    /**
+     * queue history for background batched persistence, the caller does not wait for metadata db
+     */
+    void insertAsync(LogSqlHistoryDTO logSqlHistoryDTO);
+
+    Map<String, Long> getAsyncWriteMetrics();
+
     PageDTO<LogSqlHistoryDTO> listByPage(LogSqlHistoryParam param);
 }
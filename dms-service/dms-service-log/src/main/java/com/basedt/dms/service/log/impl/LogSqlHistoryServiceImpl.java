@@ -30,15 +30,26 @@ import com.basedt.dms.service.log.dto.LogSqlHistoryDTO;
 import com.basedt.dms.service.log.param.LogSqlHistoryParam;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 @Service
 public class LogSqlHistoryServiceImpl implements LogSqlHistoryService {
 
+    /**
+     * length of remark column, longer error messages would fail the whole batch
+     */
+    private static final int REMARK_LENGTH = 1024;
+
     private final LogSqlHistoryMapper logSqlHistoryMapper;
 
-    public LogSqlHistoryServiceImpl(LogSqlHistoryMapper logSqlHistoryMapper) {
+    private final LogSqlHistoryWriter logSqlHistoryWriter;
+
+    public LogSqlHistoryServiceImpl(LogSqlHistoryMapper logSqlHistoryMapper, LogSqlHistoryWriter logSqlHistoryWriter) {
         this.logSqlHistoryMapper = logSqlHistoryMapper;
+        this.logSqlHistoryWriter = logSqlHistoryWriter;
     }
 
     @Override
@@ -47,6 +58,27 @@ public class LogSqlHistoryServiceImpl implements LogSqlHistoryService {
         return this.logSqlHistoryMapper.insert(logSqlHistory);
     }
 
+    @Override
+    public void insertAsync(LogSqlHistoryDTO logSqlHistoryDTO) {
+        LogSqlHistory logSqlHistory = LogSqlHistoryConvert.INSTANCE.toDo(logSqlHistoryDTO);
+        // batched inserts bypass the mybatis meta object handler
+        LocalDateTime now = LocalDateTime.now();
+        logSqlHistory.setCreateTime(now);
+        logSqlHistory.setUpdateTime(now);
+        logSqlHistory.setRemark(StrUtil.sub(logSqlHistory.getRemark(), 0, REMARK_LENGTH));
+        this.logSqlHistoryWriter.write(logSqlHistory);
+    }
+
+    @Override
+    public Map<String, Long> getAsyncWriteMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", (long) this.logSqlHistoryWriter.getQueueDepth());
+        metrics.put("flushed", this.logSqlHistoryWriter.getFlushedCount());
+        metrics.put("spilled", this.logSqlHistoryWriter.getSpilledCount());
+        metrics.put("dropped", this.logSqlHistoryWriter.getDroppedCount());
+        return metrics;
+    }
+
     @Override
     public PageDTO<LogSqlHistoryDTO> listByPage(LogSqlHistoryParam param) {
         Page<LogSqlHistory> page = this.logSqlHistoryMapper.selectPage(
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.log.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.basedt.dms.dao.entity.log.LogSqlHistory;
+import com.basedt.dms.dao.mapper.log.LogSqlHistoryMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * write-behind sink for sql history.
+ * entries are buffered in a bounded queue and flushed by a background thread with multi-row inserts,
+ * entries which can not be queued or written are appended to a spill file and replayed later.
+ */
+@Slf4j
+@Component
+public class LogSqlHistoryWriter {
+
+    private final LogSqlHistoryMapper logSqlHistoryMapper;
+
+    private final BlockingQueue<LogSqlHistory> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long replayIntervalMillis;
+
+    private final File spillFile;
+
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    private final AtomicLong spilledCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final Object spillLock = new Object();
+
+    private volatile boolean running;
+
+    private long lastReplayTime;
+
+    private Thread flusher;
+
+    public LogSqlHistoryWriter(LogSqlHistoryMapper logSqlHistoryMapper,
+                               @Value("${dms.sql.history.queueCapacity:10000}") int queueCapacity,
+                               @Value("${dms.sql.history.batchSize:200}") int batchSize,
+                               @Value("${dms.sql.history.flushIntervalMillis:1000}") long flushIntervalMillis,
+                               @Value("${dms.sql.history.replayIntervalMillis:60000}") long replayIntervalMillis,
+                               @Value("${dms.sql.history.spillFile:${java.io.tmpdir}/dms/sql_history.spill}") String spillFile) {
+        this.logSqlHistoryMapper = logSqlHistoryMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.replayIntervalMillis = replayIntervalMillis;
+        this.spillFile = new File(spillFile);
+    }
+
+    @PostConstruct
+    public void start() {
+        this.running = true;
+        this.flusher = new Thread(this::run, "Sql-history-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.running = false;
+        if (this.flusher != null) {
+            this.flusher.interrupt();
+            try {
+                this.flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<LogSqlHistory> remaining = new ArrayList<>();
+        this.queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    /**
+     * queue one history entry, never blocks the caller
+     */
+    public void write(LogSqlHistory history) {
+        if (!this.queue.offer(history)) {
+            spill(List.of(history));
+        }
+    }
+
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    public long getFlushedCount() {
+        return this.flushedCount.get();
+    }
+
+    public long getSpilledCount() {
+        return this.spilledCount.get();
+    }
+
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    private void run() {
+        List<LogSqlHistory> batch = new ArrayList<>(this.batchSize);
+        while (this.running) {
+            try {
+                LogSqlHistory first = this.queue.poll(this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    this.queue.drainTo(batch, this.batchSize - 1);
+                    flush(batch);
+                    batch.clear();
+                }
+                if (System.currentTimeMillis() - this.lastReplayTime >= this.replayIntervalMillis) {
+                    this.lastReplayTime = System.currentTimeMillis();
+                    replay();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<LogSqlHistory> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.logSqlHistoryMapper.insertBatch(batch);
+            this.flushedCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.error("write sql history batch failed, retry {} entries one by one : {}", batch.size(), e.getMessage());
+            flushEach(batch);
+        }
+    }
+
+    /**
+     * rows rejected by the database are dropped, so one bad entry does not fail its batch on every replay.
+     * on any other error the metadata db is assumed unavailable and the rest is spilled.
+     */
+    private void flushEach(List<LogSqlHistory> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            LogSqlHistory history = batch.get(i);
+            try {
+                this.logSqlHistoryMapper.insert(history);
+                this.flushedCount.incrementAndGet();
+            } catch (DataIntegrityViolationException e) {
+                log.error("sql history entry dropped : {}", e.getMessage());
+                this.droppedCount.incrementAndGet();
+            } catch (Exception e) {
+                log.error("write sql history failed, {} entries spilled : {}", batch.size() - i, e.getMessage());
+                spill(batch.subList(i, batch.size()));
+                return;
+            }
+        }
+    }
+
+    private void spill(List<LogSqlHistory> batch) {
+        List<String> lines = new ArrayList<>(batch.size());
+        for (LogSqlHistory history : batch) {
+            lines.add(JSONUtil.toJsonStr(history));
+        }
+        synchronized (this.spillLock) {
+            try {
+                FileUtil.appendLines(lines, this.spillFile, StandardCharsets.UTF_8);
+                this.spilledCount.addAndGet(batch.size());
+            } catch (Exception e) {
+                log.error("spill sql history failed, {} entries dropped : {}", batch.size(), e.getMessage());
+                this.droppedCount.addAndGet(batch.size());
+            }
+        }
+    }
+
+    /**
+     * load spilled entries back into metadata db. the spill file is moved aside first, entries failing again
+     * are spilled to a new file and the moved file is removed once every entry was written or spilled again.
+     * a file left by an interrupted replay is replayed first.
+     */
+    private void replay() {
+        File replayFile = new File(this.spillFile.getPath() + ".replay");
+        synchronized (this.spillLock) {
+            if (!replayFile.exists()) {
+                if (!this.spillFile.exists() || this.spillFile.length() == 0) {
+                    return;
+                }
+                if (!this.spillFile.renameTo(replayFile)) {
+                    log.error("move spill file {} for replay failed", this.spillFile.getPath());
+                    return;
+                }
+            }
+        }
+        List<String> lines = FileUtil.readLines(replayFile, StandardCharsets.UTF_8);
+        List<LogSqlHistory> batch = new ArrayList<>(this.batchSize);
+        int replayed = 0;
+        for (String line : lines) {
+            if (StrUtil.isBlank(line)) {
+                continue;
+            }
+            try {
+                batch.add(JSONUtil.toBean(line, LogSqlHistory.class));
+            } catch (Exception e) {
+                // a line cut short by a crash while appending
+                log.error("invalid spilled sql history entry dropped : {}", e.getMessage());
+                this.droppedCount.incrementAndGet();
+                continue;
+            }
+            replayed++;
+            if (batch.size() >= this.batchSize) {
+                flush(batch);
+                batch = new ArrayList<>(this.batchSize);
+            }
+        }
+        flush(batch);
+        FileUtil.del(replayFile);
+        log.info("replayed {} spilled sql history entries", replayed);
+    }
+}
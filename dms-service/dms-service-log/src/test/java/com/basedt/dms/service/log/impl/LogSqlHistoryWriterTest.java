@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.log.impl;
+
+import com.basedt.dms.dao.entity.log.LogSqlHistory;
+import com.basedt.dms.dao.mapper.log.LogSqlHistoryMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+public class LogSqlHistoryWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+
+    private final Set<String> written = ConcurrentHashMap.newKeySet();
+
+    @Test
+    public void spillAndReplayTest() throws InterruptedException {
+        LogSqlHistoryMapper mapper = mockMapper();
+        File spillFile = this.tempDir.resolve("sql_history.spill").toFile();
+        available.set(false);
+        LogSqlHistoryWriter writer = new LogSqlHistoryWriter(mapper, 3, 2, 50, 0, spillFile.getPath());
+        for (int i = 0; i < 5; i++) {
+            writer.write(history("select " + i));
+        }
+        // queue holds 3 entries, the rest is spilled by the caller
+        Assertions.assertEquals(2, writer.getSpilledCount());
+        Assertions.assertEquals(3, writer.getQueueDepth());
+        // the database is down, so the queued entries are spilled on shutdown
+        writer.stop();
+        Assertions.assertEquals(5, writer.getSpilledCount());
+        Assertions.assertEquals(0, writer.getFlushedCount());
+        Assertions.assertTrue(spillFile.exists());
+
+        available.set(true);
+        LogSqlHistoryWriter restarted = new LogSqlHistoryWriter(mapper, 3, 2, 50, 0, spillFile.getPath());
+        restarted.start();
+        try {
+            await(() -> restarted.getFlushedCount() == 5);
+        } finally {
+            restarted.stop();
+        }
+        Assertions.assertEquals(Set.of("select 0", "select 1", "select 2", "select 3", "select 4"), written);
+        Assertions.assertEquals(0, restarted.getDroppedCount());
+        Assertions.assertFalse(spillFile.exists());
+        Assertions.assertFalse(new File(spillFile.getPath() + ".replay").exists());
+    }
+
+    @Test
+    public void replayWhileUnavailableTest() throws InterruptedException {
+        LogSqlHistoryMapper mapper = mockMapper();
+        File spillFile = this.tempDir.resolve("sql_history.spill").toFile();
+        available.set(false);
+        LogSqlHistoryWriter writer = new LogSqlHistoryWriter(mapper, 10, 10, 50, 0, spillFile.getPath());
+        writer.start();
+        try {
+            writer.write(history("select 1"));
+            writer.write(history("select 2"));
+            // failed replays spill the entries again instead of losing them
+            await(() -> writer.getSpilledCount() >= 6);
+            Assertions.assertEquals(0, writer.getDroppedCount());
+            available.set(true);
+            await(() -> writer.getFlushedCount() == 2);
+        } finally {
+            writer.stop();
+        }
+        Assertions.assertEquals(Set.of("select 1", "select 2"), written);
+        Assertions.assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void rejectedEntryTest() {
+        LogSqlHistoryMapper mapper = mockMapper();
+        File spillFile = this.tempDir.resolve("sql_history.spill").toFile();
+        LogSqlHistoryWriter writer = new LogSqlHistoryWriter(mapper, 10, 10, 50, 0, spillFile.getPath());
+        writer.write(history("select 1"));
+        writer.write(history("bad"));
+        writer.write(history("select 3"));
+        writer.stop();
+        // the batch fails because of one row, the other rows are written one by one
+        Assertions.assertEquals(2, writer.getFlushedCount());
+        Assertions.assertEquals(1, writer.getDroppedCount());
+        Assertions.assertEquals(0, writer.getSpilledCount());
+        Assertions.assertEquals(Set.of("select 1", "select 3"), written);
+        Assertions.assertFalse(spillFile.exists());
+    }
+
+    /**
+     * mapper failing with a connection error while unavailable and rejecting entries with sql 'bad'
+     */
+    private LogSqlHistoryMapper mockMapper() {
+        LogSqlHistoryMapper mapper = Mockito.mock(LogSqlHistoryMapper.class);
+        Mockito.doAnswer(invocation -> {
+            List<LogSqlHistory> list = invocation.getArgument(0);
+            for (LogSqlHistory history : list) {
+                check(history);
+            }
+            for (LogSqlHistory history : list) {
+                written.add(history.getSqlScript());
+            }
+            return list.size();
+        }).when(mapper).insertBatch(anyList());
+        Mockito.doAnswer(invocation -> {
+            LogSqlHistory history = invocation.getArgument(0);
+            check(history);
+            written.add(history.getSqlScript());
+            return 1;
+        }).when(mapper).insert(any(LogSqlHistory.class));
+        return mapper;
+    }
+
+    private void check(LogSqlHistory history) {
+        if (!available.get()) {
+            throw new RuntimeException("connection refused");
+        }
+        if ("bad".equals(history.getSqlScript())) {
+            throw new DataIntegrityViolationException("value too long");
+        }
+    }
+
+    private LogSqlHistory history(String sql) {
+        LogSqlHistory history = new LogSqlHistory();
+        history.setWorkspaceId(1L);
+        history.setDatasourceId(2L);
+        history.setSqlScript(sql);
+        history.setSqlStatus("1");
+        return history;
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(20);
+        }
+    }
+}
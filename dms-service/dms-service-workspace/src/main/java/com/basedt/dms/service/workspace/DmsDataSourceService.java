@@ -38,4 +38,6 @@ public interface DmsDataSourceService {
     PageDTO<DmsDataSourceDTO> listByPage(DmsDataSourceParam param);
 
     List<DmsDataSourceDTO> listByWorkspaceId(Long workspaceId);
+
+    List<DmsDataSourceDTO> listAll();
 }
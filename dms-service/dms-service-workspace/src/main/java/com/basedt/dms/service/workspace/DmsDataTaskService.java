@@ -21,6 +21,7 @@ import com.basedt.dms.service.base.dto.PageDTO;
 import com.basedt.dms.service.log.dto.LogDataTaskDTO;
 import com.basedt.dms.service.workspace.dto.DmsDataTaskDTO;
 import com.basedt.dms.service.workspace.param.DmsDataTaskParam;
+import com.basedt.dms.service.workspace.vo.DmsDdlExportTaskVO;
 import com.basedt.dms.service.workspace.vo.DmsImportTaskVO;
 
 import java.io.IOException;
@@ -45,5 +46,10 @@ public interface DmsDataTaskService {
 
     void createExportTask(Long taskId, String script) throws SQLException;
 
+    /**
+     * export ddl of all tables, views, materialized views, functions and sequences in a schema into one sql file
+     */
+    void createDdlExportTask(Long taskId, DmsDdlExportTaskVO dmsDdlExportTaskVO);
+
     List<LogDataTaskDTO> getLogDetail(Long taskId) throws IOException;
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace;
+
+import com.basedt.dms.service.workspace.dto.DmsMetaSearchDTO;
+
+import java.util.List;
+
+public interface DmsMetaSearchService {
+
+    /**
+     * search table and column names and remarks of the datasources in workspace.
+     * keyword tokens are matched exactly, by prefix, by n-gram and at last fuzzily, every token must match.
+     */
+    List<DmsMetaSearchDTO> search(Long workspaceId, String keyword, int limit);
+
+    /**
+     * search reads the crawled metadata snapshot, so it is only available with the metadata crawler enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * drop index of datasource, it is rebuilt from snapshot on next search
+     */
+    void reindex(Long datasourceId);
+
+    /**
+     * rebuild index of one schema from snapshot
+     */
+    void reindex(Long datasourceId, String catalog, String schema);
+}
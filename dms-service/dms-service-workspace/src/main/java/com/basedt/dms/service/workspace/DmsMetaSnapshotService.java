@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace;
+
+import com.basedt.dms.plugins.datasource.MetaDataSnapshotProvider;
+import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
+
+import java.sql.SQLException;
+
+public interface DmsMetaSnapshotService extends MetaDataSnapshotProvider {
+
+    /**
+     * crawl catalogs, schemas and tables of datasource into snapshot,
+     * tables whose change marker is unchanged since last crawl are skipped.
+     */
+    void crawl(DmsDataSourceDTO dataSource) throws SQLException;
+
+    /**
+     * crawl every datasource and drop snapshot of deleted datasource
+     */
+    void crawlAll();
+}
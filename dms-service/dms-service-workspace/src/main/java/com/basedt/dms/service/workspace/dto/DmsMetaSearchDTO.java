@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+@Schema(name = "DmsMetaSearchDTO", title = "Dms Meta Search DTO")
+public class DmsMetaSearchDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(name = "datasourceId", title = "datasource id")
+    private Long datasourceId;
+
+    @Schema(name = "datasourceName", title = "datasource name")
+    private String datasourceName;
+
+    @Schema(name = "catalogName", title = "catalog name")
+    private String catalogName;
+
+    @Schema(name = "schemaName", title = "schema name")
+    private String schemaName;
+
+    @Schema(name = "tableName", title = "table name")
+    private String tableName;
+
+    /**
+     * empty when the hit is the table itself
+     */
+    @Schema(name = "columnName", title = "column name")
+    private String columnName;
+
+    @Schema(name = "objectType", title = "object type")
+    private String objectType;
+
+    @Schema(name = "remark", title = "remark")
+    private String remark;
+
+    @Schema(name = "score", title = "score")
+    private Double score;
+}
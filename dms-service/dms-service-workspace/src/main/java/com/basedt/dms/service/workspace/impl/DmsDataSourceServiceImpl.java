@@ -22,7 +22,9 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.basedt.dms.dao.entity.master.workspace.DmsDataSource;
 import com.basedt.dms.dao.mapper.master.workspace.DmsDataSourceMapper;
-import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
+import com.basedt.dms.plugins.datasource.DataSourcePluginManager;
+import com.basedt.dms.plugins.datasource.MetaDataService;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
 import com.basedt.dms.service.base.dto.PageDTO;
 import com.basedt.dms.service.workspace.DmsDataSourceService;
 import com.basedt.dms.service.workspace.convert.DmsDataSourceConvert;
@@ -39,8 +41,11 @@ public class DmsDataSourceServiceImpl implements DmsDataSourceService {
 
     private final DmsDataSourceMapper dmsDataSourceMapper;
 
-    public DmsDataSourceServiceImpl(DmsDataSourceMapper dmsDataSourceMapper) {
+    private final MetaDataService metaDataService;
+
+    public DmsDataSourceServiceImpl(DmsDataSourceMapper dmsDataSourceMapper, MetaDataService metaDataService) {
         this.dmsDataSourceMapper = dmsDataSourceMapper;
+        this.metaDataService = metaDataService;
     }
 
 
@@ -55,7 +60,9 @@ public class DmsDataSourceServiceImpl implements DmsDataSourceService {
         DmsDataSource dataSource = DmsDataSourceConvert.INSTANCE.toDo(dataSourceDTO);
         if (Objects.nonNull(dataSource.getId())) {
             this.dmsDataSourceMapper.updateById(dataSource);
-            JdbcUtil.DATA_SOURCE_MAP.remove(String.valueOf(dataSource.getId()));
+            DataSourcePluginManager.invalidate(String.valueOf(dataSource.getId()));
+            DataSourcePoolRegistry.invalidate(String.valueOf(dataSource.getId()));
+            metaDataService.evictCache(String.valueOf(dataSource.getId()));
         }
     }
 
@@ -63,7 +70,9 @@ public class DmsDataSourceServiceImpl implements DmsDataSourceService {
     public void deleteById(Long id) {
         if (Objects.nonNull(id)) {
             this.dmsDataSourceMapper.deleteById(id);
-            JdbcUtil.DATA_SOURCE_MAP.remove(String.valueOf(id));
+            DataSourcePluginManager.invalidate(String.valueOf(id));
+            DataSourcePoolRegistry.invalidate(String.valueOf(id));
+            metaDataService.evictCache(String.valueOf(id));
         }
     }
 
@@ -71,7 +80,11 @@ public class DmsDataSourceServiceImpl implements DmsDataSourceService {
     public void deleteBatch(List<Long> idList) {
         this.dmsDataSourceMapper.deleteByIds(idList);
         if (!CollectionUtils.isEmpty(idList)) {
-            idList.forEach(id -> JdbcUtil.DATA_SOURCE_MAP.remove(String.valueOf(id)));
+            idList.forEach(id -> {
+                DataSourcePluginManager.invalidate(String.valueOf(id));
+                DataSourcePoolRegistry.invalidate(String.valueOf(id));
+                metaDataService.evictCache(String.valueOf(id));
+            });
         }
     }
 
@@ -104,4 +117,10 @@ public class DmsDataSourceServiceImpl implements DmsDataSourceService {
         );
         return DmsDataSourceConvert.INSTANCE.toDto(list);
     }
+
+    @Override
+    public List<DmsDataSourceDTO> listAll() {
+        List<DmsDataSource> list = this.dmsDataSourceMapper.selectList(Wrappers.lambdaQuery(DmsDataSource.class));
+        return DmsDataSourceConvert.INSTANCE.toDto(list);
+    }
 }
@@ -26,7 +26,9 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.basedt.dms.common.constant.Constants;
 import com.basedt.dms.common.enums.FileType;
+import com.basedt.dms.common.enums.ResponseCode;
 import com.basedt.dms.common.enums.TaskStatus;
+import com.basedt.dms.common.exception.DmsException;
 import com.basedt.dms.common.utils.DateTimeUtil;
 import com.basedt.dms.common.utils.MinioUtil;
 import com.basedt.dms.dao.entity.master.workspace.DmsDataTask;
@@ -35,7 +37,14 @@ import com.basedt.dms.plugins.core.PluginType;
 import com.basedt.dms.plugins.datasource.DataSourcePlugin;
 import com.basedt.dms.plugins.datasource.DataSourcePluginManager;
 import com.basedt.dms.plugins.datasource.MetaDataService;
+import com.basedt.dms.plugins.datasource.dto.DataSourceDTO;
+import com.basedt.dms.plugins.datasource.dto.ObjectDTO;
+import com.basedt.dms.plugins.datasource.dto.TableDTO;
+import com.basedt.dms.plugins.datasource.enums.DbObjectType;
+import com.basedt.dms.plugins.datasource.param.InsertBatchParam;
+import com.basedt.dms.plugins.datasource.utils.DataSourcePoolRegistry;
 import com.basedt.dms.plugins.datasource.utils.JdbcUtil;
+import com.basedt.dms.plugins.datasource.utils.ResultSetRowReader;
 import com.basedt.dms.plugins.input.InputPlugin;
 import com.basedt.dms.plugins.input.InputPluginManager;
 import com.basedt.dms.plugins.output.OutputPlugin;
@@ -50,26 +59,28 @@ import com.basedt.dms.service.workspace.convert.DmsDataTaskConvert;
 import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
 import com.basedt.dms.service.workspace.dto.DmsDataTaskDTO;
 import com.basedt.dms.service.workspace.param.DmsDataTaskParam;
+import com.basedt.dms.service.workspace.vo.DmsDdlExportTaskVO;
 import com.basedt.dms.service.workspace.vo.DmsImportTaskVO;
 import org.apache.arrow.memory.RootAllocator;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
-import org.apache.commons.beanutils.DynaBean;
-import org.apache.commons.beanutils.DynaProperty;
-import org.apache.commons.beanutils.ResultSetDynaClass;
+import org.apache.arrow.vector.ipc.ArrowReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.*;
-import java.sql.Date;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class DmsDataTaskServiceImpl implements DmsDataTaskService {
@@ -86,6 +97,13 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
 
     private final Integer BUFFER_SIZE = 5000;
 
+    /**
+     * ddl statements submitted ahead of the writer per worker
+     */
+    private static final int DDL_WINDOW_FACTOR = 4;
+
+    private static final int DDL_LOG_INTERVAL = 100;
+
     @Value("${minio.bucketName}")
     private String bucketName;
 
@@ -174,6 +192,8 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
             propMap.put("fileEncoding", dmsImportTaskVO.getFileEncoding());
             if (FileType.CSV.name().equalsIgnoreCase(dmsImportTaskVO.getFileType())) {
                 propMap.put("separator", dmsImportTaskVO.getSeparator());
+            } else {
+                propMap.put("sheet", dmsImportTaskVO.getSheet());
             }
             InputPlugin inputPlugin = InputPluginManager.newInstance(StrUtil.concat(true, PluginType.RESOURCE_INPUT.name(), Constants.SEPARATOR_UNDERLINE, dmsDataTaskDTO.getFileType().getValue()).toUpperCase(),
                     propMap);
@@ -184,21 +204,22 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
                     attrs.put(k, (String) v);
                 });
             }
-            try (ByteArrayOutputStream outputStream = inputPlugin.read();
-                 ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
-                 RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
-                 ArrowStreamReader reader = new ArrowStreamReader(inputStream, allocator)) {
-                DataSourcePlugin dataSourcePlugin = DataSourcePluginManager.newInstance(
-                        StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, dataSourceDTO.getDatasourceType().getValue()).toUpperCase(),
-                        String.valueOf(dataSourceDTO.getId()),
-                        dataSourceDTO.getHostName(),
-                        dataSourceDTO.getPort(),
-                        dataSourceDTO.getDatabaseName(),
-                        dataSourceDTO.getUserName(),
-                        Base64.decodeStr(dataSourceDTO.getPassword()),
-                        attrs
-                );
-                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, "connected to the database success."));
+            DataSourcePlugin dataSourcePlugin = DataSourcePluginManager.newInstance(
+                    StrUtil.concat(true, PluginType.DATASOURCE.name(), Constants.SEPARATOR_UNDERLINE, dataSourceDTO.getDatasourceType().getValue()).toUpperCase(),
+                    String.valueOf(dataSourceDTO.getId()),
+                    dataSourceDTO.getHostName(),
+                    dataSourceDTO.getPort(),
+                    dataSourceDTO.getDatabaseName(),
+                    dataSourceDTO.getUserName(),
+                    Base64.decodeStr(dataSourceDTO.getPassword()),
+                    attrs
+            );
+            // file columns are parsed into the types of target table columns
+            inputPlugin.setTargetSchema(dataSourcePlugin.getImportSchema(dmsImportTaskVO.getCatalog(), dmsImportTaskVO.getSchema(), dmsImportTaskVO.getTableName()));
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, "connected to the database success."));
+            // file is parsed batch by batch while rows are inserted
+            try (RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+                 ArrowReader reader = inputPlugin.read(allocator)) {
                 String tableName = StrUtil.concat(true, dmsImportTaskVO.getSchema(), Constants.SEPARATOR_DOT, dmsImportTaskVO.getTableName());
                 if (dmsImportTaskVO.getIsTruncate()) {
                     String sql = StrUtil.concat(true, "truncate table ", tableName);
@@ -206,15 +227,27 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
                     dataSourcePlugin.execute(sql);
                 }
                 this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("start import data to table {}", tableName)));
-                dataSourcePlugin.insertBatch(reader, dmsImportTaskVO.getCatalog(), dmsImportTaskVO.getSchema(), dmsImportTaskVO.getTableName());
+                InsertBatchParam insertParam = new InsertBatchParam();
+                if (Objects.nonNull(dmsImportTaskVO.getParallelism())) {
+                    insertParam.setParallelism(dmsImportTaskVO.getParallelism());
+                }
+                if (Objects.nonNull(dmsImportTaskVO.getOrdered())) {
+                    insertParam.setOrdered(dmsImportTaskVO.getOrdered());
+                }
+                if (Objects.nonNull(dmsImportTaskVO.getCommitInterval())) {
+                    insertParam.setCommitInterval(dmsImportTaskVO.getCommitInterval());
+                }
+                dataSourcePlugin.insertBatch(reader, dmsImportTaskVO.getCatalog(), dmsImportTaskVO.getSchema(), dmsImportTaskVO.getTableName(), insertParam);
                 this.logDataTaskService.insert(new LogDataTaskDTO(taskId, "data import completed."));
                 FileUtil.del(tmpFilePath);
                 dmsDataTaskDTO.setTaskStatus(TaskStatus.SUCCESS.toDict());
             } catch (Exception e) {
-                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getMessage())));
+                // rows of batches committed before the failure stay in the table
+                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getClass().getSimpleName(), e.getMessage())));
+                dmsDataTaskDTO.setTaskStatus(TaskStatus.FAILURE.toDict());
             }
         } catch (Exception e) {
-            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getMessage())));
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getClass().getSimpleName(), e.getMessage())));
             dmsDataTaskDTO.setTaskStatus(TaskStatus.FAILURE.toDict());
         } finally {
             this.update(dmsDataTaskDTO);
@@ -251,8 +284,7 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
             pstm = connection.prepareStatement(sql);
             this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("execute query {}", sql)));
             rs = pstm.executeQuery();
-            ResultSetDynaClass resultSetDynaClass = new ResultSetDynaClass(rs, true, true);
-            Iterator<DynaBean> iterator = resultSetDynaClass.iterator();
+            ResultSetRowReader reader = new ResultSetRowReader(rs);
             if (Objects.nonNull(dmsDataTaskDTO.getSplitRow()) && dmsDataTaskDTO.getSplitRow() > 0) {
                 //split file
                 int rowNum = 0;
@@ -263,11 +295,10 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
                         StrUtil.concat(true, PluginType.RESOURCE_OUTPUT.name(), Constants.SEPARATOR_UNDERLINE, dmsDataTaskDTO.getFileType().getValue()).toUpperCase(),
                         tmpFile,
                         dmsDataTaskDTO.getFileEncoding().getValue(),
-                        resultSetDynaClass
+                        reader.getColumns()
                 );
-                while (iterator.hasNext()) {
-                    DynaBean dynaBean = iterator.next();
-                    bufferList.add(bean2Json(dynaBean));
+                while (reader.next()) {
+                    bufferList.add(Arrays.asList(reader.getRow().clone()));
                     rowNum++;
                     if (rowNum % BUFFER_SIZE == 0) {
                         outputPlugin.write(bufferList);
@@ -285,7 +316,7 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
                                 StrUtil.concat(true, PluginType.RESOURCE_OUTPUT.name(), Constants.SEPARATOR_UNDERLINE, dmsDataTaskDTO.getFileType().getValue()).toUpperCase(),
                                 tmpFile,
                                 dmsDataTaskDTO.getFileEncoding().getValue(),
-                                resultSetDynaClass
+                                reader.getColumns()
                         );
                     }
                 }
@@ -307,12 +338,11 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
                         StrUtil.concat(true, PluginType.RESOURCE_OUTPUT.name(), Constants.SEPARATOR_UNDERLINE, dmsDataTaskDTO.getFileType().getValue()).toUpperCase(),
                         tmpFile,
                         dmsDataTaskDTO.getFileEncoding().getValue(),
-                        resultSetDynaClass
+                        reader.getColumns()
                 );
-                while (iterator.hasNext()) {
-                    DynaBean bean = iterator.next();
+                while (reader.next()) {
                     rowNum++;
-                    bufferList.add(bean2Json(bean));
+                    bufferList.add(Arrays.asList(reader.getRow().clone()));
                     if (bufferList.size() >= BUFFER_SIZE) {
                         outputPlugin.write(bufferList);
                         this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("exported rows {}", rowNum)));
@@ -340,7 +370,7 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
             dmsDataTaskDTO.setFileUrl(minioUtil.getObjectURI(this.bucketName, objectName));
             dmsDataTaskDTO.setTaskStatus(TaskStatus.SUCCESS.toDict());
         } catch (Exception e) {
-            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getMessage())));
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("[{}] exception:{}", e.getClass().getSimpleName(), e.getMessage())));
             dmsDataTaskDTO.setTaskStatus(TaskStatus.FAILURE.toDict());
         } finally {
             JdbcUtil.closeSilently(connection, pstm, rs);
@@ -349,38 +379,154 @@ public class DmsDataTaskServiceImpl implements DmsDataTaskService {
     }
 
     @Override
-    public List<LogDataTaskDTO> getLogDetail(Long taskId) throws IOException {
-        return this.logDataTaskService.listByTask(taskId);
+    @Async("asyncExecutor")
+    public void createDdlExportTask(Long taskId, DmsDdlExportTaskVO dmsDdlExportTaskVO) {
+        DmsDataTaskDTO dmsDataTaskDTO = this.selectOne(taskId);
+        String catalog = dmsDdlExportTaskVO.getCatalog();
+        String schema = dmsDdlExportTaskVO.getSchema();
+        String tmpFilePath = System.getProperty("java.io.tmpdir");
+        if (!tmpFilePath.endsWith(File.separator)) {
+            tmpFilePath += File.separator;
+        }
+        tmpFilePath += "dms" + File.separator + "ddl" + File.separator + taskId;
+        ExecutorService executor = null;
+        try {
+            FileUtil.mkdir(tmpFilePath);
+            dmsDataTaskDTO.setTaskStatus(TaskStatus.RUNNING.toDict());
+            this.update(dmsDataTaskDTO);
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, "ddl export task start..."));
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("local temp file folder is {}", tmpFilePath)));
+            DmsDataSourceDTO dto = this.dmsDataSourceService.selectOne(dmsDataTaskDTO.getDatasourceId());
+            DataSourceDTO dataSource = DataSourceConvert.toDataSource(dto);
+            DataSourcePlugin plugin = this.metaDataService.getDataSourcePluginInstance(dataSource);
+            AtomicInteger failures = new AtomicInteger();
+            List<Callable<String>> jobs = listDdlJobs(taskId, plugin, dataSource, catalog, schema, failures);
+            // leave half of the pool to the sql console and metadata browsing
+            int workers = Math.max(1, DataSourcePoolRegistry.getMaxActive(plugin.getDataSource()) / 2);
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("generate ddl of {} objects with {} workers", jobs.size(), workers)));
+            AtomicInteger threadNum = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(workers, r -> {
+                Thread thread = new Thread(r, "Ddl-export-" + taskId + "-" + threadNum.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            File tmpFile = FileUtil.file(tmpFilePath, dmsDataTaskDTO.getFileName() + "." + FileType.SQL.getValue());
+            // statements are written in listing order while the next ones are generated
+            try (BufferedWriter writer = FileUtil.getWriter(tmpFile, StandardCharsets.UTF_8, false)) {
+                Deque<Future<String>> window = new ArrayDeque<>();
+                Iterator<Callable<String>> iterator = jobs.iterator();
+                int count = 0;
+                while (iterator.hasNext() || !window.isEmpty()) {
+                    while (iterator.hasNext() && window.size() < workers * DDL_WINDOW_FACTOR) {
+                        window.add(executor.submit(iterator.next()));
+                    }
+                    writer.write(window.poll().get());
+                    writer.write("\n\n");
+                    count++;
+                    if (count % DDL_LOG_INTERVAL == 0) {
+                        this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("exported ddl {}/{}", count, jobs.size())));
+                    }
+                }
+                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("exported ddl {}/{}", count, jobs.size())));
+            }
+            logDataTaskService.insert(new LogDataTaskDTO(taskId, "zip local file and upload to file server"));
+            File zipFile = ZipUtil.zip(tmpFilePath);
+            String objectName = StrUtil.concat(true, "export/", String.valueOf(taskId), "/", zipFile.getName());
+            minioUtil.uploadObject(this.bucketName, objectName, FileUtil.getInputStream(zipFile));
+            logDataTaskService.insert(new LogDataTaskDTO(taskId, "clear temp files."));
+            dmsDataTaskDTO.setFileSize(Files.size(zipFile.toPath()));
+            FileUtil.del(zipFile);
+            logDataTaskService.insert(new LogDataTaskDTO(taskId, "ddl export task end."));
+            dmsDataTaskDTO.setFileUrl(minioUtil.getObjectURI(this.bucketName, objectName));
+            if (failures.get() > 0) {
+                // the file is still uploaded, it holds every object which could be exported
+                logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("ddl export incomplete, {} objects or object types failed", failures.get())));
+                dmsDataTaskDTO.setTaskStatus(TaskStatus.FAILURE.toDict());
+            } else {
+                dmsDataTaskDTO.setTaskStatus(TaskStatus.SUCCESS.toDict());
+            }
+        } catch (Exception e) {
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("exception:{}", e.getMessage())));
+            dmsDataTaskDTO.setTaskStatus(TaskStatus.FAILURE.toDict());
+        } finally {
+            if (Objects.nonNull(executor)) {
+                executor.shutdownNow();
+            }
+            FileUtil.del(tmpFilePath);
+            this.update(dmsDataTaskDTO);
+        }
     }
 
-
-    private List<Object> bean2Json(DynaBean bean) {
-        if (Objects.isNull(bean)) {
-            return null;
+    /**
+     * one job per schema object, tables first. table ddl is read with schema level queries when the database supports it,
+     * otherwise or when they fail table by table.
+     * a failed object is written as a comment so one broken view does not stop the export, failed objects and
+     * object types which could not be listed are counted in failures, object types the database does not have are skipped.
+     */
+    private List<Callable<String>> listDdlJobs(Long taskId, DataSourcePlugin plugin, DataSourceDTO dataSource, String catalog, String schema, AtomicInteger failures) {
+        List<Callable<String>> jobs = new ArrayList<>();
+        try {
+            List<TableDTO> tables = plugin.getTableHandler().listTables(catalog, schema, null, DbObjectType.TABLE);
+            Map<String, String> bulkDDL = null;
+            try {
+                bulkDDL = plugin.getTableHandler().getTableDDLBySchema(catalog, schema);
+            } catch (Exception e) {
+                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("read table ddl by schema failed, generate table by table : {}", e.getMessage())));
+            }
+            Map<String, String> tableDDL = bulkDDL;
+            for (TableDTO table : tables) {
+                String tableName = table.getTableName();
+                jobs.add(ddlJob(taskId, DbObjectType.TABLE, schema, tableName, failures, () -> Objects.nonNull(tableDDL) && tableDDL.containsKey(tableName)
+                        ? tableDDL.get(tableName)
+                        : plugin.getTableHandler().getTableDDL(catalog, schema, tableName)));
+            }
+        } catch (Exception e) {
+            skipObjectType(taskId, DbObjectType.TABLE, e, failures);
         }
-        List<Object> list = new ArrayList<>();
-        DynaProperty[] cols = bean.getDynaClass().getDynaProperties();
-        for (DynaProperty col : cols) {
-            if (col.getType().getName().equals(Timestamp.class.getName())) {
-                Timestamp value = (Timestamp) bean.get(col.getName());
-                if (value != null) {
-                    list.add(DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATETIME_MS_PATTERN));
-                } else {
-                    list.add(null);
-                }
-            } else if (col.getType().getName().equals(Date.class.getName())) {
-                Date value = (Date) bean.get(col.getName());
-                if (value != null) {
-                    list.add(DateTimeUtil.toChar(value.getTime(), DateTimeUtil.NORMAL_DATE_PATTERN));
-                } else {
-                    list.add(null);
+        Map<DbObjectType, Callable<List<? extends ObjectDTO>>> listers = new LinkedHashMap<>();
+        listers.put(DbObjectType.VIEW, () -> plugin.getViewHandler().listViews(catalog, schema, null));
+        listers.put(DbObjectType.MATERIALIZED_VIEW, () -> plugin.getMaterializedViewHandler().listMViews(catalog, schema, null));
+        listers.put(DbObjectType.FUNCTION, () -> plugin.getFunctionHandler().listFunctions(catalog, schema, null));
+        listers.put(DbObjectType.SEQUENCE, () -> plugin.getSequenceHandler().listSequences(catalog, schema, null));
+        listers.forEach((type, lister) -> {
+            try {
+                for (ObjectDTO object : lister.call()) {
+                    String objectName = object.getObjectName();
+                    jobs.add(ddlJob(taskId, type, schema, objectName, failures, () -> this.metaDataService.generateDDL(dataSource, catalog, schema, objectName, type)));
                 }
-            } else {
-                Object value = bean.get(col.getName());
-                list.add(value);
+            } catch (Exception e) {
+                skipObjectType(taskId, type, e, failures);
             }
+        });
+        return jobs;
+    }
+
+    private void skipObjectType(Long taskId, DbObjectType type, Exception e, AtomicInteger failures) {
+        if (e instanceof DmsException dmsException
+                && ResponseCode.ERROR_DB_TYPE_NOT_SUPPORTED.getValue().equals(dmsException.getExceptionCode())) {
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("skip {} : {}", type.name().toLowerCase(), e.getMessage())));
+        } else {
+            failures.incrementAndGet();
+            this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("list {} failed, none exported : {}", type.name().toLowerCase(), e.getMessage())));
         }
-        return list;
+    }
+
+    private Callable<String> ddlJob(Long taskId, DbObjectType type, String schema, String objectName, AtomicInteger failures, Callable<String> ddl) {
+        return () -> {
+            String title = StrUtil.format("-- {} {}{}{}\n", type.name().toLowerCase(), schema, Constants.SEPARATOR_DOT, objectName);
+            try {
+                return title + StrUtil.nullToEmpty(ddl.call());
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                this.logDataTaskService.insert(new LogDataTaskDTO(taskId, StrUtil.format("generate ddl of {} failed : {}", objectName, e.getMessage())));
+                return title + "-- " + StrUtil.nullToEmpty(e.getMessage()).replace("\n", "\n-- ");
+            }
+        };
+    }
+
+    @Override
+    public List<LogDataTaskDTO> getLogDetail(Long taskId) throws IOException {
+        return this.logDataTaskService.listByTask(taskId);
     }
 
 }
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace.impl;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.common.utils.RedisUtil;
+import com.basedt.dms.dao.entity.master.workspace.DmsMetaSnapshot;
+import com.basedt.dms.dao.mapper.master.workspace.DmsMetaSnapshotMapper;
+import com.basedt.dms.plugins.datasource.dto.TableDTO;
+import com.basedt.dms.service.workspace.DmsDataSourceService;
+import com.basedt.dms.service.workspace.DmsMetaSearchService;
+import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
+import com.basedt.dms.service.workspace.dto.DmsMetaSearchDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
+
+/**
+ * in memory search index built from the crawled metadata snapshot, one index per schema
+ * so that a ddl statement only rebuilds the schema it touched.
+ * every node keeps its own index, reindex requests are broadcast so that all nodes drop stale entries.
+ */
+@Slf4j
+@Service
+public class DmsMetaSearchServiceImpl implements DmsMetaSearchService {
+
+    private final DmsMetaSnapshotMapper dmsMetaSnapshotMapper;
+
+    private final DmsDataSourceService dmsDataSourceService;
+
+    private final boolean enabled;
+
+    /**
+     * datasource id -> catalog and schema -> index
+     */
+    private final Map<Long, Map<String, MetaSearchIndex>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * datasource id -> count of reindex requests, an index built while it changed is not installed
+     */
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final RedisUtil redisUtil;
+
+    public DmsMetaSearchServiceImpl(DmsMetaSnapshotMapper dmsMetaSnapshotMapper, DmsDataSourceService dmsDataSourceService,
+                                    ObjectProvider<RedisUtil> redisUtil,
+                                    @Qualifier("springSessionRedisMessageListenerContainer") ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                    @Value("${dms.metadata.crawler.enabled:false}") boolean enabled) {
+        this.dmsMetaSnapshotMapper = dmsMetaSnapshotMapper;
+        this.dmsDataSourceService = dmsDataSourceService;
+        this.redisUtil = redisUtil.getIfAvailable();
+        this.enabled = enabled;
+        listenerContainer.ifAvailable(container ->
+                container.addMessageListener(onReindexMessage(), new ChannelTopic(Constants.CHANNEL_META_REINDEX)));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public List<DmsMetaSearchDTO> search(Long workspaceId, String keyword, int limit) {
+        List<String> tokens = new ArrayList<>(MetaSearchIndex.tokenize(keyword, false));
+        if (CollectionUtil.isEmpty(tokens) || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<DmsDataSourceDTO> dataSources = this.dmsDataSourceService.listByWorkspaceId(workspaceId);
+        List<DmsMetaSearchDTO> result = new ArrayList<>();
+        for (DmsDataSourceDTO dataSource : dataSources) {
+            for (MetaSearchIndex index : getIndexes(dataSource.getId()).values()) {
+                List<DmsMetaSearchDTO> hits = index.search(tokens, limit);
+                hits.forEach(hit -> hit.setDatasourceName(dataSource.getDatasourceName()));
+                result.addAll(hits);
+            }
+        }
+        return result.stream().sorted(MetaSearchIndex.ORDER).limit(limit).toList();
+    }
+
+    @Override
+    public void reindex(Long datasourceId) {
+        reindexLocal(datasourceId);
+        publish(String.valueOf(datasourceId));
+    }
+
+    @Override
+    public void reindex(Long datasourceId, String catalog, String schema) {
+        reindexLocal(datasourceId, catalog, schema);
+        publish(datasourceId + StrUtil.LF + indexKey(catalog, schema));
+    }
+
+    private void publish(String message) {
+        if (Objects.nonNull(this.redisUtil)) {
+            this.redisUtil.publish(Constants.CHANNEL_META_REINDEX, message);
+        }
+    }
+
+    /**
+     * message is the datasource id, followed by catalog and schema on their own lines for a schema reindex
+     */
+    private MessageListener onReindexMessage() {
+        return (message, pattern) -> {
+            List<String> parts = StrUtil.split(new String(message.getBody(), StandardCharsets.UTF_8), StrUtil.C_LF);
+            try {
+                Long datasourceId = Long.valueOf(parts.get(0));
+                if (parts.size() >= 3) {
+                    reindexLocal(datasourceId, parts.get(1), parts.get(2));
+                } else {
+                    reindexLocal(datasourceId);
+                }
+            } catch (Exception e) {
+                log.error("reindex metadata search error : {}", e.getMessage());
+            }
+        };
+    }
+
+    private void reindexLocal(Long datasourceId) {
+        this.generations.merge(datasourceId, 1L, Long::sum);
+        this.indexes.remove(datasourceId);
+    }
+
+    private void reindexLocal(Long datasourceId, String catalog, String schema) {
+        // an index being built from the snapshot before this change must not be installed
+        this.generations.merge(datasourceId, 1L, Long::sum);
+        Map<String, MetaSearchIndex> schemaIndexes = this.indexes.get(datasourceId);
+        if (Objects.isNull(schemaIndexes)) {
+            // not loaded yet, the whole datasource is read on next search
+            return;
+        }
+        String key = indexKey(catalog, schema);
+        List<TableDTO> tables = this.dmsMetaSnapshotMapper.selectList(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .select(DmsMetaSnapshot::getContent)
+                        .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                        .eq(DmsMetaSnapshot::getObjectType, TABLE.name())
+                        .eq(DmsMetaSnapshot::getCatalogName, StrUtil.nullToEmpty(catalog))
+                        .eq(DmsMetaSnapshot::getSchemaName, StrUtil.nullToEmpty(schema))
+        ).stream().map(row -> JSONUtil.toBean(row.getContent(), TableDTO.class)).toList();
+        if (tables.isEmpty()) {
+            schemaIndexes.remove(key);
+        } else {
+            schemaIndexes.put(key, new MetaSearchIndex(datasourceId, tables));
+        }
+    }
+
+    private Map<String, MetaSearchIndex> getIndexes(Long datasourceId) {
+        Map<String, MetaSearchIndex> schemaIndexes = this.indexes.get(datasourceId);
+        if (Objects.nonNull(schemaIndexes)) {
+            return schemaIndexes;
+        }
+        long generation = this.generations.getOrDefault(datasourceId, 0L);
+        long start = System.currentTimeMillis();
+        Map<String, List<TableDTO>> tables = new HashMap<>();
+        List<DmsMetaSnapshot> rows = this.dmsMetaSnapshotMapper.selectList(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .select(DmsMetaSnapshot::getCatalogName, DmsMetaSnapshot::getSchemaName, DmsMetaSnapshot::getContent)
+                        .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                        .eq(DmsMetaSnapshot::getObjectType, TABLE.name())
+        );
+        for (DmsMetaSnapshot row : rows) {
+            tables.computeIfAbsent(indexKey(row.getCatalogName(), row.getSchemaName()), k -> new ArrayList<>())
+                    .add(JSONUtil.toBean(row.getContent(), TableDTO.class));
+        }
+        schemaIndexes = new ConcurrentHashMap<>();
+        for (Map.Entry<String, List<TableDTO>> entry : tables.entrySet()) {
+            schemaIndexes.put(entry.getKey(), new MetaSearchIndex(datasourceId, entry.getValue()));
+        }
+        log.info("build metadata search index of datasource {} with {} tables in {} ms", datasourceId, rows.size(), System.currentTimeMillis() - start);
+        Map<String, MetaSearchIndex> built = schemaIndexes;
+        // install only if no reindex happened meanwhile, otherwise the index is used for this search alone
+        Map<String, MetaSearchIndex> installed = this.indexes.compute(datasourceId, (key, existing) -> {
+            if (Objects.nonNull(existing)) {
+                return existing;
+            }
+            return this.generations.getOrDefault(datasourceId, 0L) == generation ? built : null;
+        });
+        return Objects.isNull(installed) ? built : installed;
+    }
+
+    private String indexKey(String catalog, String schema) {
+        return StrUtil.nullToEmpty(catalog) + StrUtil.C_LF + StrUtil.nullToEmpty(schema);
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace.impl;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basedt.dms.common.constant.Constants;
+import com.basedt.dms.dao.entity.master.workspace.DmsMetaSnapshot;
+import com.basedt.dms.dao.mapper.master.workspace.DmsMetaSnapshotMapper;
+import com.basedt.dms.plugins.datasource.DataSourcePlugin;
+import com.basedt.dms.plugins.datasource.IndexHandler;
+import com.basedt.dms.plugins.datasource.MetaDataService;
+import com.basedt.dms.plugins.datasource.TableHandler;
+import com.basedt.dms.plugins.datasource.dto.CatalogDTO;
+import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
+import com.basedt.dms.plugins.datasource.dto.IndexDTO;
+import com.basedt.dms.plugins.datasource.dto.ObjectDTO;
+import com.basedt.dms.plugins.datasource.dto.SchemaDTO;
+import com.basedt.dms.plugins.datasource.dto.TableDTO;
+import com.basedt.dms.plugins.datasource.impl.MetaDataCache;
+import com.basedt.dms.service.workspace.DmsDataSourceService;
+import com.basedt.dms.service.workspace.DmsMetaSearchService;
+import com.basedt.dms.service.workspace.DmsMetaSnapshotService;
+import com.basedt.dms.service.workspace.convert.DataSourceConvert;
+import com.basedt.dms.service.workspace.dto.DmsDataSourceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.basedt.dms.plugins.datasource.enums.DbObjectType.*;
+
+@Slf4j
+@Service
+public class DmsMetaSnapshotServiceImpl implements DmsMetaSnapshotService {
+
+    /**
+     * changed tables of a schema from which on columns, indexes and keys are read for the whole schema at once
+     */
+    private static final int BULK_THRESHOLD = 10;
+
+    private final DmsMetaSnapshotMapper dmsMetaSnapshotMapper;
+
+    private final DmsDataSourceService dmsDataSourceService;
+
+    private final MetaDataService metaDataService;
+
+    private final MetaDataCache metaDataCache;
+
+    private final DmsMetaSearchService dmsMetaSearchService;
+
+    /**
+     * snapshot is only trusted while crawler keeps it up to date
+     */
+    private final boolean enabled;
+
+    /**
+     * one crawl or refresh at a time per datasource
+     */
+    private final Map<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * schemas waiting for refresh per datasource, an empty key stands for the whole datasource
+     */
+    private final Map<Long, Set<String>> pendingRefreshes = new ConcurrentHashMap<>();
+
+    public DmsMetaSnapshotServiceImpl(DmsMetaSnapshotMapper dmsMetaSnapshotMapper, DmsDataSourceService dmsDataSourceService,
+                                      MetaDataService metaDataService, MetaDataCache metaDataCache,
+                                      DmsMetaSearchService dmsMetaSearchService,
+                                      @Value("${dms.metadata.crawler.enabled:false}") boolean enabled) {
+        this.dmsMetaSnapshotMapper = dmsMetaSnapshotMapper;
+        this.dmsDataSourceService = dmsDataSourceService;
+        this.metaDataService = metaDataService;
+        this.metaDataCache = metaDataCache;
+        this.dmsMetaSearchService = dmsMetaSearchService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public List<CatalogDTO> listSchemas(String dataSourceName) {
+        Long datasourceId = toDataSourceId(dataSourceName);
+        if (Objects.isNull(datasourceId)) {
+            return null;
+        }
+        DmsMetaSnapshot catalogs = selectOne(datasourceId, CATALOG.name(), "", "", "");
+        return Objects.isNull(catalogs) ? null : JSONUtil.toList(catalogs.getContent(), CatalogDTO.class);
+    }
+
+    @Override
+    public List<TableDTO> listTables(String dataSourceName, String catalog, String schema) {
+        Long datasourceId = toDataSourceId(dataSourceName);
+        if (Objects.isNull(datasourceId) || Objects.isNull(selectOne(datasourceId, SCHEMA.name(), catalog, schema, ""))) {
+            return null;
+        }
+        List<DmsMetaSnapshot> rows = this.dmsMetaSnapshotMapper.selectList(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .select(DmsMetaSnapshot::getCatalogName, DmsMetaSnapshot::getSchemaName, DmsMetaSnapshot::getObjectName)
+                        .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                        .eq(DmsMetaSnapshot::getObjectType, TABLE.name())
+                        .eq(DmsMetaSnapshot::getCatalogName, toKey(catalog))
+                        .eq(DmsMetaSnapshot::getSchemaName, toKey(schema))
+        );
+        List<TableDTO> result = new ArrayList<>();
+        for (DmsMetaSnapshot row : rows) {
+            TableDTO table = new TableDTO();
+            table.setCatalogName(StrUtil.emptyToNull(row.getCatalogName()));
+            table.setSchemaName(row.getSchemaName());
+            table.setObjectName(row.getObjectName());
+            table.setObjectType(TABLE.name());
+            result.add(table);
+        }
+        return result;
+    }
+
+    @Override
+    public TableDTO getTable(String dataSourceName, String catalog, String schema, String tableName) {
+        Long datasourceId = toDataSourceId(dataSourceName);
+        if (Objects.isNull(datasourceId) || Objects.isNull(selectOne(datasourceId, SCHEMA.name(), catalog, schema, ""))) {
+            return null;
+        }
+        DmsMetaSnapshot table = selectOne(datasourceId, TABLE.name(), catalog, schema, tableName);
+        return Objects.isNull(table) ? null : JSONUtil.toBean(table.getContent(), TableDTO.class);
+    }
+
+    @Override
+    public void evict(String dataSourceName, String catalog, String schema) {
+        Long datasourceId = toDataSourceId(dataSourceName);
+        if (Objects.isNull(datasourceId)) {
+            return;
+        }
+        if (StrUtil.isEmpty(schema)) {
+            this.dmsMetaSnapshotMapper.delete(
+                    Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                            .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                            .in(DmsMetaSnapshot::getObjectType, CATALOG.name(), SCHEMA.name())
+            );
+        } else {
+            // names parsed from ddl may be folded by the database, so every case variant is dropped
+            List<Long> ids = this.dmsMetaSnapshotMapper.selectList(
+                            Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                                    .select(DmsMetaSnapshot::getId, DmsMetaSnapshot::getCatalogName, DmsMetaSnapshot::getSchemaName)
+                                    .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                                    .eq(DmsMetaSnapshot::getObjectType, SCHEMA.name())
+                    ).stream()
+                    .filter(row -> StrUtil.equalsIgnoreCase(row.getCatalogName(), toKey(catalog))
+                            && StrUtil.equalsIgnoreCase(row.getSchemaName(), toKey(schema)))
+                    .map(DmsMetaSnapshot::getId)
+                    .collect(Collectors.toList());
+            if (CollectionUtil.isNotEmpty(ids)) {
+                this.dmsMetaSnapshotMapper.deleteByIds(ids);
+            }
+        }
+    }
+
+    @Override
+    public void crawl(DmsDataSourceDTO dataSource) throws SQLException {
+        ReentrantLock lock = getLock(dataSource.getId());
+        lock.lock();
+        try {
+            crawlDataSource(dataSource);
+        } finally {
+            lock.unlock();
+        }
+        // refreshes requested while crawling
+        drainRefreshes(dataSource.getId());
+    }
+
+    private void crawlDataSource(DmsDataSourceDTO dataSource) throws SQLException {
+        DataSourcePlugin plugin = metaDataService.getDataSourcePluginInstance(DataSourceConvert.toDataSource(dataSource));
+        if (Objects.isNull(plugin)) {
+            return;
+        }
+        Long datasourceId = dataSource.getId();
+        List<CatalogDTO> catalogs = metaDataService.loadSchemas(plugin);
+        boolean changed = false;
+        Set<String> crawled = new HashSet<>();
+        // keep the snapshot of catalogs that could not be listed this time
+        Set<String> degraded = catalogs.stream()
+                .filter(catalog -> Boolean.TRUE.equals(catalog.getDegraded()))
+                .map(catalog -> toKey(catalog.getCatalogName()))
+                .collect(Collectors.toSet());
+        for (CatalogDTO catalog : catalogs) {
+            if (CollectionUtil.isEmpty(catalog.getSchemas())) {
+                continue;
+            }
+            for (SchemaDTO schema : catalog.getSchemas()) {
+                changed |= crawlSchema(plugin, datasourceId, catalog.getCatalogName(), schema.getSchemaName());
+                crawled.add(schemaKey(catalog.getCatalogName(), schema.getSchemaName()));
+            }
+        }
+        // schemas dropped since last crawl
+        List<Long> staleIds = this.dmsMetaSnapshotMapper.selectList(
+                        Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                                .select(DmsMetaSnapshot::getId, DmsMetaSnapshot::getCatalogName, DmsMetaSnapshot::getSchemaName)
+                                .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                                .in(DmsMetaSnapshot::getObjectType, SCHEMA.name(), TABLE.name())
+                ).stream()
+                .filter(row -> !crawled.contains(schemaKey(row.getCatalogName(), row.getSchemaName())) && !degraded.contains(row.getCatalogName()))
+                .map(DmsMetaSnapshot::getId)
+                .collect(Collectors.toList());
+        if (CollectionUtil.isNotEmpty(staleIds)) {
+            this.dmsMetaSnapshotMapper.deleteByIds(staleIds);
+            changed = true;
+        }
+        if (degraded.isEmpty()) {
+            String content = JSONUtil.toJsonStr(catalogs);
+            changed |= save(datasourceId, CATALOG.name(), "", "", "", DigestUtil.md5Hex(content), content);
+        }
+        if (changed) {
+            metaDataCache.invalidate(plugin.getDataSourceName());
+            dmsMetaSearchService.reindex(datasourceId);
+        }
+    }
+
+    /**
+     * refreshes of a datasource are coalesced, requests arriving while one runs are merged and run once after it.
+     */
+    @Override
+    @Async("asyncExecutor")
+    public void refresh(String dataSourceName, String catalog, String schema) {
+        Long datasourceId = toDataSourceId(dataSourceName);
+        if (Objects.isNull(datasourceId)) {
+            return;
+        }
+        pendingRefreshes.computeIfAbsent(datasourceId, k -> ConcurrentHashMap.newKeySet())
+                .add(StrUtil.isEmpty(schema) ? "" : schemaKey(catalog, schema));
+        drainRefreshes(datasourceId);
+    }
+
+    /**
+     * run pending refreshes unless another thread holds the datasource, which then runs them when done
+     */
+    private void drainRefreshes(Long datasourceId) {
+        ReentrantLock lock = getLock(datasourceId);
+        while (CollectionUtil.isNotEmpty(pendingRefreshes.get(datasourceId)) && lock.tryLock()) {
+            try {
+                Set<String> requests = pendingRefreshes.remove(datasourceId);
+                if (CollectionUtil.isNotEmpty(requests)) {
+                    runRefresh(datasourceId, requests);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void runRefresh(Long datasourceId, Set<String> requests) {
+        DmsDataSourceDTO dataSource = dmsDataSourceService.selectOne(datasourceId);
+        if (Objects.isNull(dataSource)) {
+            dmsMetaSearchService.reindex(datasourceId);
+            return;
+        }
+        try {
+            if (requests.contains("")) {
+                crawlDataSource(dataSource);
+                return;
+            }
+            DataSourcePlugin plugin = metaDataService.getDataSourcePluginInstance(DataSourceConvert.toDataSource(dataSource));
+            if (Objects.isNull(plugin)) {
+                return;
+            }
+            for (String request : requests) {
+                String catalog = StrUtil.emptyToNull(StrUtil.subBefore(request, StrUtil.C_LF, false));
+                String schema = StrUtil.subAfter(request, StrUtil.C_LF, false);
+                if (crawlSchema(plugin, datasourceId, catalog, schema)) {
+                    metaDataCache.invalidate(plugin.getDataSourceName(), StrUtil.join(Constants.SEPARATOR_DOT, catalog, schema));
+                    dmsMetaSearchService.reindex(datasourceId, catalog, schema);
+                }
+            }
+        } catch (Exception e) {
+            log.error("refresh metadata snapshot of datasource {} failed: {}", datasourceId, e.getMessage(), e);
+        }
+    }
+
+    private ReentrantLock getLock(Long datasourceId) {
+        return locks.computeIfAbsent(datasourceId, k -> new ReentrantLock());
+    }
+
+    @Override
+    public void crawlAll() {
+        List<DmsDataSourceDTO> dataSources = dmsDataSourceService.listAll();
+        for (DmsDataSourceDTO dataSource : dataSources) {
+            try {
+                crawl(dataSource);
+            } catch (Exception e) {
+                log.error("crawl metadata of datasource {} failed: {}", dataSource.getId(), e.getMessage(), e);
+            }
+        }
+        Set<Long> ids = dataSources.stream().map(DmsDataSourceDTO::getId).collect(Collectors.toSet());
+        this.dmsMetaSnapshotMapper.delete(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .notIn(CollectionUtil.isNotEmpty(ids), DmsMetaSnapshot::getDatasourceId, ids)
+        );
+    }
+
+    /**
+     * crawl tables of one schema, only tables without change marker or with a new one are read again.
+     *
+     * @return true when snapshot of schema changed
+     */
+    private boolean crawlSchema(DataSourcePlugin plugin, Long datasourceId, String catalog, String schema) throws SQLException {
+        TableHandler tableHandler = plugin.getTableHandler();
+        IndexHandler indexHandler = plugin.getIndexHandler();
+        List<TableDTO> tables = tableHandler.listTables(catalog, schema, null);
+        Map<String, String> versions = tableHandler.listTableVersions(catalog, schema);
+        Map<String, DmsMetaSnapshot> existing = this.dmsMetaSnapshotMapper.selectList(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                        .eq(DmsMetaSnapshot::getObjectType, TABLE.name())
+                        .eq(DmsMetaSnapshot::getCatalogName, toKey(catalog))
+                        .eq(DmsMetaSnapshot::getSchemaName, toKey(schema))
+        ).stream().collect(Collectors.toMap(DmsMetaSnapshot::getObjectName, Function.identity()));
+        boolean changed = false;
+        List<TableDTO> pending = new ArrayList<>();
+        Map<String, DmsMetaSnapshot> pendingRows = new HashMap<>();
+        for (TableDTO table : tables) {
+            String tableName = table.getTableName();
+            String version = Objects.isNull(versions) ? null : versions.get(tableName);
+            DmsMetaSnapshot row = existing.remove(toKey(tableName));
+            if (Objects.nonNull(row) && Objects.nonNull(version) && version.equals(row.getObjectVersion())) {
+                continue;
+            }
+            pending.add(table);
+            if (Objects.nonNull(row)) {
+                pendingRows.put(tableName, row);
+            }
+        }
+        // one set based query per kind instead of four round trips per table
+        boolean bulk = pending.size() >= BULK_THRESHOLD;
+        Map<String, List<ColumnDTO>> columnMap = bulk ? tableHandler.listColumnsBySchema(catalog, schema) : null;
+        Map<String, List<IndexDTO>> indexMap = bulk ? indexHandler.listIndexesBySchema(catalog, schema) : null;
+        Map<String, List<ObjectDTO>> pkMap = bulk ? indexHandler.listPkBySchema(catalog, schema) : null;
+        Map<String, List<ObjectDTO>> fkMap = bulk ? indexHandler.listFkBySchema(catalog, schema) : null;
+        for (TableDTO table : pending) {
+            String tableName = table.getTableName();
+            String version = Objects.isNull(versions) ? null : versions.get(tableName);
+            DmsMetaSnapshot row = pendingRows.get(tableName);
+            List<ColumnDTO> columns = Objects.isNull(columnMap) ? tableHandler.listColumnsByTable(catalog, schema, tableName)
+                    : columnMap.getOrDefault(tableName, new ArrayList<>());
+            // resolved type is rebuilt from data type on demand and can not be serialized
+            columns.forEach(column -> column.setType(null));
+            table.setColumns(columns);
+            table.setIndexes(Objects.isNull(indexMap) ? indexHandler.listIndexes(catalog, schema, tableName)
+                    : indexMap.getOrDefault(tableName, new ArrayList<>()));
+            table.setPks(Objects.isNull(pkMap) ? indexHandler.listPkByTable(catalog, schema, tableName)
+                    : pkMap.getOrDefault(tableName, new ArrayList<>()));
+            table.setFks(Objects.isNull(fkMap) ? indexHandler.listFkByTable(catalog, schema, tableName)
+                    : fkMap.getOrDefault(tableName, new ArrayList<>()));
+            String content = JSONUtil.toJsonStr(table);
+            if (Objects.isNull(row)) {
+                insert(datasourceId, TABLE.name(), catalog, schema, tableName, version, content);
+                changed = true;
+            } else if (!content.equals(row.getContent()) || !Objects.equals(version, row.getObjectVersion())) {
+                changed |= !content.equals(row.getContent());
+                row.setObjectVersion(version);
+                row.setContent(content);
+                this.dmsMetaSnapshotMapper.updateById(row);
+            }
+        }
+        if (!existing.isEmpty()) {
+            this.dmsMetaSnapshotMapper.deleteByIds(existing.values().stream().map(DmsMetaSnapshot::getId).collect(Collectors.toList()));
+            changed = true;
+        }
+        changed |= save(datasourceId, SCHEMA.name(), catalog, schema, "", null, null);
+        return changed;
+    }
+
+    /**
+     * @return true when a new row was inserted or content of existing row changed
+     */
+    private boolean save(Long datasourceId, String objectType, String catalog, String schema, String objectName, String version, String content) {
+        DmsMetaSnapshot row = selectOne(datasourceId, objectType, catalog, schema, objectName);
+        if (Objects.isNull(row)) {
+            insert(datasourceId, objectType, catalog, schema, objectName, version, content);
+            return true;
+        }
+        if (Objects.equals(version, row.getObjectVersion())) {
+            return false;
+        }
+        row.setObjectVersion(version);
+        row.setContent(content);
+        this.dmsMetaSnapshotMapper.updateById(row);
+        return true;
+    }
+
+    private void insert(Long datasourceId, String objectType, String catalog, String schema, String objectName, String version, String content) {
+        DmsMetaSnapshot row = new DmsMetaSnapshot();
+        row.setDatasourceId(datasourceId);
+        row.setObjectType(objectType);
+        row.setCatalogName(toKey(catalog));
+        row.setSchemaName(toKey(schema));
+        row.setObjectName(toKey(objectName));
+        row.setObjectVersion(version);
+        row.setContent(content);
+        this.dmsMetaSnapshotMapper.insert(row);
+    }
+
+    private DmsMetaSnapshot selectOne(Long datasourceId, String objectType, String catalog, String schema, String objectName) {
+        return this.dmsMetaSnapshotMapper.selectOne(
+                Wrappers.lambdaQuery(DmsMetaSnapshot.class)
+                        .eq(DmsMetaSnapshot::getDatasourceId, datasourceId)
+                        .eq(DmsMetaSnapshot::getObjectType, objectType)
+                        .eq(DmsMetaSnapshot::getCatalogName, toKey(catalog))
+                        .eq(DmsMetaSnapshot::getSchemaName, toKey(schema))
+                        .eq(DmsMetaSnapshot::getObjectName, toKey(objectName))
+        );
+    }
+
+    private String schemaKey(String catalog, String schema) {
+        return toKey(catalog) + StrUtil.C_LF + toKey(schema);
+    }
+
+    /**
+     * snapshot rows keep names as the database returns them, absent catalog or schema is stored empty
+     */
+    private String toKey(String name) {
+        return StrUtil.nullToEmpty(name);
+    }
+
+    private Long toDataSourceId(String dataSourceName) {
+        return enabled && NumberUtil.isLong(dataSourceName) ? Long.valueOf(dataSourceName) : null;
+    }
+}
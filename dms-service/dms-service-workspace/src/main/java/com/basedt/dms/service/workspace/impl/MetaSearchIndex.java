@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace.impl;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.StrUtil;
+import com.basedt.dms.plugins.datasource.dto.ColumnDTO;
+import com.basedt.dms.plugins.datasource.dto.TableDTO;
+import com.basedt.dms.service.workspace.dto.DmsMetaSearchDTO;
+
+import java.util.*;
+
+import static com.basedt.dms.plugins.datasource.enums.DbObjectType.COLUMN;
+import static com.basedt.dms.plugins.datasource.enums.DbObjectType.TABLE;
+
+/**
+ * immutable inverted index over table and column names and remarks of one schema.
+ * names are split on delimiters and camel case, every term is also indexed by its bi-grams
+ * so that substring and fuzzy lookups only touch candidate terms.
+ */
+final class MetaSearchIndex {
+
+    private static final int GRAM = 2;
+
+    private static final int FUZZY_MIN_LENGTH = 4;
+
+    private static final double EXACT = 4;
+
+    private static final double PREFIX = 3;
+
+    private static final double SUBSTRING = 2;
+
+    private static final double FUZZY = 1;
+
+    private static final double NAME_BOOST = 2;
+
+    private static final double REMARK_BOOST = 1;
+
+    /**
+     * table name terms of column, so that "orders id" finds column id of table orders
+     */
+    private static final double CONTEXT_BOOST = 0.5;
+
+    /**
+     * higher score first, then tables before columns, then shorter names
+     */
+    static final Comparator<DmsMetaSearchDTO> ORDER = Comparator.comparing(DmsMetaSearchDTO::getScore).reversed()
+            .thenComparing(doc -> COLUMN.name().equals(doc.getObjectType()))
+            .thenComparing(doc -> StrUtil.length(StrUtil.blankToDefault(doc.getColumnName(), doc.getTableName())));
+
+    private final List<DmsMetaSearchDTO> docs = new ArrayList<>();
+
+    private final Map<String, int[]> nameTerms;
+
+    private final Map<String, int[]> remarkTerms;
+
+    private final Map<String, int[]> contextTerms;
+
+    private final NavigableSet<String> terms = new TreeSet<>();
+
+    private final Map<String, String[]> grams;
+
+    MetaSearchIndex(Long datasourceId, List<TableDTO> tables) {
+        Map<String, List<Integer>> names = new HashMap<>();
+        Map<String, List<Integer>> remarks = new HashMap<>();
+        Map<String, List<Integer>> contexts = new HashMap<>();
+        for (TableDTO table : tables) {
+            Set<String> tableTerms = tokenize(table.getTableName(), true);
+            int id = addDoc(datasourceId, table, null, table.getRemark());
+            addPostings(names, tableTerms, id);
+            addPostings(remarks, tokenize(table.getRemark(), false), id);
+            if (CollectionUtil.isEmpty(table.getColumns())) {
+                continue;
+            }
+            for (ColumnDTO column : table.getColumns()) {
+                id = addDoc(datasourceId, table, column.getColumnName(), column.getRemark());
+                addPostings(names, tokenize(column.getColumnName(), true), id);
+                addPostings(remarks, tokenize(column.getRemark(), false), id);
+                addPostings(contexts, tableTerms, id);
+            }
+        }
+        this.nameTerms = toPostings(names);
+        this.remarkTerms = toPostings(remarks);
+        this.contextTerms = toPostings(contexts);
+        Map<String, List<String>> gramTerms = new HashMap<>();
+        for (String term : terms) {
+            for (String gram : toGrams(term)) {
+                gramTerms.computeIfAbsent(gram, k -> new ArrayList<>()).add(term);
+            }
+        }
+        this.grams = new HashMap<>(gramTerms.size());
+        gramTerms.forEach((gram, list) -> this.grams.put(gram, list.toArray(new String[0])));
+    }
+
+    /**
+     * @return best hits of this index, at most limit, scored and ordered
+     */
+    List<DmsMetaSearchDTO> search(List<String> tokens, int limit) {
+        double[] scores = null;
+        for (String token : tokens) {
+            double[] hits = match(token);
+            if (Objects.isNull(hits)) {
+                return Collections.emptyList();
+            }
+            if (Objects.isNull(scores)) {
+                scores = hits;
+            } else {
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = scores[i] > 0 && hits[i] > 0 ? scores[i] + hits[i] : 0;
+                }
+            }
+        }
+        if (Objects.isNull(scores)) {
+            return Collections.emptyList();
+        }
+        // keep only the best limit hits, worst one on top of the heap
+        final double[] total = scores;
+        Comparator<Integer> worstFirst = (x, y) -> compare(y, x, total);
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int i = 0; i < total.length; i++) {
+            if (total[i] <= 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.offer(i);
+            } else if (compare(i, top.peek(), total) < 0) {
+                top.poll();
+                top.offer(i);
+            }
+        }
+        return top.stream()
+                .map(id -> toResult(docs.get(id), total[id]))
+                .sorted(ORDER)
+                .toList();
+    }
+
+    /**
+     * same order as {@link #ORDER} on doc ids, without building results
+     */
+    private int compare(int x, int y, double[] scores) {
+        if (scores[x] != scores[y]) {
+            return Double.compare(scores[y], scores[x]);
+        }
+        DmsMetaSearchDTO docX = docs.get(x);
+        DmsMetaSearchDTO docY = docs.get(y);
+        boolean columnX = Objects.nonNull(docX.getColumnName());
+        boolean columnY = Objects.nonNull(docY.getColumnName());
+        if (columnX != columnY) {
+            return columnX ? 1 : -1;
+        }
+        return Integer.compare(StrUtil.length(columnX ? docX.getColumnName() : docX.getTableName()),
+                StrUtil.length(columnY ? docY.getColumnName() : docY.getTableName()));
+    }
+
+    /**
+     * split identifier or text into lower case terms on delimiters and camel case,
+     * identifiers also keep the whole name as a term.
+     */
+    static Set<String> tokenize(String text, boolean identifier) {
+        Set<String> result = new LinkedHashSet<>();
+        if (StrUtil.isBlank(text)) {
+            return result;
+        }
+        for (String part : text.split("[^\\p{L}\\p{N}]+|(?<=\\p{Ll})(?=\\p{Lu})")) {
+            if (StrUtil.isNotEmpty(part)) {
+                result.add(part.toLowerCase());
+            }
+        }
+        if (identifier) {
+            result.add(text.trim().toLowerCase());
+        }
+        return result;
+    }
+
+    /**
+     * @return score of every doc for token, null when nothing matched
+     */
+    private double[] match(String token) {
+        double[] hits = new double[docs.size()];
+        boolean matched = matchTerm(token, EXACT, hits);
+        for (String term : terms.subSet(token, false, token + Character.MAX_VALUE, false)) {
+            matched |= matchTerm(term, PREFIX, hits);
+        }
+        if (token.length() >= GRAM) {
+            for (String term : candidates(token)) {
+                if (!term.startsWith(token) && term.contains(token)) {
+                    matched |= matchTerm(term, SUBSTRING, hits);
+                }
+            }
+        }
+        if (!matched && token.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (String term : fuzzyCandidates(token, maxEdits)) {
+                if (distance(token, term) <= maxEdits) {
+                    matched |= matchTerm(term, FUZZY, hits);
+                }
+            }
+        }
+        return matched ? hits : null;
+    }
+
+    private boolean matchTerm(String term, double score, double[] hits) {
+        boolean matched = addHits(nameTerms.get(term), score * NAME_BOOST, hits);
+        matched |= addHits(remarkTerms.get(term), score * REMARK_BOOST, hits);
+        matched |= addHits(contextTerms.get(term), score * CONTEXT_BOOST, hits);
+        return matched;
+    }
+
+    private boolean addHits(int[] postings, double score, double[] hits) {
+        if (Objects.isNull(postings)) {
+            return false;
+        }
+        for (int id : postings) {
+            hits[id] = Math.max(hits[id], score);
+        }
+        return true;
+    }
+
+    /**
+     * terms containing every gram of token
+     */
+    private Set<String> candidates(String token) {
+        List<String[]> lists = new ArrayList<>();
+        for (String gram : toGrams(token)) {
+            String[] list = grams.get(gram);
+            if (Objects.isNull(list)) {
+                return Collections.emptySet();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        Set<String> result = new HashSet<>(Arrays.asList(lists.get(0)));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(new HashSet<>(Arrays.asList(lists.get(i))));
+        }
+        return result;
+    }
+
+    /**
+     * terms of similar length sharing enough grams with token, one edit breaks at most two grams
+     */
+    private Set<String> fuzzyCandidates(String token, int maxEdits) {
+        Set<String> tokenGrams = toGrams(token);
+        int required = Math.max(1, tokenGrams.size() - maxEdits * GRAM);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : tokenGrams) {
+            String[] list = grams.get(gram);
+            if (Objects.isNull(list)) {
+                continue;
+            }
+            for (String term : list) {
+                if (Math.abs(term.length() - token.length()) <= maxEdits) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        Set<String> result = new HashSet<>();
+        shared.forEach((term, count) -> {
+            if (count >= required) {
+                result.add(term);
+            }
+        });
+        return result;
+    }
+
+    private int addDoc(Long datasourceId, TableDTO table, String columnName, String remark) {
+        DmsMetaSearchDTO doc = new DmsMetaSearchDTO();
+        doc.setDatasourceId(datasourceId);
+        doc.setCatalogName(table.getCatalogName());
+        doc.setSchemaName(table.getSchemaName());
+        doc.setTableName(table.getTableName());
+        doc.setColumnName(columnName);
+        doc.setObjectType(Objects.isNull(columnName) ? TABLE.name() : COLUMN.name());
+        doc.setRemark(remark);
+        docs.add(doc);
+        return docs.size() - 1;
+    }
+
+    private void addPostings(Map<String, List<Integer>> postings, Set<String> tokens, int id) {
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, k -> new ArrayList<>()).add(id);
+            terms.add(token);
+        }
+    }
+
+    private Map<String, int[]> toPostings(Map<String, List<Integer>> postings) {
+        Map<String, int[]> result = new HashMap<>(postings.size());
+        postings.forEach((term, ids) -> result.put(term, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    private DmsMetaSearchDTO toResult(DmsMetaSearchDTO doc, double score) {
+        DmsMetaSearchDTO result = new DmsMetaSearchDTO();
+        result.setDatasourceId(doc.getDatasourceId());
+        result.setCatalogName(doc.getCatalogName());
+        result.setSchemaName(doc.getSchemaName());
+        result.setTableName(doc.getTableName());
+        result.setColumnName(doc.getColumnName());
+        result.setObjectType(doc.getObjectType());
+        result.setRemark(doc.getRemark());
+        result.setScore(score);
+        return result;
+    }
+
+    private static Set<String> toGrams(String term) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static int distance(String a, String b) {
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+}
@@ -33,4 +33,34 @@ public class DmsSqlExecParam {
     @NotNull
     private String script;
 
+    /**
+     * send result sets as a header followed by row chunks, further rows are pulled by fetch event
+     */
+    private Boolean streaming;
+
+    /**
+     * encoding of result rows, json or arrow (ipc stream in binary frames), default json
+     */
+    private String resultFormat;
+
+    /**
+     * serve queries from the server side result cache and keep new results there for paging, sort and filter
+     */
+    private Boolean useCache;
+
+    /**
+     * run consecutive insert/update/delete statements with jdbc batch
+     */
+    private Boolean batchMode;
+
+    /**
+     * statements per executeBatch in batch mode, server default is used if empty
+     */
+    private Integer batchSize;
+
+    /**
+     * in batch mode, commit once for a whole group of consecutive dml statements instead of after every executeBatch
+     */
+    private Boolean batchTransactional;
+
 }
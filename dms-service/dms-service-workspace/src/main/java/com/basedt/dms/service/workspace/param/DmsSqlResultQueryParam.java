@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basedt.dms.service.workspace.param;
+
+import lombok.Data;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+/**
+ * page, sort and filter a cached result set of sql console
+ */
+@Data
+public class DmsSqlResultQueryParam {
+
+    @NotNull
+    private String resultId;
+
+    private Integer offset;
+
+    private Integer limit;
+
+    private String sortField;
+
+    /**
+     * ascend or descend
+     */
+    private String sortOrder;
+
+    /**
+     * column data index to keyword, rows are kept if column value contains the keyword ignoring case
+     */
+    private Map<String, String> filters;
+
+}
@@ -49,4 +49,24 @@ public class DmsImportTaskVO {
 
     private String separator;
 
+    /**
+     * sheet index starting from 0 or sheet name of excel file, first sheet if empty
+     */
+    private String sheet;
+
+    /**
+     * writers inserting concurrently, each with its own connection, capped by the connection pool
+     */
+    private Integer parallelism;
+
+    /**
+     * deal batches to writers round robin instead of a shared queue, order is kept per writer only
+     */
+    private Boolean ordered;
+
+    /**
+     * batches inserted by a writer between commits
+     */
+    private Integer commitInterval;
+
 }
@@ -125,6 +125,16 @@ export default {
   'dms.console.workspace.import.truncate.toolTip':
     'If checked, the target table will be truncated before importing data',
   'dms.console.workspace.import.separator': 'Separator',
+  'dms.console.workspace.import.sheet': 'Sheet',
+  'dms.console.workspace.import.sheet.toolTip': 'Sheet name or index starting from 0, first sheet if empty',
+  'dms.console.workspace.import.parallelism': 'Writers',
+  'dms.console.workspace.import.parallelism.toolTip':
+    'Writers inserting concurrently, each with its own connection, limited by the connection pool',
+  'dms.console.workspace.import.ordered': 'Ordered',
+  'dms.console.workspace.import.ordered.toolTip':
+    'Deal batches to writers in turn, every writer inserts its own rows in file order, rows of different writers are not ordered',
+  'dms.console.workspace.import.commitInterval': 'Commit Interval',
+  'dms.console.workspace.import.commitInterval.toolTip': 'Batches inserted by a writer between commits',
   'dms.console.workspace.import.datasourceId': 'Data Source',
   'dms.console.workspace.import.fileName': 'File Name',
   'dms.console.workspace.import.fileType': 'File Type',
@@ -123,6 +123,14 @@ export default {
   'dms.console.workspace.import.truncate': '清空目标表',
   'dms.console.workspace.import.truncate.toolTip': '勾选后会先清空目标表再导入数据',
   'dms.console.workspace.import.separator': '分隔符',
+  'dms.console.workspace.import.sheet': '工作表',
+  'dms.console.workspace.import.sheet.toolTip': '工作表名称或从0开始的序号，为空时读取第一个工作表',
+  'dms.console.workspace.import.parallelism': '写入并发',
+  'dms.console.workspace.import.parallelism.toolTip': '并发写入的线程数，每个线程使用独立连接，受连接池大小限制',
+  'dms.console.workspace.import.ordered': '有序写入',
+  'dms.console.workspace.import.ordered.toolTip': '按顺序将批次分配给各写入线程，每个线程内按文件顺序写入，不同线程之间的数据不保证顺序',
+  'dms.console.workspace.import.commitInterval': '提交间隔',
+  'dms.console.workspace.import.commitInterval.toolTip': '每个写入线程提交一次事务前写入的批次数',
   'dms.console.workspace.import.datasourceId': '目标数据源',
   'dms.console.workspace.import.fileName': '文件名称',
   'dms.console.workspace.import.fileType': '文件类型',
@@ -10,6 +10,7 @@ import {
   DescriptionsProps,
   Form,
   Input,
+  InputNumber,
   message,
   Modal,
   Radio,
@@ -113,6 +114,10 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
           fileType: values.fileType,
           fileEncoding: values.fileEncoding,
           separator: values.separator,
+          sheet: values.sheet,
+          parallelism: values.parallelism,
+          ordered: values.ordered,
+          commitInterval: values.commitInterval,
         };
         DataTaskService.newImportTask(d).then((resp) => {
           if (resp.success) {
@@ -173,6 +178,9 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
         initialValues={{
           schema: data?.schema,
           tableName: data?.table,
+          parallelism: 1,
+          ordered: false,
+          commitInterval: 1,
         }}
         onFinish={async (values) => {
           setFormValues({
@@ -180,6 +188,9 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
             schema: values.schema,
             tableName: values.tableName,
             isTruncate: values.isTruncate == undefined ? false : values.isTruncate,
+            parallelism: values.parallelism,
+            ordered: values.ordered,
+            commitInterval: values.commitInterval,
           });
           return true;
         }}
@@ -214,6 +225,40 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
         >
           <Checkbox />
         </Form.Item>
+        <Form.Item
+          name="parallelism"
+          label={intl.formatMessage({
+            id: 'dms.console.workspace.import.parallelism',
+          })}
+          tooltip={intl.formatMessage({
+            id: 'dms.console.workspace.import.parallelism.toolTip',
+          })}
+        >
+          <InputNumber min={1} max={32} precision={0} />
+        </Form.Item>
+        <Form.Item
+          name="ordered"
+          label={intl.formatMessage({
+            id: 'dms.console.workspace.import.ordered',
+          })}
+          tooltip={intl.formatMessage({
+            id: 'dms.console.workspace.import.ordered.toolTip',
+          })}
+          valuePropName="checked"
+        >
+          <Checkbox />
+        </Form.Item>
+        <Form.Item
+          name="commitInterval"
+          label={intl.formatMessage({
+            id: 'dms.console.workspace.import.commitInterval',
+          })}
+          tooltip={intl.formatMessage({
+            id: 'dms.console.workspace.import.commitInterval.toolTip',
+          })}
+        >
+          <InputNumber min={1} max={1000} precision={0} />
+        </Form.Item>
       </StepsForm.StepForm>
       <StepsForm.StepForm
         name="two"
@@ -229,6 +274,7 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
             fileType: values.fileType == 'csv' ? 'CSV' : 'EXCEL',
             fileEncoding: values.fileEncoding,
             separator: values.separator,
+            sheet: values.sheet,
           });
           return true;
         }}
@@ -321,6 +367,17 @@ const DataImportModal: React.FC<DMS.ModalProps<DataImportModalProps>> = (props)
             <Select.Option value=" ">SPACE</Select.Option>
           </Select>
         </Form.Item>
+        <Form.Item
+          name="sheet"
+          label={intl.formatMessage({
+            id: 'dms.console.workspace.import.sheet',
+          })}
+          tooltip={intl.formatMessage({
+            id: 'dms.console.workspace.import.sheet.toolTip',
+          })}
+        >
+          <Input disabled={separatorStatus} allowClear />
+        </Form.Item>
       </StepsForm.StepForm>
       <StepsForm.StepForm
         name="three"
@@ -151,6 +151,10 @@ declare namespace DMS {
     fileType?: string;
     fileEncoding?: string;
     separator?: string;
+    sheet?: string;
+    parallelism?: number;
+    ordered?: boolean;
+    commitInterval?: number;
   };
 
   type ChatMsg = {